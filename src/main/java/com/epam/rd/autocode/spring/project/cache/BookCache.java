@@ -0,0 +1,292 @@
+package com.epam.rd.autocode.spring.project.cache;
+
+import com.epam.rd.autocode.spring.project.catalog.BookChangedEvent;
+import com.epam.rd.autocode.spring.project.dto.BookDTO;
+import com.epam.rd.autocode.spring.project.dto.CategoryDTO;
+import com.epam.rd.autocode.spring.project.metrics.MetricsSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Read-through book cache: a bounded LRU on this node in front of the shared BookCacheStore, then the loader.
+// The cache keeps its own copy of every book and hands each caller a fresh one, so a caller that modifies the
+// DTO it got back cannot change what the next caller reads. Every eviction bumps a striped generation; a lookup
+// that saw the generation change while it was reading is not cached, because it may have read the row from
+// before the write.
+@Component
+public class BookCache implements MetricsSource {
+    private static final int GENERATION_STRIPES = 64;
+
+    private final BookCacheStore store;
+    private final long ttlNanos;
+    private final Map<Long, LocalEntry> local;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder remoteHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder staleLoads = new LongAdder();
+    private final LongAdder remoteCalls = new LongAdder();
+    private final LongAdder remoteNanos = new LongAdder();
+    private final LongAdder loadCalls = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+
+    public BookCache(BookCacheStore store,
+                     @Value("${book.cache.local-max-entries:1000}") int maxLocalEntries,
+                     @Value("${book.cache.ttl:PT10M}") Duration ttl) {
+        this.store = store;
+        this.ttlNanos = ttl.toNanos();
+        this.local = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, LocalEntry> eldest) {
+                return size() > maxLocalEntries;
+            }
+        };
+        store.subscribe(this::evictLocal, this::clearLocal);
+    }
+
+    public BookDTO get(Long id, Supplier<BookDTO> loader) {
+        BookDTO book = getLocal(id);
+        if (book != null) {
+            localHits.increment();
+            return book;
+        }
+        long generation = generation(id);
+        book = getRemote(List.of(id)).get(id);
+        if (book != null) {
+            remoteHits.increment();
+            putLocal(book, generation);
+            return book;
+        }
+        misses.increment();
+        long start = System.nanoTime();
+        book = loader.get();
+        record(loadCalls, loadNanos, start);
+        if (book != null) {
+            putLoaded(List.of(book), Map.of(id, generation));
+        }
+        return book;
+    }
+
+    // Returns the books found for the distinct ids in request order; ids the loader does not return are skipped.
+    public List<BookDTO> getAll(Collection<Long> ids, Function<List<Long>, List<BookDTO>> loader) {
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        Map<Long, BookDTO> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : requested) {
+            BookDTO book = getLocal(id);
+            if (book != null) {
+                found.put(id, book);
+            } else {
+                missing.add(id);
+            }
+        }
+        localHits.add(found.size());
+        Map<Long, Long> generations = new HashMap<>();
+        missing.forEach(id -> generations.put(id, generation(id)));
+        if (!missing.isEmpty()) {
+            Map<Long, BookDTO> remote = getRemote(missing);
+            remoteHits.add(remote.size());
+            remote.values().forEach(book -> putLocal(book, generations.get(book.getId())));
+            found.putAll(remote);
+            missing.removeIf(remote::containsKey);
+        }
+        if (!missing.isEmpty()) {
+            misses.add(missing.size());
+            long start = System.nanoTime();
+            List<BookDTO> loaded = loader.apply(missing);
+            record(loadCalls, loadNanos, start);
+            putLoaded(loaded, generations);
+            loaded.forEach(book -> found.put(book.getId(), book));
+        }
+        return requested.stream().map(found::get).filter(Objects::nonNull).toList();
+    }
+
+    // Other nodes are told before the shared entry goes, so a node that writes back an old row after the
+    // eviction has already seen its generation change and removes it again.
+    public void evict(Long id) {
+        evictLocal(id);
+        store.publishInvalidation(id);
+        store.evict(id);
+    }
+
+    // Drops every book on every node, e.g. after a category write changed the categories embedded in the DTOs.
+    // Inside a transaction the clear waits for the commit, like the per-book evictions do.
+    public void clear() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    clearNow();
+                }
+            });
+        } else {
+            clearNow();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        evict(event.bookId());
+    }
+
+    @Override
+    public String metricsName() {
+        return "bookCache";
+    }
+
+    @Override
+    public Map<String, Number> metrics() {
+        long hits = localHits.sum() + remoteHits.sum();
+        long lookups = hits + misses.sum();
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        metrics.put("localHits", localHits.sum());
+        metrics.put("remoteHits", remoteHits.sum());
+        metrics.put("misses", misses.sum());
+        metrics.put("hitRatio", lookups == 0 ? 0.0 : (double) hits / lookups);
+        metrics.put("evictions", evictions.sum());
+        metrics.put("staleLoads", staleLoads.sum());
+        metrics.put("localSize", localSize());
+        metrics.put("remoteLatencyMicros", averageMicros(remoteNanos, remoteCalls));
+        metrics.put("loadLatencyMicros", averageMicros(loadNanos, loadCalls));
+        return metrics;
+    }
+
+    private Map<Long, BookDTO> getRemote(List<Long> ids) {
+        long start = System.nanoTime();
+        Map<Long, BookDTO> found = store.getAll(ids);
+        record(remoteCalls, remoteNanos, start);
+        return found;
+    }
+
+    private BookDTO getLocal(Long id) {
+        synchronized (local) {
+            LocalEntry entry = local.get(id);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt() - System.nanoTime() < 0) {
+                local.remove(id);
+                return null;
+            }
+            return copy(entry.book());
+        }
+    }
+
+    // Books evicted while they were being loaded are not cached. The shared store is written first and then
+    // checked again, so an eviction that lands in between is undone rather than leaving the old row behind.
+    private void putLoaded(List<BookDTO> loaded, Map<Long, Long> generations) {
+        List<BookDTO> current = new ArrayList<>(loaded.size());
+        for (BookDTO book : loaded) {
+            if (generation(book.getId()) == generations.get(book.getId())) {
+                current.add(book);
+            } else {
+                staleLoads.increment();
+            }
+        }
+        if (current.isEmpty()) {
+            return;
+        }
+        store.putAll(current);
+        for (BookDTO book : current) {
+            if (!putLocal(book, generations.get(book.getId()))) {
+                staleLoads.increment();
+                store.evict(book.getId());
+            }
+        }
+    }
+
+    private boolean putLocal(BookDTO book, long generation) {
+        synchronized (local) {
+            if (generation(book.getId()) != generation) {
+                return false;
+            }
+            local.put(book.getId(), new LocalEntry(copy(book), System.nanoTime() + ttlNanos));
+            return true;
+        }
+    }
+
+    private void evictLocal(Long id) {
+        synchronized (local) {
+            generations.incrementAndGet(stripe(id));
+            if (local.remove(id) != null) {
+                evictions.increment();
+            }
+        }
+    }
+
+    private void clearNow() {
+        clearLocal();
+        store.publishClear();
+        store.clear();
+    }
+
+    private void clearLocal() {
+        synchronized (local) {
+            for (int i = 0; i < GENERATION_STRIPES; i++) {
+                generations.incrementAndGet(i);
+            }
+            evictions.add(local.size());
+            local.clear();
+        }
+    }
+
+    private long generation(Long id) {
+        return generations.get(stripe(id));
+    }
+
+    private static int stripe(Long id) {
+        return Long.hashCode(id) & (GENERATION_STRIPES - 1);
+    }
+
+    static BookDTO copy(BookDTO book) {
+        BookDTO copy = new BookDTO(book.getId(), book.getName(), null, book.getIsbn(), book.getAgeGroup(),
+                book.getPrice(), book.getPublicationDate(), book.getAuthor(), book.getPages(),
+                book.getCharacteristics(), book.getDescription(), book.getLanguage());
+        if (book.getCategories() != null) {
+            Set<CategoryDTO> categories = new HashSet<>(Math.max(4, book.getCategories().size() * 2));
+            book.getCategories().forEach(category ->
+                    categories.add(new CategoryDTO(category.getId(), category.getName())));
+            copy.setCategories(categories);
+        }
+        return copy;
+    }
+
+    private int localSize() {
+        synchronized (local) {
+            return local.size();
+        }
+    }
+
+    private static void record(LongAdder calls, LongAdder nanos, long start) {
+        calls.increment();
+        nanos.add(System.nanoTime() - start);
+    }
+
+    private static double averageMicros(LongAdder nanos, LongAdder calls) {
+        long count = calls.sum();
+        return count == 0 ? 0.0 : nanos.sum() / 1000.0 / count;
+    }
+
+    private record LocalEntry(BookDTO book, long expiresAt) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.epam.rd.autocode.spring.project.cache;
+
+import com.epam.rd.autocode.spring.project.dto.BookDTO;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// Shared tier behind the node-local BookCache, plus the channel nodes use to tell each other to evict.
+public interface BookCacheStore {
+    Map<Long, BookDTO> getAll(Collection<Long> ids);
+
+    void putAll(Collection<BookDTO> books);
+
+    // Removes the book and keeps it from being written back by a node that loaded it before the eviction.
+    void evict(Long id);
+
+    void clear();
+
+    void publishInvalidation(Long id);
+
+    void publishClear();
+
+    void subscribe(Consumer<Long> invalidationHandler, Runnable clearHandler);
+}
@@ -0,0 +1,76 @@
+package com.epam.rd.autocode.spring.project.cache;
+
+import com.epam.rd.autocode.spring.project.mapper.Mappers;
+import com.epam.rd.autocode.spring.project.metrics.MetricsSource;
+import com.epam.rd.autocode.spring.project.repo.CategoryRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Holds the category list as one immutable snapshot. Writes bump the version and the next read rebuilds;
+// a write that lands while a rebuild is running leaves the new snapshot stale, so it is rebuilt again.
+@Component
+public class CategoryCache implements MetricsSource {
+    private final CategoryRepository categoryRepository;
+    private final Mappers mappers;
+    private final AtomicLong version = new AtomicLong();
+    private final LongAdder rebuilds = new LongAdder();
+    private volatile CategorySnapshot snapshot;
+
+    public CategoryCache(CategoryRepository categoryRepository, Mappers mappers) {
+        this.categoryRepository = categoryRepository;
+        this.mappers = mappers;
+    }
+
+    public CategorySnapshot snapshot() {
+        CategorySnapshot current = snapshot;
+        if (current != null && current.version() == version.get()) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            long expected = version.get();
+            if (current == null || current.version() != expected) {
+                current = CategorySnapshot.of(expected,
+                        categoryRepository.findAll().stream().map(mappers::toCategoryDTO).toList());
+                snapshot = current;
+                rebuilds.increment();
+            }
+            return current;
+        }
+    }
+
+    // Inside a transaction the bump waits for the commit, so a rebuild never reads the uncommitted write.
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    version.incrementAndGet();
+                }
+            });
+        } else {
+            version.incrementAndGet();
+        }
+    }
+
+    @Override
+    public String metricsName() {
+        return "categoryCache";
+    }
+
+    @Override
+    public Map<String, Number> metrics() {
+        CategorySnapshot current = snapshot;
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        metrics.put("version", version.get());
+        metrics.put("rebuilds", rebuilds.sum());
+        metrics.put("size", current != null ? current.byId().size() : 0);
+        return metrics;
+    }
+}
@@ -0,0 +1,39 @@
+package com.epam.rd.autocode.spring.project.cache;
+
+import com.epam.rd.autocode.spring.project.dto.CategoryDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Immutable view of every category as of one CategoryCache version, kept both in id order and name order.
+public record CategorySnapshot(long version, List<CategoryDTO> byId, List<CategoryDTO> byName,
+                               Map<Long, CategoryDTO> index) {
+    private static final Sort NAME_ORDER = Sort.by(Sort.Direction.ASC, "name");
+
+    public static CategorySnapshot of(long version, List<CategoryDTO> categories) {
+        List<CategoryDTO> byId = categories.stream()
+                .sorted(Comparator.comparing(CategoryDTO::getId))
+                .toList();
+        List<CategoryDTO> byName = categories.stream()
+                .sorted(Comparator.comparing(CategoryDTO::getName, Comparator.nullsLast(String::compareTo))
+                        .thenComparing(CategoryDTO::getId))
+                .toList();
+        Map<Long, CategoryDTO> index = byId.stream()
+                .collect(Collectors.toUnmodifiableMap(CategoryDTO::getId, Function.identity()));
+        return new CategorySnapshot(version, byId, byName, index);
+    }
+
+    public Page<CategoryDTO> page(int page, int size) {
+        PageRequest pageable = PageRequest.of(page, size, NAME_ORDER);
+        int from = (int) Math.min(pageable.getOffset(), byName.size());
+        int to = Math.min(from + size, byName.size());
+        return new PageImpl<>(byName.subList(from, to), pageable, byName.size());
+    }
+}
@@ -0,0 +1,32 @@
+package com.epam.rd.autocode.spring.project.cache;
+
+import com.epam.rd.autocode.spring.project.model.Category;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+// JPA listener on Category, created by Hibernate through Spring, so every category write reaches CategoryCache
+// whichever repository or service made it. Slices without the caches (e.g. @DataJpaTest) simply skip them.
+// Renames and deletes also clear BookCache, whose DTOs embed their categories.
+public class CategoryWriteListener {
+    private final ObjectProvider<CategoryCache> categoryCache;
+    private final ObjectProvider<BookCache> bookCache;
+
+    public CategoryWriteListener(ObjectProvider<CategoryCache> categoryCache, ObjectProvider<BookCache> bookCache) {
+        this.categoryCache = categoryCache;
+        this.bookCache = bookCache;
+    }
+
+    @PostPersist
+    void onInsert(Category category) {
+        categoryCache.ifAvailable(CategoryCache::invalidate);
+    }
+
+    @PostUpdate
+    @PostRemove
+    void onChange(Category category) {
+        categoryCache.ifAvailable(CategoryCache::invalidate);
+        bookCache.ifAvailable(BookCache::clear);
+    }
+}
@@ -0,0 +1,62 @@
+package com.epam.rd.autocode.spring.project.cache;
+
+import com.epam.rd.autocode.spring.project.dto.BookDTO;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// Stand-in for Redis in tests and single-node setups; invalidations reach every cache subscribed to this store.
+// Books are copied in and out, as the JSON round trip through Redis would, so no two callers share an instance.
+public class InMemoryBookCacheStore implements BookCacheStore {
+    private final Map<Long, BookDTO> books = new ConcurrentHashMap<>();
+    private final List<Consumer<Long>> subscribers = new CopyOnWriteArrayList<>();
+    private final List<Runnable> clearSubscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public Map<Long, BookDTO> getAll(Collection<Long> ids) {
+        Map<Long, BookDTO> found = new HashMap<>();
+        for (Long id : ids) {
+            BookDTO book = books.get(id);
+            if (book != null) {
+                found.put(id, BookCache.copy(book));
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public void putAll(Collection<BookDTO> books) {
+        books.forEach(book -> this.books.put(book.getId(), BookCache.copy(book)));
+    }
+
+    @Override
+    public void evict(Long id) {
+        books.remove(id);
+    }
+
+    @Override
+    public void clear() {
+        books.clear();
+    }
+
+    @Override
+    public void publishInvalidation(Long id) {
+        subscribers.forEach(subscriber -> subscriber.accept(id));
+    }
+
+    @Override
+    public void publishClear() {
+        clearSubscribers.forEach(Runnable::run);
+    }
+
+    @Override
+    public void subscribe(Consumer<Long> invalidationHandler, Runnable clearHandler) {
+        subscribers.add(invalidationHandler);
+        clearSubscribers.add(clearHandler);
+    }
+}
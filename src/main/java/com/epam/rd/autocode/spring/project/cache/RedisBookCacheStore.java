@@ -0,0 +1,173 @@
+package com.epam.rd.autocode.spring.project.cache;
+
+import com.epam.rd.autocode.spring.project.dto.BookDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// Books are stored as JSON under book:{id} with a TTL. A Redis failure is logged and treated as a miss,
+// so lookups fall back to the database instead of failing the request. Eviction leaves a short-lived empty
+// tombstone and writes only set absent keys, so a node whose load raced the write cannot put the old book
+// back before the invalidation message reaches it.
+@Slf4j
+public class RedisBookCacheStore implements BookCacheStore {
+    static final String KEY_PREFIX = "book:";
+    static final String INVALIDATION_CHANNEL = "book-cache:invalidate";
+    static final String CLEAR_MESSAGE = "*";
+    static final String TOMBSTONE = "";
+    private static final int CLEAR_BATCH_SIZE = 500;
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration tombstoneTtl;
+
+    public RedisBookCacheStore(StringRedisTemplate redisTemplate, RedisMessageListenerContainer listenerContainer,
+                               ObjectMapper objectMapper, Duration ttl, Duration tombstoneTtl) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.tombstoneTtl = tombstoneTtl;
+    }
+
+    @Override
+    public Map<Long, BookDTO> getAll(Collection<Long> ids) {
+        List<Long> keyIds = new ArrayList<>(ids);
+        List<String> values;
+        try {
+            values = redisTemplate.opsForValue().multiGet(keyIds.stream().map(RedisBookCacheStore::key).toList());
+        } catch (DataAccessException e) {
+            log.warn("Book cache read failed, falling back to the database: {}", e.getMessage());
+            return Map.of();
+        }
+        Map<Long, BookDTO> found = new HashMap<>();
+        for (int i = 0; values != null && i < values.size(); i++) {
+            String value = values.get(i);
+            BookDTO book = value != null && !TOMBSTONE.equals(value) ? read(value) : null;
+            if (book != null) {
+                found.put(keyIds.get(i), book);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public void putAll(Collection<BookDTO> books) {
+        Map<byte[], byte[]> entries = new HashMap<>();
+        for (BookDTO book : books) {
+            try {
+                entries.put(key(book.getId()).getBytes(StandardCharsets.UTF_8), objectMapper.writeValueAsBytes(book));
+            } catch (JsonProcessingException e) {
+                log.warn("Failed to serialize book {} for the cache", book.getId(), e);
+            }
+        }
+        if (entries.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                entries.forEach((key, value) -> connection.stringCommands()
+                        .set(key, value, Expiration.from(ttl), RedisStringCommands.SetOption.ifAbsent()));
+                return null;
+            });
+        } catch (DataAccessException e) {
+            log.warn("Book cache write failed: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void evict(Long id) {
+        try {
+            redisTemplate.opsForValue().set(key(id), TOMBSTONE, tombstoneTtl);
+        } catch (DataAccessException e) {
+            log.warn("Book cache eviction failed for book {}: {}", id, e.getMessage());
+        }
+    }
+
+    @Override
+    public void clear() {
+        List<String> batch = new ArrayList<>(CLEAR_BATCH_SIZE);
+        try (Cursor<String> keys = redisTemplate.scan(
+                ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(CLEAR_BATCH_SIZE).build())) {
+            while (keys.hasNext()) {
+                batch.add(keys.next());
+                if (batch.size() == CLEAR_BATCH_SIZE) {
+                    redisTemplate.unlink(batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                redisTemplate.unlink(batch);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Book cache clear failed: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void publishInvalidation(Long id) {
+        publish(id.toString());
+    }
+
+    @Override
+    public void publishClear() {
+        publish(CLEAR_MESSAGE);
+    }
+
+    @Override
+    public void subscribe(Consumer<Long> invalidationHandler, Runnable clearHandler) {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            if (CLEAR_MESSAGE.equals(body)) {
+                clearHandler.run();
+                return;
+            }
+            try {
+                invalidationHandler.accept(Long.valueOf(body));
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring malformed book cache invalidation message: {}", body);
+            }
+        }, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    private void publish(String message) {
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, message);
+        } catch (DataAccessException e) {
+            log.warn("Book cache invalidation {} was not published: {}", message, e.getMessage());
+        }
+    }
+
+    private BookDTO read(String json) {
+        try {
+            return objectMapper.readValue(json, BookDTO.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Discarding unreadable book cache entry", e);
+            return null;
+        }
+    }
+
+    private static String key(Long id) {
+        return KEY_PREFIX + id;
+    }
+}
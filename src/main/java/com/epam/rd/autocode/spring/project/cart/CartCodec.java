@@ -0,0 +1,80 @@
+package com.epam.rd.autocode.spring.project.cart;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Binary cart format: a version byte, the item count, then per item the book id as a delta from the previous
+// (ids ascending) and the quantity, all as unsigned varints. Base64url without padding keeps it cookie-safe.
+public final class CartCodec {
+    private static final int VERSION = 1;
+    private static final int MAX_ITEMS = 1024;
+
+    private CartCodec() {
+    }
+
+    public static String encode(Map<Long, Integer> items) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(2 + items.size() * 3);
+        writeVarint(out, VERSION);
+        writeVarint(out, items.size());
+        long previous = 0;
+        for (Map.Entry<Long, Integer> item : new TreeMap<>(items).entrySet()) {
+            writeVarint(out, item.getKey() - previous);
+            writeVarint(out, item.getValue());
+            previous = item.getKey();
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(out.toByteArray());
+    }
+
+    // Throws IllegalArgumentException for anything this codec did not produce.
+    public static Map<Long, Integer> decode(String value) {
+        byte[] bytes = Base64.getUrlDecoder().decode(value);
+        int[] position = {0};
+        if (readVarint(bytes, position) != VERSION) {
+            throw new IllegalArgumentException("Unsupported cart format");
+        }
+        long count = readVarint(bytes, position);
+        if (count > MAX_ITEMS) {
+            throw new IllegalArgumentException("Too many cart items: " + count);
+        }
+        Map<Long, Integer> items = new LinkedHashMap<>();
+        long id = 0;
+        for (int i = 0; i < count; i++) {
+            id += readVarint(bytes, position);
+            long quantity = readVarint(bytes, position);
+            if (quantity <= 0 || quantity > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Invalid quantity for book " + id);
+            }
+            items.put(id, (int) quantity);
+        }
+        if (position[0] != bytes.length) {
+            throw new IllegalArgumentException("Trailing bytes in cart");
+        }
+        return items;
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarint(byte[] bytes, int[] position) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (position[0] >= bytes.length) {
+                throw new IllegalArgumentException("Truncated cart");
+            }
+            byte b = bytes[position[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+}
@@ -0,0 +1,15 @@
+package com.epam.rd.autocode.spring.project.cart;
+
+import java.util.Map;
+
+// Keeps the cart items (book id -> quantity) behind the value of the shoppingCart cookie. Depending on the
+// store the cookie carries the encoded items themselves or an opaque id of a cart kept on the server.
+public interface CartStore {
+    // Returns an empty map when the cookie is missing, unknown, expired or malformed.
+    Map<Long, Integer> load(String cookieValue);
+
+    // Returns the cookie value to send back for the saved items.
+    String save(String cookieValue, Map<Long, Integer> items);
+
+    void clear(String cookieValue);
+}
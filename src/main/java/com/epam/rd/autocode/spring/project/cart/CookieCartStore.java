@@ -0,0 +1,32 @@
+package com.epam.rd.autocode.spring.project.cart;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+
+// Stateless mode: the cookie holds the whole cart in CartCodec format.
+@Slf4j
+public class CookieCartStore implements CartStore {
+
+    @Override
+    public Map<Long, Integer> load(String cookieValue) {
+        if (cookieValue == null || cookieValue.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            return CartCodec.decode(cookieValue);
+        } catch (IllegalArgumentException e) {
+            log.warn("Failed to decode cart cookie, starting with an empty cart: {}", e.getMessage());
+            return Map.of();
+        }
+    }
+
+    @Override
+    public String save(String cookieValue, Map<Long, Integer> items) {
+        return CartCodec.encode(items);
+    }
+
+    @Override
+    public void clear(String cookieValue) {
+    }
+}
@@ -0,0 +1,57 @@
+package com.epam.rd.autocode.spring.project.cart;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Single-node server-side carts. Every write restarts the cart's TTL; expired carts are dropped when read
+// and swept from the map at most once per TTL.
+public class InMemoryCartStore extends ServerCartStore {
+    private final Map<String, Entry> carts = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final AtomicLong nextSweep;
+
+    public InMemoryCartStore(Duration ttl) {
+        this.ttlNanos = ttl.toNanos();
+        this.nextSweep = new AtomicLong(System.nanoTime() + ttlNanos);
+    }
+
+    @Override
+    protected String read(String cartId) {
+        Entry entry = carts.get(cartId);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.nanoTime())) {
+            carts.remove(cartId, entry);
+            return null;
+        }
+        return entry.encodedItems();
+    }
+
+    @Override
+    protected void write(String cartId, String encodedItems) {
+        long now = System.nanoTime();
+        carts.put(cartId, new Entry(encodedItems, now + ttlNanos));
+        long sweepAt = nextSweep.get();
+        if (now - sweepAt >= 0 && nextSweep.compareAndSet(sweepAt, now + ttlNanos)) {
+            carts.values().removeIf(entry -> entry.isExpired(now));
+        }
+    }
+
+    @Override
+    protected void delete(String cartId) {
+        carts.remove(cartId);
+    }
+
+    int size() {
+        return carts.size();
+    }
+
+    private record Entry(String encodedItems, long expiresAt) {
+        boolean isExpired(long now) {
+            return expiresAt - now <= 0;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.epam.rd.autocode.spring.project.cart;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+
+// Carts shared by every node, stored under cart:{id} with a TTL that restarts on each write. A Redis
+// failure is logged; reads then behave like an empty cart.
+@Slf4j
+public class RedisCartStore extends ServerCartStore {
+    static final String KEY_PREFIX = "cart:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration ttl;
+
+    public RedisCartStore(StringRedisTemplate redisTemplate, Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = ttl;
+    }
+
+    @Override
+    protected String read(String cartId) {
+        try {
+            return redisTemplate.opsForValue().get(KEY_PREFIX + cartId);
+        } catch (DataAccessException e) {
+            log.warn("Cart read failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    protected void write(String cartId, String encodedItems) {
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + cartId, encodedItems, ttl);
+        } catch (DataAccessException e) {
+            log.warn("Cart write failed: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    protected void delete(String cartId) {
+        try {
+            redisTemplate.delete(KEY_PREFIX + cartId);
+        } catch (DataAccessException e) {
+            log.warn("Cart delete failed: {}", e.getMessage());
+        }
+    }
+}
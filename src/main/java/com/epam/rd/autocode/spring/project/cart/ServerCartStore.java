@@ -0,0 +1,62 @@
+package com.epam.rd.autocode.spring.project.cart;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+// Server-side mode: the cookie holds a random cart id and the items are kept, CartCodec-encoded, under it.
+@Slf4j
+public abstract class ServerCartStore implements CartStore {
+    private static final Pattern CART_ID = Pattern.compile("[A-Za-z0-9_-]{22}");
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    @Override
+    public Map<Long, Integer> load(String cookieValue) {
+        if (!isCartId(cookieValue)) {
+            return Map.of();
+        }
+        String encoded = read(cookieValue);
+        if (encoded == null) {
+            return Map.of();
+        }
+        try {
+            return CartCodec.decode(encoded);
+        } catch (IllegalArgumentException e) {
+            log.warn("Discarding unreadable cart {}: {}", cookieValue, e.getMessage());
+            return Map.of();
+        }
+    }
+
+    @Override
+    public String save(String cookieValue, Map<Long, Integer> items) {
+        String cartId = isCartId(cookieValue) ? cookieValue : newCartId();
+        write(cartId, CartCodec.encode(items));
+        return cartId;
+    }
+
+    @Override
+    public void clear(String cookieValue) {
+        if (isCartId(cookieValue)) {
+            delete(cookieValue);
+        }
+    }
+
+    protected abstract String read(String cartId);
+
+    protected abstract void write(String cartId, String encodedItems);
+
+    protected abstract void delete(String cartId);
+
+    private static boolean isCartId(String value) {
+        return value != null && CART_ID.matcher(value).matches();
+    }
+
+    private static String newCartId() {
+        byte[] bytes = new byte[16];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
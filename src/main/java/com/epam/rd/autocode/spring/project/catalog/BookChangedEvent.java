@@ -0,0 +1,16 @@
+package com.epam.rd.autocode.spring.project.catalog;
+
+public record BookChangedEvent(Long bookId, CatalogEntry entry) {
+
+    public static BookChangedEvent saved(CatalogEntry entry) {
+        return new BookChangedEvent(entry.id(), entry);
+    }
+
+    public static BookChangedEvent deleted(Long bookId) {
+        return new BookChangedEvent(bookId, null);
+    }
+
+    public boolean isDeleted() {
+        return entry == null;
+    }
+}
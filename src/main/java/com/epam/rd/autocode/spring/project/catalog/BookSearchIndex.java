@@ -0,0 +1,145 @@
+package com.epam.rd.autocode.spring.project.catalog;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+public class BookSearchIndex implements CatalogListener {
+    private static final int NAME_WEIGHT = 4;
+    private static final int AUTHOR_WEIGHT = 3;
+    private static final int CHARACTERISTICS_WEIGHT = 1;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final double PREFIX_MATCH_FACTOR = 0.5;
+
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Set<String>> termsByBook = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void rebuild(Collection<CatalogEntry> entries) {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            termsByBook.clear();
+            entries.forEach(this::index);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void upsert(CatalogEntry entry) {
+        lock.writeLock().lock();
+        try {
+            unindex(entry.id());
+            index(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            unindex(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Long> search(String query) {
+        Set<String> queryTokens = new LinkedHashSet<>(TextNormalizer.tokenize(query));
+        if (queryTokens.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            for (String token : queryTokens) {
+                Map<Long, Double> tokenScores = scoreToken(token);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((bookId, score) -> score + tokenScores.get(bookId));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .map(Map.Entry::getKey)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Double> scoreToken(String token) {
+        Map<Long, Double> tokenScores = new HashMap<>();
+        int bookCount = Math.max(termsByBook.size(), 1);
+        Map<String, Map<Long, Integer>> matchingTerms =
+                postings.subMap(token, true, token + Character.MAX_VALUE, false);
+        for (Map.Entry<String, Map<Long, Integer>> term : matchingTerms.entrySet()) {
+            Map<Long, Integer> termPostings = term.getValue();
+            double idf = Math.log(1.0 + (double) bookCount / termPostings.size());
+            double factor = term.getKey().equals(token) ? 1.0 : PREFIX_MATCH_FACTOR;
+            termPostings.forEach((bookId, weight) ->
+                    tokenScores.merge(bookId, weight * idf * factor, Math::max));
+        }
+        return tokenScores;
+    }
+
+    private void index(CatalogEntry entry) {
+        Map<String, Integer> weights = new HashMap<>();
+        addField(weights, entry.name(), NAME_WEIGHT);
+        addField(weights, entry.author(), AUTHOR_WEIGHT);
+        addField(weights, entry.characteristics(), CHARACTERISTICS_WEIGHT);
+        addField(weights, entry.description(), DESCRIPTION_WEIGHT);
+        weights.forEach((term, weight) ->
+                postings.computeIfAbsent(term, key -> new HashMap<>()).put(entry.id(), weight));
+        termsByBook.put(entry.id(), weights.keySet());
+    }
+
+    private void unindex(Long bookId) {
+        Set<String> terms = termsByBook.remove(bookId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Integer> termPostings = postings.get(term);
+            if (termPostings != null) {
+                termPostings.remove(bookId);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static void addField(Map<String, Integer> weights, String text, int fieldWeight) {
+        for (String token : TextNormalizer.tokenize(text)) {
+            weights.merge(token, fieldWeight, Integer::sum);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.epam.rd.autocode.spring.project.catalog;
+
+import com.epam.rd.autocode.spring.project.catalog.SuggestTrie.Suggestion;
+import com.epam.rd.autocode.spring.project.dto.BookSuggestionDTO;
+import com.epam.rd.autocode.spring.project.repo.BookItemRepository;
+import com.epam.rd.autocode.spring.project.repo.projection.BookSalesView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Book writes only update the suggestion map; BookSuggestRefreshJob rebuilds the trie once per interval, so a bulk
+// import costs one rebuild rather than one per book. Popularity is reloaded from order lines on its own schedule.
+@Component
+@RequiredArgsConstructor
+public class BookSuggestIndex implements CatalogListener {
+    private static final int MAX_SUGGESTIONS = 10;
+    private static final int MAX_KEY_LENGTH = 24;
+
+    private final BookItemRepository bookItemRepository;
+
+    private final Map<Long, Suggestion> suggestions = new HashMap<>();
+    private volatile SuggestTrie trie = SuggestTrie.EMPTY;
+    private boolean dirty;
+
+    public List<BookSuggestionDTO> suggest(String query, int limit) {
+        String key = String.join(" ", TextNormalizer.tokenize(query));
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            key = key.substring(0, MAX_KEY_LENGTH);
+        }
+        return trie.lookup(key, maxEdits(key.length()), Math.max(1, Math.min(limit, MAX_SUGGESTIONS))).stream()
+                .map(suggestion -> new BookSuggestionDTO(suggestion.id(), suggestion.name(), suggestion.author()))
+                .toList();
+    }
+
+    @Override
+    public void rebuild(Collection<CatalogEntry> entries) {
+        Map<Long, Long> sales = loadSales();
+        synchronized (this) {
+            suggestions.clear();
+            for (CatalogEntry entry : entries) {
+                suggestions.put(entry.id(), toSuggestion(entry, sales.getOrDefault(entry.id(), 0L)));
+            }
+            publish();
+        }
+    }
+
+    @Override
+    public synchronized void upsert(CatalogEntry entry) {
+        Suggestion previous = suggestions.get(entry.id());
+        suggestions.put(entry.id(), toSuggestion(entry, previous != null ? previous.popularity() : 0L));
+        dirty = true;
+    }
+
+    @Override
+    public synchronized void remove(Long bookId) {
+        if (suggestions.remove(bookId) != null) {
+            dirty = true;
+        }
+    }
+
+    // Rebuilds the trie if books changed since the last rebuild; returns whether it did.
+    public synchronized boolean publishPending() {
+        if (!dirty) {
+            return false;
+        }
+        publish();
+        return true;
+    }
+
+    public void refreshPopularity() {
+        Map<Long, Long> sales = loadSales();
+        synchronized (this) {
+            suggestions.replaceAll((id, suggestion) -> new Suggestion(id, suggestion.name(), suggestion.author(),
+                    sales.getOrDefault(id, 0L)));
+            publish();
+        }
+    }
+
+    private Map<Long, Long> loadSales() {
+        return bookItemRepository.sumQuantitiesByBook().stream()
+                .collect(Collectors.toMap(BookSalesView::getBookId, BookSalesView::getQuantity));
+    }
+
+    private void publish() {
+        trie = SuggestTrie.build(suggestions.values(), MAX_KEY_LENGTH, MAX_SUGGESTIONS);
+        dirty = false;
+    }
+
+    private static Suggestion toSuggestion(CatalogEntry entry, long popularity) {
+        return new Suggestion(entry.id(), entry.name(), entry.author(), popularity);
+    }
+
+    private static int maxEdits(int queryLength) {
+        if (queryLength <= 3) {
+            return 0;
+        }
+        return queryLength <= 6 ? 1 : 2;
+    }
+}
@@ -0,0 +1,43 @@
+package com.epam.rd.autocode.spring.project.catalog;
+
+import com.epam.rd.autocode.spring.project.model.Book;
+import com.epam.rd.autocode.spring.project.model.Category;
+import com.epam.rd.autocode.spring.project.model.enums.AgeGroup;
+import com.epam.rd.autocode.spring.project.model.enums.Language;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public record CatalogEntry(Long id,
+                           String name,
+                           String author,
+                           String description,
+                           String characteristics,
+                           Language language,
+                           AgeGroup ageGroup,
+                           BigDecimal price,
+                           LocalDate publicationDate,
+                           Set<Long> categoryIds) {
+
+    public static CatalogEntry of(Book book) {
+        Set<Long> categoryIds = book.getCategories() == null
+                ? Set.of()
+                : book.getCategories().stream()
+                        .map(Category::getId)
+                        .collect(Collectors.toUnmodifiableSet());
+        return new CatalogEntry(
+                book.getId(),
+                book.getName(),
+                book.getAuthor(),
+                book.getDescription(),
+                book.getCharacteristics(),
+                book.getLanguage(),
+                book.getAgeGroup(),
+                book.getPrice(),
+                book.getPublicationDate(),
+                categoryIds
+        );
+    }
+}
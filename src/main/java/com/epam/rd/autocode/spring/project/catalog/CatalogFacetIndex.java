@@ -0,0 +1,82 @@
+package com.epam.rd.autocode.spring.project.catalog;
+
+import com.epam.rd.autocode.spring.project.metrics.MetricsSource;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Book writes only update the entry map; CatalogFacetPublishJob builds a new snapshot once per interval, so a bulk
+// import re-sorts the catalog once rather than once per book. Until then reads see the previous snapshot.
+@Component
+public class CatalogFacetIndex implements CatalogListener, MetricsSource {
+    private final Map<Long, CatalogEntry> entries = new HashMap<>();
+    private final LongAdder rebuilds = new LongAdder();
+    private volatile CatalogSnapshot snapshot = CatalogSnapshot.EMPTY;
+    private volatile boolean ready;
+    private boolean dirty;
+
+    public boolean canServe(Sort sort) {
+        return ready && CatalogSnapshot.isSortable(sort);
+    }
+
+    public CatalogSelection select(CatalogQuery query, List<Long> candidateIds, Sort sort) {
+        return snapshot.select(query, candidateIds, sort);
+    }
+
+    @Override
+    public synchronized void rebuild(Collection<CatalogEntry> catalog) {
+        entries.clear();
+        for (CatalogEntry entry : catalog) {
+            entries.put(entry.id(), entry);
+        }
+        publish();
+        ready = true;
+    }
+
+    @Override
+    public synchronized void upsert(CatalogEntry entry) {
+        entries.put(entry.id(), entry);
+        dirty = true;
+    }
+
+    @Override
+    public synchronized void remove(Long bookId) {
+        if (entries.remove(bookId) != null) {
+            dirty = true;
+        }
+    }
+
+    // Builds a new snapshot if books changed since the last one; returns whether it did.
+    public synchronized boolean publishPending() {
+        if (!dirty) {
+            return false;
+        }
+        publish();
+        return true;
+    }
+
+    private void publish() {
+        snapshot = CatalogSnapshot.build(entries.values());
+        dirty = false;
+        rebuilds.increment();
+    }
+
+    @Override
+    public String metricsName() {
+        return "catalogFacetIndex";
+    }
+
+    @Override
+    public Map<String, Number> metrics() {
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        metrics.put("rebuilds", rebuilds.sum());
+        metrics.put("size", snapshot.size());
+        return metrics;
+    }
+}
@@ -0,0 +1,40 @@
+package com.epam.rd.autocode.spring.project.catalog;
+
+import com.epam.rd.autocode.spring.project.repo.BookRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogIndexer {
+    private final BookRepository bookRepository;
+    private final List<CatalogListener> listeners;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildAll() {
+        List<CatalogEntry> entries = bookRepository.findAllWithCategories().stream()
+                .map(CatalogEntry::of)
+                .toList();
+        listeners.forEach(listener -> listener.rebuild(entries));
+        log.info("Catalog indexes built for {} books", entries.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        for (CatalogListener listener : listeners) {
+            if (event.isDeleted()) {
+                listener.remove(event.bookId());
+            } else {
+                listener.upsert(event.entry());
+            }
+        }
+        log.debug("Catalog indexes updated for book {}", event.bookId());
+    }
+}
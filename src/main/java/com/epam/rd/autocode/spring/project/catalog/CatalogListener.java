@@ -0,0 +1,9 @@
+package com.epam.rd.autocode.spring.project.catalog;
+
+import java.util.Collection;
+
+public interface CatalogListener {
+    void rebuild(Collection<CatalogEntry> entries);
+    void upsert(CatalogEntry entry);
+    void remove(Long bookId);
+}
@@ -0,0 +1,37 @@
+package com.epam.rd.autocode.spring.project.catalog;
+
+import com.epam.rd.autocode.spring.project.model.enums.AgeGroup;
+import com.epam.rd.autocode.spring.project.model.enums.Language;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public record CatalogQuery(Set<Long> categoryIds,
+                           CategoryMatch categoryMatch,
+                           Language language,
+                           AgeGroup ageGroup,
+                           BigDecimal minPrice,
+                           BigDecimal maxPrice) {
+
+    public CatalogQuery {
+        categoryIds = categoryIds != null ? Set.copyOf(categoryIds) : Set.of();
+        categoryMatch = categoryMatch != null ? categoryMatch : CategoryMatch.ANY;
+    }
+
+    public static CatalogQuery of(Collection<Long> categoryIds, CategoryMatch categoryMatch, Language language,
+                                  AgeGroup ageGroup, BigDecimal minPrice, BigDecimal maxPrice) {
+        Set<Long> ids = categoryIds == null
+                ? Set.of()
+                : categoryIds.stream().filter(Objects::nonNull).collect(Collectors.toUnmodifiableSet());
+        return new CatalogQuery(ids, categoryMatch, language, ageGroup, minPrice, maxPrice);
+    }
+
+    public static CatalogQuery of(Long categoryId, Language language, AgeGroup ageGroup,
+                                  BigDecimal minPrice, BigDecimal maxPrice) {
+        Set<Long> categoryIds = categoryId != null ? Set.of(categoryId) : Set.of();
+        return new CatalogQuery(categoryIds, CategoryMatch.ANY, language, ageGroup, minPrice, maxPrice);
+    }
+}
@@ -0,0 +1,8 @@
+package com.epam.rd.autocode.spring.project.catalog;
+
+import com.epam.rd.autocode.spring.project.dto.BookFacetsDTO;
+
+import java.util.List;
+
+public record CatalogSelection(List<Long> ids, BookFacetsDTO facets) {
+}
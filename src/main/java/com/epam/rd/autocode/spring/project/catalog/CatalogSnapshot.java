@@ -0,0 +1,284 @@
+package com.epam.rd.autocode.spring.project.catalog;
+
+import com.epam.rd.autocode.spring.project.dto.BookFacetsDTO;
+import com.epam.rd.autocode.spring.project.dto.PriceFacetDTO;
+import com.epam.rd.autocode.spring.project.model.enums.AgeGroup;
+import com.epam.rd.autocode.spring.project.model.enums.Language;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Immutable column-per-attribute view of the catalog; row i of every array describes the same book.
+final class CatalogSnapshot {
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("name", "author", "price", "publicationDate");
+    private static final long[] PRICE_BOUNDS_CENTS = {2000, 5000, 10000};
+    private static final Language[] LANGUAGES = Language.values();
+    private static final AgeGroup[] AGE_GROUPS = AgeGroup.values();
+    private static final byte NONE = -1;
+    private static final long NO_PRICE = -1;
+    private static final BigDecimal MIN_PRICE_BOUND = BigDecimal.valueOf(Long.MIN_VALUE, 2);
+    private static final BigDecimal MAX_PRICE_BOUND = BigDecimal.valueOf(Long.MAX_VALUE, 2);
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    static final CatalogSnapshot EMPTY = build(List.of());
+
+    private final long[] ids;
+    private final byte[] languages;
+    private final byte[] ageGroups;
+    private final long[] prices;
+    private final long[] publicationDays;
+    private final String[] names;
+    private final String[] authors;
+    private final Map<Long, BitSet> categories;
+    private final BitSet[] languageRows;
+    private final BitSet[] ageGroupRows;
+    private final BitSet allRows;
+    private final Map<Long, Integer> rowsById;
+
+    private CatalogSnapshot(int size) {
+        ids = new long[size];
+        languages = new byte[size];
+        ageGroups = new byte[size];
+        prices = new long[size];
+        publicationDays = new long[size];
+        names = new String[size];
+        authors = new String[size];
+        categories = new HashMap<>();
+        languageRows = emptyBitmaps(LANGUAGES.length, size);
+        ageGroupRows = emptyBitmaps(AGE_GROUPS.length, size);
+        allRows = new BitSet(size);
+        allRows.set(0, size);
+        rowsById = new HashMap<>(size * 2);
+    }
+
+    static CatalogSnapshot build(Collection<CatalogEntry> entries) {
+        List<CatalogEntry> sorted = new ArrayList<>(entries);
+        sorted.sort(Comparator.comparing(CatalogEntry::id));
+        CatalogSnapshot snapshot = new CatalogSnapshot(sorted.size());
+        for (int row = 0; row < sorted.size(); row++) {
+            CatalogEntry entry = sorted.get(row);
+            snapshot.ids[row] = entry.id();
+            snapshot.languages[row] = entry.language() != null ? (byte) entry.language().ordinal() : NONE;
+            snapshot.ageGroups[row] = entry.ageGroup() != null ? (byte) entry.ageGroup().ordinal() : NONE;
+            snapshot.prices[row] = entry.price() != null ? toCents(entry.price(), RoundingMode.HALF_UP) : NO_PRICE;
+            snapshot.publicationDays[row] = entry.publicationDate() != null
+                    ? entry.publicationDate().toEpochDay() : NO_DATE;
+            if (entry.language() != null) {
+                snapshot.languageRows[entry.language().ordinal()].set(row);
+            }
+            if (entry.ageGroup() != null) {
+                snapshot.ageGroupRows[entry.ageGroup().ordinal()].set(row);
+            }
+            snapshot.names[row] = entry.name();
+            snapshot.authors[row] = entry.author();
+            for (Long categoryId : entry.categoryIds()) {
+                snapshot.categories.computeIfAbsent(categoryId, id -> new BitSet(sorted.size())).set(row);
+            }
+            snapshot.rowsById.put(entry.id(), row);
+        }
+        return snapshot;
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    static boolean isSortable(Sort sort) {
+        return sort.stream().allMatch(order -> SORTABLE_PROPERTIES.contains(order.getProperty()));
+    }
+
+    // Every filter is a row bitmap and the result is their intersection. Each facet is counted against the
+    // intersection of all the other filters, so it shows what picking another value of it would return.
+    CatalogSelection select(CatalogQuery query, List<Long> candidateIds, Sort sort) {
+        BitSet candidates = candidateRows(candidateIds);
+        BitSet categoryFilter = categoryFilter(query);
+        BitSet languageFilter = query.language() != null ? languageRows[query.language().ordinal()] : null;
+        BitSet ageGroupFilter = query.ageGroup() != null ? ageGroupRows[query.ageGroup().ordinal()] : null;
+        BitSet priceFilter = priceFilter(query, candidates);
+
+        BitSet matches = intersect(candidates, categoryFilter, languageFilter, ageGroupFilter, priceFilter);
+        BookFacetsDTO facets = new BookFacetsDTO(
+                categoryCounts(intersect(candidates, languageFilter, ageGroupFilter, priceFilter)),
+                counts(Language.class, LANGUAGES, languageRows,
+                        intersect(candidates, categoryFilter, ageGroupFilter, priceFilter)),
+                counts(AgeGroup.class, AGE_GROUPS, ageGroupRows,
+                        intersect(candidates, categoryFilter, languageFilter, priceFilter)),
+                priceRanges(intersect(candidates, categoryFilter, languageFilter, ageGroupFilter)));
+
+        List<Integer> rows = orderedRows(matches, candidateIds);
+        if (sort.isSorted()) {
+            rows.sort(rowComparator(sort));
+        }
+        return new CatalogSelection(rows.stream().map(row -> ids[row]).toList(), facets);
+    }
+
+    private BitSet candidateRows(List<Long> candidateIds) {
+        if (candidateIds == null) {
+            return allRows;
+        }
+        BitSet rows = new BitSet(ids.length);
+        for (Long id : candidateIds) {
+            Integer row = rowsById.get(id);
+            if (row != null) {
+                rows.set(row);
+            }
+        }
+        return rows;
+    }
+
+    // ANY is the union of the selected category bitmaps, ALL their intersection.
+    private BitSet categoryFilter(CatalogQuery query) {
+        if (query.categoryIds().isEmpty()) {
+            return null;
+        }
+        BitSet filter = null;
+        for (Long categoryId : query.categoryIds()) {
+            BitSet rows = categories.getOrDefault(categoryId, new BitSet());
+            if (filter == null) {
+                filter = (BitSet) rows.clone();
+            } else if (query.categoryMatch() == CategoryMatch.ALL) {
+                filter.and(rows);
+            } else {
+                filter.or(rows);
+            }
+        }
+        return filter;
+    }
+
+    private BitSet priceFilter(CatalogQuery query, BitSet candidates) {
+        if (query.minPrice() == null && query.maxPrice() == null) {
+            return null;
+        }
+        long minPrice = query.minPrice() != null ? boundToCents(query.minPrice(), RoundingMode.CEILING) : Long.MIN_VALUE;
+        long maxPrice = query.maxPrice() != null ? boundToCents(query.maxPrice(), RoundingMode.FLOOR) : Long.MAX_VALUE;
+        BitSet filter = new BitSet(ids.length);
+        for (int row = candidates.nextSetBit(0); row >= 0; row = candidates.nextSetBit(row + 1)) {
+            if (prices[row] != NO_PRICE && prices[row] >= minPrice && prices[row] <= maxPrice) {
+                filter.set(row);
+            }
+        }
+        return filter;
+    }
+
+    private static BitSet intersect(BitSet candidates, BitSet... filters) {
+        BitSet result = (BitSet) candidates.clone();
+        for (BitSet filter : filters) {
+            if (filter != null) {
+                result.and(filter);
+            }
+        }
+        return result;
+    }
+
+    private List<Integer> orderedRows(BitSet matches, List<Long> candidateIds) {
+        List<Integer> rows = new ArrayList<>(matches.cardinality());
+        if (candidateIds == null) {
+            matches.stream().forEach(rows::add);
+            return rows;
+        }
+        for (Long id : candidateIds) {
+            Integer row = rowsById.get(id);
+            if (row != null && matches.get(row)) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    private Map<Long, Integer> categoryCounts(BitSet base) {
+        Map<Long, Integer> counts = new HashMap<>();
+        categories.forEach((categoryId, rows) -> counts.put(categoryId, intersectionSize(rows, base)));
+        return counts;
+    }
+
+    private static <E extends Enum<E>> Map<E, Integer> counts(Class<E> type, E[] values, BitSet[] bitmaps, BitSet base) {
+        Map<E, Integer> counts = new EnumMap<>(type);
+        for (E value : values) {
+            counts.put(value, intersectionSize(bitmaps[value.ordinal()], base));
+        }
+        return counts;
+    }
+
+    private List<PriceFacetDTO> priceRanges(BitSet base) {
+        int[] priceCounts = new int[PRICE_BOUNDS_CENTS.length + 1];
+        for (int row = base.nextSetBit(0); row >= 0; row = base.nextSetBit(row + 1)) {
+            if (prices[row] != NO_PRICE) {
+                priceCounts[priceBucket(prices[row])]++;
+            }
+        }
+        List<PriceFacetDTO> priceRanges = new ArrayList<>(priceCounts.length);
+        for (int bucket = 0; bucket < priceCounts.length; bucket++) {
+            BigDecimal from = fromCents(bucket == 0 ? 0 : PRICE_BOUNDS_CENTS[bucket - 1]);
+            BigDecimal to = bucket < PRICE_BOUNDS_CENTS.length ? fromCents(PRICE_BOUNDS_CENTS[bucket] - 1) : null;
+            priceRanges.add(new PriceFacetDTO(from, to, priceCounts[bucket]));
+        }
+        return priceRanges;
+    }
+
+    private static int intersectionSize(BitSet rows, BitSet base) {
+        BitSet intersection = (BitSet) rows.clone();
+        intersection.and(base);
+        return intersection.cardinality();
+    }
+
+    private Comparator<Integer> rowComparator(Sort sort) {
+        Comparator<Integer> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<Integer> next = switch (order.getProperty()) {
+                case "name" -> Comparator.comparing(row -> names[row], Comparator.nullsFirst(Comparator.naturalOrder()));
+                case "author" -> Comparator.comparing(row -> authors[row], Comparator.nullsFirst(Comparator.naturalOrder()));
+                case "price" -> Comparator.comparingLong(row -> prices[row]);
+                case "publicationDate" -> Comparator.comparingLong(row -> publicationDays[row]);
+                default -> throw new IllegalArgumentException("Unsupported sort property: " + order.getProperty());
+            };
+            next = order.isAscending() ? next : next.reversed();
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        return comparator;
+    }
+
+    private static BitSet[] emptyBitmaps(int count, int size) {
+        BitSet[] bitmaps = new BitSet[count];
+        for (int i = 0; i < count; i++) {
+            bitmaps[i] = new BitSet(size);
+        }
+        return bitmaps;
+    }
+
+    private static int priceBucket(long cents) {
+        int bucket = 0;
+        while (bucket < PRICE_BOUNDS_CENTS.length && cents >= PRICE_BOUNDS_CENTS[bucket]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    // Query bounds come from the request, so anything beyond the long range is clamped instead of overflowing.
+    private static long boundToCents(BigDecimal amount, RoundingMode roundingMode) {
+        if (amount.compareTo(MAX_PRICE_BOUND) >= 0) {
+            return Long.MAX_VALUE;
+        }
+        if (amount.compareTo(MIN_PRICE_BOUND) <= 0) {
+            return Long.MIN_VALUE;
+        }
+        return toCents(amount, roundingMode);
+    }
+
+    private static long toCents(BigDecimal amount, RoundingMode roundingMode) {
+        return amount.movePointRight(2).setScale(0, roundingMode).longValueExact();
+    }
+
+    private static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
@@ -0,0 +1,6 @@
+package com.epam.rd.autocode.spring.project.catalog;
+
+public enum CategoryMatch {
+    ANY,
+    ALL
+}
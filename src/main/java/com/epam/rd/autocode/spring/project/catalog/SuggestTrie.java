@@ -0,0 +1,181 @@
+package com.epam.rd.autocode.spring.project.catalog;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+final class SuggestTrie {
+    static final SuggestTrie EMPTY = new SuggestTrie(new Node("", new Node[0], new Suggestion[0]));
+
+    private static final Comparator<Suggestion> BY_POPULARITY = Comparator
+            .comparingLong(Suggestion::popularity).reversed()
+            .thenComparing(Suggestion::name, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+            .thenComparing(Suggestion::id);
+
+    private final Node root;
+
+    private SuggestTrie(Node root) {
+        this.root = root;
+    }
+
+    record Suggestion(Long id, String name, String author, long popularity) {
+    }
+
+    private record KeyedSuggestion(String key, Suggestion suggestion) {
+    }
+
+    private record Match(int distance, Suggestion suggestion) {
+    }
+
+    private record Node(String label, Node[] children, Suggestion[] top) {
+    }
+
+    static SuggestTrie build(Collection<Suggestion> suggestions, int maxKeyLength, int topK) {
+        List<KeyedSuggestion> keyed = new ArrayList<>();
+        for (Suggestion suggestion : suggestions) {
+            for (String key : keysFor(suggestion, maxKeyLength)) {
+                keyed.add(new KeyedSuggestion(key, suggestion));
+            }
+        }
+        if (keyed.isEmpty()) {
+            return EMPTY;
+        }
+        keyed.sort(Comparator.comparing(KeyedSuggestion::key));
+        return new SuggestTrie(buildNode("", keyed, 0, keyed.size(), 0, topK));
+    }
+
+    List<Suggestion> lookup(String query, int maxEdits, int limit) {
+        int[] firstRow = new int[query.length() + 1];
+        for (int j = 0; j < firstRow.length; j++) {
+            firstRow[j] = j;
+        }
+        Map<Long, Match> matches = new HashMap<>();
+        for (Node child : root.children()) {
+            walk(child, query, firstRow, maxEdits, matches);
+        }
+        return matches.values().stream()
+                .sorted(Comparator.comparingInt(Match::distance)
+                        .thenComparing(Match::suggestion, BY_POPULARITY))
+                .limit(limit)
+                .map(Match::suggestion)
+                .toList();
+    }
+
+    // Levenshtein distance between the query and every trie prefix, one DP row per edge character.
+    // Subtrees whose best row value already exceeds maxEdits are pruned.
+    private static void walk(Node node, String query, int[] previousRow, int maxEdits, Map<Long, Match> matches) {
+        int[] row = previousRow;
+        String label = node.label();
+        for (int i = 0; i < label.length(); i++) {
+            row = nextRow(row, query, label.charAt(i));
+            int distance = row[query.length()];
+            int best = min(row);
+            if (distance <= maxEdits) {
+                collect(node, distance, matches);
+                if (best >= distance) {
+                    return;
+                }
+            }
+            if (best > maxEdits) {
+                return;
+            }
+        }
+        for (Node child : node.children()) {
+            walk(child, query, row, maxEdits, matches);
+        }
+    }
+
+    private static void collect(Node node, int distance, Map<Long, Match> matches) {
+        for (Suggestion suggestion : node.top()) {
+            matches.merge(suggestion.id(), new Match(distance, suggestion),
+                    (current, candidate) -> candidate.distance() < current.distance() ? candidate : current);
+        }
+    }
+
+    private static int[] nextRow(int[] previousRow, String query, char c) {
+        int[] row = new int[previousRow.length];
+        row[0] = previousRow[0] + 1;
+        for (int j = 1; j < row.length; j++) {
+            int substitution = previousRow[j - 1] + (query.charAt(j - 1) == c ? 0 : 1);
+            row[j] = Math.min(substitution, Math.min(row[j - 1] + 1, previousRow[j] + 1));
+        }
+        return row;
+    }
+
+    private static int min(int[] row) {
+        int min = row[0];
+        for (int value : row) {
+            min = Math.min(min, value);
+        }
+        return min;
+    }
+
+    // Builds a path-compressed node over keyed[from, to), whose keys all share their first `depth` characters.
+    private static Node buildNode(String label, List<KeyedSuggestion> keyed, int from, int to, int depth, int topK) {
+        List<Suggestion> candidates = new ArrayList<>();
+        int i = from;
+        while (i < to && keyed.get(i).key().length() == depth) {
+            candidates.add(keyed.get(i).suggestion());
+            i++;
+        }
+        List<Node> children = new ArrayList<>();
+        while (i < to) {
+            char first = keyed.get(i).key().charAt(depth);
+            int groupEnd = i + 1;
+            while (groupEnd < to && keyed.get(groupEnd).key().charAt(depth) == first) {
+                groupEnd++;
+            }
+            String firstKey = keyed.get(i).key();
+            int childDepth = depth + commonPrefixLength(firstKey, keyed.get(groupEnd - 1).key(), depth);
+            Node child = buildNode(firstKey.substring(depth, childDepth), keyed, i, groupEnd, childDepth, topK);
+            children.add(child);
+            candidates.addAll(List.of(child.top()));
+            i = groupEnd;
+        }
+        return new Node(label, children.toArray(new Node[0]), top(candidates, topK));
+    }
+
+    private static Suggestion[] top(List<Suggestion> candidates, int topK) {
+        candidates.sort(BY_POPULARITY);
+        Set<Long> seen = new LinkedHashSet<>();
+        List<Suggestion> top = new ArrayList<>(Math.min(topK, candidates.size()));
+        for (Suggestion candidate : candidates) {
+            if (top.size() == topK) {
+                break;
+            }
+            if (seen.add(candidate.id())) {
+                top.add(candidate);
+            }
+        }
+        return top.toArray(new Suggestion[0]);
+    }
+
+    private static int commonPrefixLength(String a, String b, int from) {
+        int max = Math.min(a.length(), b.length());
+        int i = from;
+        while (i < max && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i - from;
+    }
+
+    // Every word start of the title and of the author is a key, so "potter" finds "Harry Potter".
+    private static Set<String> keysFor(Suggestion suggestion, int maxKeyLength) {
+        Set<String> keys = new LinkedHashSet<>();
+        addWordStartKeys(keys, TextNormalizer.tokenize(suggestion.name()), maxKeyLength);
+        addWordStartKeys(keys, TextNormalizer.tokenize(suggestion.author()), maxKeyLength);
+        return keys;
+    }
+
+    private static void addWordStartKeys(Set<String> keys, List<String> tokens, int maxKeyLength) {
+        for (int i = 0; i < tokens.size(); i++) {
+            String key = String.join(" ", tokens.subList(i, tokens.size()));
+            keys.add(key.length() > maxKeyLength ? key.substring(0, maxKeyLength) : key);
+        }
+    }
+}
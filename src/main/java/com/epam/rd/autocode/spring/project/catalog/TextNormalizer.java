@@ -0,0 +1,52 @@
+package com.epam.rd.autocode.spring.project.catalog;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public final class TextNormalizer {
+
+    private TextNormalizer() {
+    }
+
+    // Lower-cases, strips diacritics (й -> и, ї -> і, é -> e), folds ґ -> г and ё -> е
+    // and drops the apostrophes used inside Ukrainian words (м'ята -> мята).
+    public static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        StringBuilder normalized = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            switch (c) {
+                case '\'', '’', 'ʼ', '`' -> {
+                }
+                case 'ґ' -> normalized.append('г');
+                case 'ё' -> normalized.append('е');
+                default -> normalized.append(c);
+            }
+        }
+        return normalized.toString();
+    }
+
+    public static List<String> tokenize(String text) {
+        String normalized = normalize(text);
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
@@ -1,6 +1,8 @@
 package com.epam.rd.autocode.spring.project.conf;
 
+import com.epam.rd.autocode.spring.project.dto.BookDTO;
 import com.epam.rd.autocode.spring.project.dto.UserRegistrationDTO;
+import com.epam.rd.autocode.spring.project.model.Book;
 import com.epam.rd.autocode.spring.project.model.User;
 import com.epam.rd.autocode.spring.project.model.enums.Role;
 import org.modelmapper.ModelMapper;
@@ -31,6 +33,10 @@ public class BaseConfig {
                     }
                     return destination;
                 });
+        // Categories are resolved to managed entities by CategoryService; mapping the DTOs onto the book's
+        // current Category entities would overwrite their ids.
+        modelMapper.createTypeMap(BookDTO.class, Book.class)
+                .addMappings(mapping -> mapping.skip(Book::setCategories));
         return modelMapper;
     }
 }
@@ -0,0 +1,43 @@
+package com.epam.rd.autocode.spring.project.conf;
+
+import com.epam.rd.autocode.spring.project.cache.BookCacheStore;
+import com.epam.rd.autocode.spring.project.cache.InMemoryBookCacheStore;
+import com.epam.rd.autocode.spring.project.cache.RedisBookCacheStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+
+@Configuration
+public class BookCacheConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "book.cache.store", havingValue = "redis")
+    public RedisMessageListenerContainer bookCacheListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "book.cache.store", havingValue = "redis")
+    public BookCacheStore redisBookCacheStore(StringRedisTemplate redisTemplate,
+                                              RedisMessageListenerContainer bookCacheListenerContainer,
+                                              ObjectMapper objectMapper,
+                                              @Value("${book.cache.ttl:PT10M}") Duration ttl,
+                                              @Value("${book.cache.tombstone-ttl:PT10S}") Duration tombstoneTtl) {
+        return new RedisBookCacheStore(redisTemplate, bookCacheListenerContainer, objectMapper, ttl, tombstoneTtl);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "book.cache.store", havingValue = "memory", matchIfMissing = true)
+    public BookCacheStore inMemoryBookCacheStore() {
+        return new InMemoryBookCacheStore();
+    }
+}
@@ -0,0 +1,35 @@
+package com.epam.rd.autocode.spring.project.conf;
+
+import com.epam.rd.autocode.spring.project.cart.CartStore;
+import com.epam.rd.autocode.spring.project.cart.CookieCartStore;
+import com.epam.rd.autocode.spring.project.cart.InMemoryCartStore;
+import com.epam.rd.autocode.spring.project.cart.RedisCartStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+
+@Configuration
+public class CartStoreConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "cart.store", havingValue = "cookie", matchIfMissing = true)
+    public CartStore cookieCartStore() {
+        return new CookieCartStore();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "cart.store", havingValue = "memory")
+    public CartStore inMemoryCartStore(@Value("${cart.ttl:PT1H}") Duration ttl) {
+        return new InMemoryCartStore(ttl);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "cart.store", havingValue = "redis")
+    public CartStore redisCartStore(StringRedisTemplate redisTemplate, @Value("${cart.ttl:PT1H}") Duration ttl) {
+        return new RedisCartStore(redisTemplate, ttl);
+    }
+}
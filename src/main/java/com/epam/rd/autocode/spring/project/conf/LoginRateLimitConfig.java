@@ -0,0 +1,30 @@
+package com.epam.rd.autocode.spring.project.conf;
+
+import com.epam.rd.autocode.spring.project.security.InMemorySlidingWindowCounter;
+import com.epam.rd.autocode.spring.project.security.RedisSlidingWindowCounter;
+import com.epam.rd.autocode.spring.project.security.SlidingWindowCounter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+
+@Configuration
+public class LoginRateLimitConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "security.login-rate-limit.store", havingValue = "memory", matchIfMissing = true)
+    public SlidingWindowCounter inMemoryLoginAttemptCounter(
+            @Value("${security.login-rate-limit.window:PT5M}") Duration window) {
+        return new InMemorySlidingWindowCounter(window);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "security.login-rate-limit.store", havingValue = "redis")
+    public SlidingWindowCounter redisLoginAttemptCounter(StringRedisTemplate redisTemplate,
+                                                         @Value("${security.login-rate-limit.window:PT5M}") Duration window) {
+        return new RedisSlidingWindowCounter(redisTemplate, window);
+    }
+}
@@ -0,0 +1,31 @@
+package com.epam.rd.autocode.spring.project.conf;
+
+import com.epam.rd.autocode.spring.project.security.InMemoryRefreshTokenStore;
+import com.epam.rd.autocode.spring.project.security.RedisRefreshTokenStore;
+import com.epam.rd.autocode.spring.project.security.RefreshTokenStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+
+@Configuration
+public class RefreshTokenStoreConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "jwt.refresh.store", havingValue = "memory", matchIfMissing = true)
+    public RefreshTokenStore inMemoryRefreshTokenStore(@Value("${jwt.refresh.expiration}") long ttlMillis,
+                                                       @Value("${jwt.refresh.grace:PT10S}") Duration grace) {
+        return new InMemoryRefreshTokenStore(Duration.ofMillis(ttlMillis), grace);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "jwt.refresh.store", havingValue = "redis")
+    public RefreshTokenStore redisRefreshTokenStore(StringRedisTemplate redisTemplate,
+                                                    @Value("${jwt.refresh.expiration}") long ttlMillis,
+                                                    @Value("${jwt.refresh.grace:PT10S}") Duration grace) {
+        return new RedisRefreshTokenStore(redisTemplate, Duration.ofMillis(ttlMillis), grace);
+    }
+}
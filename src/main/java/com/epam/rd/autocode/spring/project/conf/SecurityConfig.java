@@ -1,15 +1,18 @@
 package com.epam.rd.autocode.spring.project.conf;
 
+import com.epam.rd.autocode.spring.project.security.BoundedPasswordEncoder;
 import com.epam.rd.autocode.spring.project.security.CookieBearerTokenResolver;
 import com.epam.rd.autocode.spring.project.security.CustomJwtValidator;
 import com.epam.rd.autocode.spring.project.security.JwtRefreshFilter;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import com.epam.rd.autocode.spring.project.security.JwtVerifier;
+import com.epam.rd.autocode.spring.project.security.PublicRoutes;
+import com.epam.rd.autocode.spring.project.security.RefreshTokenService;
+import com.epam.rd.autocode.spring.project.security.VerifiedJwtDecoder;
+import jakarta.servlet.http.Cookie;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -18,19 +21,16 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
 import org.springframework.security.oauth2.core.OAuth2TokenValidator;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtValidators;
-import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
 import org.springframework.security.web.SecurityFilterChain;
-
-import javax.crypto.SecretKey;
+import org.springframework.web.util.WebUtils;
 
 @Configuration
 @EnableWebSecurity
@@ -40,6 +40,8 @@ public class SecurityConfig{
     private final CookieBearerTokenResolver cookieBearerTokenResolver;
     private final CustomJwtValidator customJwtValidator;
     private final JwtRefreshFilter jwtRefreshFilter;
+    private final RefreshTokenService refreshTokenService;
+    private final PublicRoutes publicRoutes;
 
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration authenticationConfiguration) throws Exception {
@@ -47,21 +49,21 @@ public class SecurityConfig{
     }
 
     @Bean
-    public BCryptPasswordEncoder bCryptPasswordEncoder(){
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(
+            @Value("${security.password-hashing.strength:10}") int strength,
+            @Value("${security.password-hashing.threads:2}") int threads,
+            @Value("${security.password-hashing.queue-capacity:32}") int queueCapacity) {
+        return new BoundedPasswordEncoder(strength, threads, queueCapacity);
     }
 
     @Bean
-    public JwtDecoder jwtDecoder(@Value("${jwt.secret}") String jwtSecret) {
-        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
-        NimbusJwtDecoder jwtDecoder = NimbusJwtDecoder.withSecretKey(key).build();
+    public JwtDecoder jwtDecoder(JwtVerifier jwtVerifier) {
         OAuth2TokenValidator<Jwt> defaultValidators = JwtValidators.createDefault();
         OAuth2TokenValidator<Jwt> validators = new DelegatingOAuth2TokenValidator<>(
                 defaultValidators,
                 customJwtValidator
         );
-        jwtDecoder.setJwtValidator(validators);
-        return jwtDecoder;
+        return new VerifiedJwtDecoder(jwtVerifier, validators);
     }
 
     @Bean
@@ -95,13 +97,7 @@ public class SecurityConfig{
                         })
                 )
                 .authorizeHttpRequests(authorize -> authorize
-                        .requestMatchers("/css/**", "/js/**", "/images/**", "/img/**", "/favicon.ico", "/error")
-                        .permitAll()
-                        .requestMatchers("/h2-console/**", "/register", "/login", "/", "/api/auth/refresh")
-                        .permitAll()
-                        .requestMatchers(HttpMethod.GET, "/categories", "/books", "/books/**")
-                        .permitAll()
-                        .requestMatchers("/cart/**").permitAll()
+                        .requestMatchers(publicRoutes).permitAll()
                         .requestMatchers("/admin/**").hasRole("ADMIN")
                         .requestMatchers("/profile/**").authenticated()
                         .requestMatchers("/orders/**").hasAnyRole("EMPLOYEE", "ADMIN")
@@ -111,6 +107,12 @@ public class SecurityConfig{
                 .formLogin(AbstractHttpConfigurer::disable)
                 .logout(logout -> logout
                         .logoutUrl("/logout")
+                        .addLogoutHandler((request, response, authentication) -> {
+                            Cookie refreshCookie = WebUtils.getCookie(request, "REFRESH_TOKEN");
+                            if (refreshCookie != null) {
+                                refreshTokenService.revoke(refreshCookie.getValue());
+                            }
+                        })
                         .logoutSuccessUrl("/login?logout")
                         .invalidateHttpSession(false)
                         .clearAuthentication(true)
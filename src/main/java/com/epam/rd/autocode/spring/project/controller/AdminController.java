@@ -2,6 +2,7 @@ package com.epam.rd.autocode.spring.project.controller;
 
 import com.epam.rd.autocode.spring.project.dto.EmployeeDTO;
 import com.epam.rd.autocode.spring.project.dto.UserUpdateDTO;
+import com.epam.rd.autocode.spring.project.metrics.MetricsSource;
 import com.epam.rd.autocode.spring.project.service.AuthenticationService;
 import com.epam.rd.autocode.spring.project.service.UserService;
 import jakarta.persistence.EntityNotFoundException;
@@ -13,6 +14,8 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 @Controller
 @RequestMapping("/admin")
@@ -21,6 +24,7 @@ import java.util.List;
 public class AdminController {
     private final UserService userService;
     private final AuthenticationService authenticationService;
+    private final List<MetricsSource> metricsSources;
 
     @GetMapping("/employees")
     public String showAllEmployees(Model model) {
@@ -89,4 +93,12 @@ public class AdminController {
         }
         return "redirect:/admin/employees";
     }
+
+    @GetMapping("/metrics")
+    @ResponseBody
+    public Map<String, Map<String, Number>> showMetrics() {
+        Map<String, Map<String, Number>> metrics = new TreeMap<>();
+        metricsSources.forEach(source -> metrics.put(source.metricsName(), source.metrics()));
+        return metrics;
+    }
 }
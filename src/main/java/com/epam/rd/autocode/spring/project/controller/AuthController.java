@@ -5,7 +5,9 @@ import com.epam.rd.autocode.spring.project.dto.UserRegistrationDTO;
 import com.epam.rd.autocode.spring.project.exception.AlreadyExistException;
 import com.epam.rd.autocode.spring.project.service.AuthenticationService;
 import com.epam.rd.autocode.spring.project.service.UserService;
-import com.epam.rd.autocode.spring.project.security.JwtTokenProvider;
+import com.epam.rd.autocode.spring.project.security.LoginRateLimiter;
+import com.epam.rd.autocode.spring.project.security.RefreshTokenService;
+import com.epam.rd.autocode.spring.project.security.TokenPair;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
@@ -20,8 +22,6 @@ import org.springframework.security.authentication.LockedException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -30,15 +30,17 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.util.Optional;
+
 @Slf4j
 @Controller
 @RequiredArgsConstructor
 public class AuthController {
     private final UserService userService;
-    private final JwtTokenProvider jwtTokenProvider;
+    private final RefreshTokenService refreshTokenService;
     private final AuthenticationManager authenticationManager;
-    private final UserDetailsService userDetailsService;
     private final AuthenticationService authenticationService;
+    private final LoginRateLimiter loginRateLimiter;
 
     @Value("${jwt.expiration}")
     private long jwtExpirationInMs;
@@ -90,7 +92,13 @@ public class AuthController {
     @PostMapping("/login")
     public String login(@ModelAttribute("loginRequest") LoginRequest loginRequest,
                         RedirectAttributes redirectAttributes,
+                        HttpServletRequest request,
                         HttpServletResponse response) {
+        if (!loginRateLimiter.tryAcquire(loginRequest.getUsername(), request.getRemoteAddr())) {
+            redirectAttributes.addFlashAttribute("loginError", "Too many login attempts. Try again later.");
+            redirectAttributes.addFlashAttribute("loginRequest", loginRequest);
+            return "redirect:/login";
+        }
         try {
             if (authenticationService.isUserLocked(loginRequest.getUsername())) {
                 redirectAttributes.addFlashAttribute("loginError", "Account is temporarily locked. Try again later.");
@@ -104,10 +112,9 @@ public class AuthController {
 
             authenticationService.resetFailedLoginAttempts(loginRequest.getUsername());
 
-            String jwt = jwtTokenProvider.generateToken(authentication);
-            String refreshToken = jwtTokenProvider.generateRefreshToken(authentication);
+            TokenPair tokens = refreshTokenService.issue(authentication);
 
-            setCookies(response, jwt, refreshToken);
+            setCookies(response, tokens.accessToken(), tokens.refreshToken());
             return "redirect:/";
             
         } catch (BadCredentialsException e) {
@@ -136,40 +143,14 @@ public class AuthController {
         if (cookies != null) {
             for (Cookie cookie : cookies) {
                 if ("REFRESH_TOKEN".equals(cookie.getName())) {
-                    String refreshToken = cookie.getValue();
-
-                    if (!jwtTokenProvider.validateRefreshToken(refreshToken)) {
-                        log.warn("Invalid or expired refresh token");
+                    Optional<TokenPair> tokens = refreshTokenService.refresh(cookie.getValue());
+                    if (tokens.isEmpty()) {
+                        log.warn("Invalid, expired or reused refresh token");
                         redirectAttributes.addFlashAttribute("loginError", "Session expired. Please login again.");
                         return "redirect:/login";
                     }
-
-                    try {
-                        String username = jwtTokenProvider.getUsernameFromToken(refreshToken);
-                        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
-                        if (!userDetails.isAccountNonLocked() || !userDetails.isEnabled()) {
-                            log.warn("User account is locked or disabled: {}", username);
-                            redirectAttributes.addFlashAttribute("loginError", "Account is locked or disabled.");
-                            return "redirect:/login";
-                        }
-
-                        Authentication authentication = new UsernamePasswordAuthenticationToken(
-                                userDetails, null, userDetails.getAuthorities());
-
-                        String newAccessToken = jwtTokenProvider.generateToken(authentication);
-                        String newRefreshToken = jwtTokenProvider.generateRefreshToken(authentication);
-
-                        setCookies(response, newAccessToken, newRefreshToken);
-
-                        log.info("Tokens refreshed successfully for user: {}", username);
-                        return "redirect:/";
-                        
-                    } catch (IllegalArgumentException e) {
-                        log.error("Error extracting username from token: {}", e.getMessage());
-                        redirectAttributes.addFlashAttribute("loginError", "Invalid token. Please login again.");
-                        return "redirect:/login";
-                    }
+                    setCookies(response, tokens.get().accessToken(), tokens.get().refreshToken());
+                    return "redirect:/";
                 }
             }
         }
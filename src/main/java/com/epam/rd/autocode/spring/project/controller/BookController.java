@@ -1,8 +1,15 @@
 package com.epam.rd.autocode.spring.project.controller;
 
+import com.epam.rd.autocode.spring.project.catalog.CatalogQuery;
+import com.epam.rd.autocode.spring.project.catalog.CategoryMatch;
 import com.epam.rd.autocode.spring.project.dto.BookDTO;
+import com.epam.rd.autocode.spring.project.dto.BookSuggestionDTO;
+import com.epam.rd.autocode.spring.project.dto.BookSummaryDTO;
+import com.epam.rd.autocode.spring.project.dto.CatalogPageDTO;
+import com.epam.rd.autocode.spring.project.dto.KeysetPageDTO;
 import com.epam.rd.autocode.spring.project.model.enums.AgeGroup;
 import com.epam.rd.autocode.spring.project.model.enums.Language;
+import com.epam.rd.autocode.spring.project.pagination.BookSortKey;
 import com.epam.rd.autocode.spring.project.service.BookService;
 import com.epam.rd.autocode.spring.project.service.CategoryService;
 import com.epam.rd.autocode.spring.project.validation.OnCreate;
@@ -14,10 +21,12 @@ import org.springframework.data.domain.Sort;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.util.StringUtils;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 @Controller
 @RequestMapping("/books")
@@ -32,22 +41,39 @@ public class BookController {
 
     @GetMapping
     public String showBooks(
-            @RequestParam(required = false) Long categoryId,
+            @RequestParam(name = "categoryId", required = false) List<Long> categoryIds,
+            @RequestParam(required = false) CategoryMatch categoryMatch,
             @RequestParam(required = false) Language language,
             @RequestParam(required = false) AgeGroup ageGroup,
             @RequestParam(required = false) BigDecimal minPrice,
             @RequestParam(required = false) BigDecimal maxPrice,
             @RequestParam(required = false) String search,
             @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "false") boolean keyset,
+            @RequestParam(required = false) String cursor,
             Pageable pageable,
             Model model) {
 
         Pageable pageableWithSort = createPageableWithSort(pageable, sort);
-
-        Page<BookDTO> booksPage = bookService.getFilteredAndSortedPage(
-                categoryId, language, ageGroup, minPrice, maxPrice, search, pageableWithSort);
-
-        model.addAttribute("books", booksPage);
+        CatalogQuery query = CatalogQuery.of(categoryIds, categoryMatch, language, ageGroup, minPrice, maxPrice);
+
+        // Keyset pages are opt-in. Ranked search results have no stable key to seek on, so they keep offset pages.
+        if (keyset && !StringUtils.hasText(search)) {
+            KeysetPageDTO<BookSummaryDTO> keysetPage = bookService.getCatalogKeysetPage(
+                    query, search, BookSortKey.fromParam(sort), cursor, pageable.getPageSize());
+            model.addAttribute("books", keysetPage.getContent());
+            model.addAttribute("facets", bookService.getCatalogFacets(query, search));
+            model.addAttribute("keyset", true);
+            model.addAttribute("previousCursor", keysetPage.getPreviousCursor());
+            model.addAttribute("nextCursor", keysetPage.getNextCursor());
+        } else {
+            CatalogPageDTO catalogPage = bookService.getCatalogPage(query, search, pageableWithSort);
+            Page<BookSummaryDTO> books = catalogPage.getBooks();
+            model.addAttribute("books", books);
+            model.addAttribute("facets", catalogPage.getFacets());
+            model.addAttribute("previousPage", books.hasPrevious() ? books.getNumber() - 1 : null);
+            model.addAttribute("nextPage", books.hasNext() ? books.getNumber() + 1 : null);
+        }
         model.addAttribute("categories", categoryService.getCategories());
         return "user/books";
     }
@@ -69,6 +95,13 @@ public class BookController {
         return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
     }
 
+    @GetMapping("/suggest")
+    @ResponseBody
+    public List<BookSuggestionDTO> suggestBooks(@RequestParam("q") String query,
+                                                @RequestParam(defaultValue = "10") int limit) {
+        return bookService.suggestBooks(query, limit);
+    }
+
     @GetMapping("/{id}")
     public String showBookView(@PathVariable("id") Long id, Model model) {
         BookDTO book = bookService.getBookById(id);
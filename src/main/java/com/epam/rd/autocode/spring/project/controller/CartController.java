@@ -2,11 +2,13 @@ package com.epam.rd.autocode.spring.project.controller;
 
 import com.epam.rd.autocode.spring.project.dto.BookItemDTO;
 import com.epam.rd.autocode.spring.project.dto.Cart;
+import com.epam.rd.autocode.spring.project.exception.CartValidationException;
 import com.epam.rd.autocode.spring.project.exception.InsufficientFundsException;
 import com.epam.rd.autocode.spring.project.service.CartService;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
@@ -14,6 +16,7 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.util.List;
 
 @Controller
@@ -22,11 +25,14 @@ import java.util.List;
 public class CartController {
     private final CartService cartService;
 
+    @Value("${cart.ttl:PT1H}")
+    private Duration cartTtl;
+
     @GetMapping
     @PreAuthorize("isAnonymous() or hasRole('CUSTOMER')")
-    public String viewCart(@CookieValue(name = "shoppingCart", required = false) String cartJson,
+    public String viewCart(@CookieValue(name = CartService.CART_COOKIE_NAME, required = false) String cartCookie,
                           Model model) {
-        Cart cart = cartService.getCartFromCookies(cartJson);
+        Cart cart = cartService.getCartFromCookies(cartCookie);
         List<BookItemDTO> cartDetails = cartService.getDetailedCartItems(cart);
 
         model.addAttribute("cart", cart);
@@ -39,12 +45,12 @@ public class CartController {
     @PreAuthorize("isAnonymous() or hasRole('CUSTOMER')")
     public String addToCart(@RequestParam Long bookId,
                             @RequestParam(defaultValue = "1") int quantity,
-                            @CookieValue(name = "shoppingCart", required = false) String cartJson,
+                            @CookieValue(name = CartService.CART_COOKIE_NAME, required = false) String cartCookie,
                             HttpServletResponse response) {
 
-        Cart cart = cartService.getCartFromCookies(cartJson);
+        Cart cart = cartService.getCartFromCookies(cartCookie);
         Cart updatedCart = cartService.addBookToCart(cart, bookId, quantity);
-        setCartCookie(response, updatedCart);
+        setCartCookie(response, cartCookie, updatedCart);
 
         return "redirect:/cart";
     }
@@ -52,12 +58,12 @@ public class CartController {
     @PostMapping("/remove/{bookId}")
     @PreAuthorize("isAnonymous() or hasRole('CUSTOMER')")
     public String removeFromCart(@PathVariable Long bookId,
-                                 @CookieValue(name = "shoppingCart", required = false) String cartJson,
+                                 @CookieValue(name = CartService.CART_COOKIE_NAME, required = false) String cartCookie,
                                  HttpServletResponse response) {
 
-        Cart cart = cartService.getCartFromCookies(cartJson);
+        Cart cart = cartService.getCartFromCookies(cartCookie);
         Cart updatedCart = cartService.removeItemFromCart(cart, bookId);
-        setCartCookie(response, updatedCart);
+        setCartCookie(response, cartCookie, updatedCart);
 
         return "redirect:/cart";
     }
@@ -66,29 +72,30 @@ public class CartController {
     @PreAuthorize("isAnonymous() or hasRole('CUSTOMER')")
     public String updateQuantity(@PathVariable Long bookId,
                                  @RequestParam int quantity,
-                                 @CookieValue(name = "shoppingCart", required = false) String cartJson,
+                                 @CookieValue(name = CartService.CART_COOKIE_NAME, required = false) String cartCookie,
                                  HttpServletResponse response) {
 
-        Cart cart = cartService.getCartFromCookies(cartJson);
+        Cart cart = cartService.getCartFromCookies(cartCookie);
         Cart updatedCart = cartService.updateBookQuantity(cart, bookId, quantity);
-        setCartCookie(response, updatedCart);
+        setCartCookie(response, cartCookie, updatedCart);
 
         return "redirect:/cart";
     }
 
     @PostMapping("/checkout")
     @PreAuthorize("hasRole('CUSTOMER')")
-    public String checkout(@CookieValue(name = "shoppingCart", required = false) String cartJson,
+    public String checkout(@CookieValue(name = CartService.CART_COOKIE_NAME, required = false) String cartCookie,
                            @AuthenticationPrincipal Jwt jwt,
                            HttpServletResponse response,
                            Model model) {
 
-        Cart cart = cartService.getCartFromCookies(cartJson);
+        Cart cart = cartService.getCartFromCookies(cartCookie);
 
         try {
             Long userId = Long.parseLong(jwt.getClaimAsString("jti"));
 
             cartService.checkout(cart, userId);
+            cartService.clearCart(cartCookie);
 
             Cookie cookie = new Cookie(CartService.CART_COOKIE_NAME, "");
             cookie.setMaxAge(0);
@@ -97,7 +104,7 @@ public class CartController {
 
             return "redirect:/books";
 
-        } catch (InsufficientFundsException e) {
+        } catch (InsufficientFundsException | CartValidationException e) {
             model.addAttribute("errorMessage", "Помилка оформлення замовлення: " + e.getMessage());
             model.addAttribute("cart", cart);
             model.addAttribute("cartDetails", cartService.getDetailedCartItems(cart));
@@ -105,11 +112,10 @@ public class CartController {
         }
     }
 
-    private void setCartCookie(HttpServletResponse response, Cart cart) {
-        String cartJson = cartService.serializeCart(cart);
-        Cookie cookie = new Cookie(CartService.CART_COOKIE_NAME, cartJson);
+    private void setCartCookie(HttpServletResponse response, String cartCookie, Cart cart) {
+        Cookie cookie = new Cookie(CartService.CART_COOKIE_NAME, cartService.saveCart(cartCookie, cart));
         cookie.setPath("/");
-        cookie.setMaxAge(60 * 60);
+        cookie.setMaxAge((int) cartTtl.toSeconds());
         cookie.setHttpOnly(true);
         response.addCookie(cookie);
     }
@@ -2,6 +2,7 @@ package com.epam.rd.autocode.spring.project.controller;
 
 import com.epam.rd.autocode.spring.project.dto.BookSummaryDTO;
 import com.epam.rd.autocode.spring.project.dto.CategoryDTO;
+import com.epam.rd.autocode.spring.project.dto.KeysetPageDTO;
 import com.epam.rd.autocode.spring.project.service.BookService;
 import com.epam.rd.autocode.spring.project.service.CategoryService;
 import org.springframework.data.domain.Page;
@@ -22,18 +23,32 @@ public class HomeController {
         this.bookService = bookService;
     }
 
+    // Offset pages by default; ?keyset=true switches the book list to cursor pages. The page number still
+    // travels with the cursor links so the category strip moves along with the books either way.
     @GetMapping("/")
     public String home(Model model,
                        @RequestParam(defaultValue = "0") int page,
-                       @RequestParam(defaultValue = "10") int size) {
+                       @RequestParam(defaultValue = "10") int size,
+                       @RequestParam(defaultValue = "false") boolean keyset,
+                       @RequestParam(required = false) String cursor) {
         Page<CategoryDTO> categories = categoryService.getCategoriesPage(page, 4);
-        Page<BookSummaryDTO> bookPage = bookService.getNewestBooksPaged(page, size);
-        model.addAttribute("books", bookPage);
-        model.addAttribute("currentPage", bookPage.getNumber());
-        model.addAttribute("totalPages", bookPage.getTotalPages());
+        if (keyset) {
+            KeysetPageDTO<BookSummaryDTO> bookPage = bookService.getNewestBooksKeyset(cursor, size);
+            model.addAttribute("books", bookPage.getContent());
+            model.addAttribute("keyset", true);
+            model.addAttribute("previousCursor", bookPage.getPreviousCursor());
+            model.addAttribute("nextCursor", bookPage.getNextCursor());
+            model.addAttribute("previousPage", bookPage.getPreviousCursor() != null ? Math.max(page - 1, 0) : null);
+            model.addAttribute("nextPage", bookPage.getNextCursor() != null ? page + 1 : null);
+        } else {
+            Page<BookSummaryDTO> bookPage = bookService.getNewestBooksPaged(page, size);
+            model.addAttribute("books", bookPage);
+            model.addAttribute("currentPage", bookPage.getNumber());
+            model.addAttribute("totalPages", bookPage.getTotalPages());
+            model.addAttribute("previousPage", bookPage.hasPrevious() ? bookPage.getNumber() - 1 : null);
+            model.addAttribute("nextPage", bookPage.hasNext() ? bookPage.getNumber() + 1 : null);
+        }
         model.addAttribute("categories", categories);
         return "index";
     }
-
-
 }
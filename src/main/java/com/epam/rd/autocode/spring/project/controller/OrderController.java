@@ -1,9 +1,16 @@
 package com.epam.rd.autocode.spring.project.controller;
 
 import com.epam.rd.autocode.spring.project.dto.OrderStatusUpdateDto;
+import com.epam.rd.autocode.spring.project.dto.OrderSummaryDTO;
 import com.epam.rd.autocode.spring.project.model.enums.Status;
 import com.epam.rd.autocode.spring.project.service.OrderService;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -11,10 +18,15 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.time.LocalDate;
+
 @Controller
 public class OrderController {
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final OrderService orderService;
 
     public OrderController(OrderService orderService) {
@@ -23,13 +35,33 @@ public class OrderController {
 
     @GetMapping("/orders")
     @PreAuthorize("hasAnyRole('EMPLOYEE', 'ADMIN')")
-    public String getOrders(Model model) {
-        model.addAttribute("orders", orderService.getAllOrders());
+    public String getOrders(@RequestParam(required = false) Status status,
+                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                            @RequestParam(required = false) String sort,
+                            @PageableDefault(size = 20) Pageable pageable,
+                            Model model) {
+        Page<OrderSummaryDTO> orders = orderService.getOrderSummaries(status, from, to, createPageableWithSort(pageable, sort));
+        model.addAttribute("orders", orders);
+        model.addAttribute("previousPage", orders.hasPrevious() ? orders.getNumber() - 1 : null);
+        model.addAttribute("nextPage", orders.hasNext() ? orders.getNumber() + 1 : null);
+        model.addAttribute("statusCounts", orderService.getOrderStatusCounts());
         model.addAttribute("allStatuses", Status.values());
         model.addAttribute("statusUpdateFrom", new OrderStatusUpdateDto());
         return "management/orders";
     }
 
+    // Only whitelisted sorts reach the query; the id tie-breaker keeps pages stable for equal dates and prices.
+    private Pageable createPageableWithSort(Pageable pageable, String sortParam) {
+        Sort sort = switch (sortParam == null ? "" : sortParam) {
+            case "date_asc" -> Sort.by("orderDate").ascending().and(Sort.by("id").ascending());
+            case "price_asc" -> Sort.by("price").ascending().and(Sort.by("id").ascending());
+            case "price_desc" -> Sort.by("price").descending().and(Sort.by("id").descending());
+            default -> Sort.by("orderDate").descending().and(Sort.by("id").descending());
+        };
+        return PageRequest.of(pageable.getPageNumber(), Math.min(pageable.getPageSize(), MAX_PAGE_SIZE), sort);
+    }
+
     @GetMapping("/order/{id}")
     @PreAuthorize("hasAnyRole('CUSTOMER', 'EMPLOYEE', 'ADMIN')")
     public String getOrderDetails(@PathVariable Long id, Model model) {
@@ -6,6 +6,7 @@ import com.epam.rd.autocode.spring.project.dto.UserUpdateDTO;
 import com.epam.rd.autocode.spring.project.service.OrderService;
 import com.epam.rd.autocode.spring.project.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -15,12 +16,13 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
-
-import java.util.List;
+import org.springframework.web.bind.annotation.RequestParam;
 
 @Controller
 @RequiredArgsConstructor
 public class UserController {
+    private static final int ORDER_HISTORY_PAGE_SIZE = 10;
+
     private final UserService userService;
     private final OrderService orderService;
 
@@ -28,7 +30,7 @@ public class UserController {
     public String showProfile(@AuthenticationPrincipal Jwt jwt, Model model) {
         String id = jwt.getClaimAsString("jti");
         CustomerDTO user = userService.findUserById(Long.valueOf(id));
-        List<OrderDTO> orders = orderService.getOrdersByClientId(Long.valueOf(id));
+        Page<OrderDTO> orders = orderService.getOrderHistory(Long.valueOf(id), 0, ORDER_HISTORY_PAGE_SIZE);
         UserUpdateDTO userForm = UserUpdateDTO.fromCustomerDTO(user);
         model.addAttribute("user", user);
         model.addAttribute("orders", orders);
@@ -36,6 +38,17 @@ public class UserController {
         return "user/profile";
     }
 
+    // Next page of the order history as HTML, appended by profile.js.
+    @GetMapping("/profile/orders")
+    @PreAuthorize("hasRole('CUSTOMER')")
+    public String loadMoreOrders(@AuthenticationPrincipal Jwt jwt,
+                                 @RequestParam(defaultValue = "1") int page,
+                                 Model model) {
+        Long id = Long.valueOf(jwt.getClaimAsString("jti"));
+        model.addAttribute("orders", orderService.getOrderHistory(id, Math.max(page, 0), ORDER_HISTORY_PAGE_SIZE));
+        return "user/profile :: orderPage";
+    }
+
     @PostMapping("/profile/edit")
     @PreAuthorize("hasRole('CUSTOMER')")
     public String editProfile(@ModelAttribute("userForm") UserUpdateDTO dto) {
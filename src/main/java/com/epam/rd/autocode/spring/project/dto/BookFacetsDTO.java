@@ -0,0 +1,20 @@
+package com.epam.rd.autocode.spring.project.dto;
+
+import com.epam.rd.autocode.spring.project.model.enums.AgeGroup;
+import com.epam.rd.autocode.spring.project.model.enums.Language;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookFacetsDTO {
+    private Map<Long, Integer> categoryCounts;
+    private Map<Language, Integer> languageCounts;
+    private Map<AgeGroup, Integer> ageGroupCounts;
+    private List<PriceFacetDTO> priceRanges;
+}
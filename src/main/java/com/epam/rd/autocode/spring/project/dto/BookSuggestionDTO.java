@@ -0,0 +1,14 @@
+package com.epam.rd.autocode.spring.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookSuggestionDTO {
+    private Long id;
+    private String name;
+    private String author;
+}
@@ -1,8 +1,10 @@
 package com.epam.rd.autocode.spring.project.dto;
 
-import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
@@ -11,9 +13,20 @@ import java.util.Map;
 
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
 public class Cart implements Serializable {
     private Map<Long, Integer> items = new HashMap<>();
     private int totalQuantity = 0;
     private BigDecimal totalPrice = BigDecimal.ZERO;
+
+    // Books fetched while pricing this cart, reused by the rest of the request. Never stored with the cart.
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Map<Long, BookDTO> pricedBooks = new HashMap<>();
+
+    public Cart(Map<Long, Integer> items, int totalQuantity, BigDecimal totalPrice) {
+        this.items = items;
+        this.totalQuantity = totalQuantity;
+        this.totalPrice = totalPrice;
+    }
 }
@@ -0,0 +1,14 @@
+package com.epam.rd.autocode.spring.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogPageDTO {
+    private Page<BookSummaryDTO> books;
+    private BookFacetsDTO facets;
+}
@@ -0,0 +1,16 @@
+package com.epam.rd.autocode.spring.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeysetPageDTO<T> {
+    private List<T> content;
+    private String previousCursor;
+    private String nextCursor;
+}
@@ -0,0 +1,21 @@
+package com.epam.rd.autocode.spring.project.dto;
+
+import com.epam.rd.autocode.spring.project.model.enums.Status;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderSummaryDTO {
+    private Long id;
+    private String userEmail;
+    private LocalDateTime orderDate;
+    private BigDecimal price;
+    private Status status;
+    private long itemCount;
+}
@@ -0,0 +1,16 @@
+package com.epam.rd.autocode.spring.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceFacetDTO {
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private int count;
+}
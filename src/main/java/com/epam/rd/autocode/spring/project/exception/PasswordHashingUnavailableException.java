@@ -0,0 +1,7 @@
+package com.epam.rd.autocode.spring.project.exception;
+
+public class PasswordHashingUnavailableException extends RuntimeException {
+    public PasswordHashingUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -2,8 +2,10 @@ package com.epam.rd.autocode.spring.project.exception.handler;
 
 import com.epam.rd.autocode.spring.project.exception.AlreadyExistException;
 import com.epam.rd.autocode.spring.project.exception.NotFoundException;
+import com.epam.rd.autocode.spring.project.exception.PasswordHashingUnavailableException;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -14,6 +16,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
@@ -83,6 +86,19 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return "redirect:" + requestPath;
     }
 
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public String handlePasswordHashingUnavailableException(PasswordHashingUnavailableException ex,
+                                                            HttpServletRequest request,
+                                                            HttpServletResponse response, Model model) {
+        log.warn("Password hashing saturated: {} - Path: {}", ex.getMessage(), request.getRequestURI());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        model.addAttribute("status", 503);
+        model.addAttribute("error", "Service Unavailable");
+        model.addAttribute("message", ex.getMessage());
+        return "error/error";
+    }
+
     @ExceptionHandler(Exception.class)
     public String handleAllExceptions(Exception ex, HttpServletRequest request, Model model) {
         log.error("Unexpected error occurred at {}: ", request.getRequestURI(), ex);
@@ -0,0 +1,172 @@
+package com.epam.rd.autocode.spring.project.mapper;
+
+import com.epam.rd.autocode.spring.project.dto.BookDTO;
+import com.epam.rd.autocode.spring.project.dto.BookItemDTO;
+import com.epam.rd.autocode.spring.project.dto.BookSummaryDTO;
+import com.epam.rd.autocode.spring.project.dto.CategoryDTO;
+import com.epam.rd.autocode.spring.project.dto.CustomerDTO;
+import com.epam.rd.autocode.spring.project.dto.EmployeeDTO;
+import com.epam.rd.autocode.spring.project.dto.OrderDTO;
+import com.epam.rd.autocode.spring.project.dto.OrderSummaryDTO;
+import com.epam.rd.autocode.spring.project.model.Book;
+import com.epam.rd.autocode.spring.project.model.BookItem;
+import com.epam.rd.autocode.spring.project.model.Category;
+import com.epam.rd.autocode.spring.project.model.Order;
+import com.epam.rd.autocode.spring.project.model.User;
+import com.epam.rd.autocode.spring.project.repo.projection.BookSummaryView;
+import com.epam.rd.autocode.spring.project.repo.projection.OrderSummaryView;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Field-by-field entity to DTO mapping for the read paths. Produces the same DTOs as the ModelMapper
+// configuration in BaseConfig without resolving property matches by reflection on every call.
+@Component
+public class Mappers {
+
+    public BookDTO toBookDTO(Book book) {
+        BookDTO dto = toBookDTOWithoutCategories(book);
+        if (dto != null) {
+            dto.setCategories(toCategoryDTOs(book.getCategories()));
+        }
+        return dto;
+    }
+
+    private BookDTO toBookDTOWithoutCategories(Book book) {
+        if (book == null) {
+            return null;
+        }
+        BookDTO dto = new BookDTO();
+        dto.setId(book.getId());
+        dto.setName(book.getName());
+        dto.setIsbn(book.getIsbn());
+        dto.setAgeGroup(book.getAgeGroup());
+        dto.setPrice(book.getPrice());
+        dto.setPublicationDate(book.getPublicationDate());
+        dto.setAuthor(book.getAuthor());
+        dto.setPages(book.getPages());
+        dto.setCharacteristics(book.getCharacteristics());
+        dto.setDescription(book.getDescription());
+        dto.setLanguage(book.getLanguage());
+        return dto;
+    }
+
+    public BookSummaryDTO toBookSummaryDTO(Book book) {
+        if (book == null) {
+            return null;
+        }
+        return new BookSummaryDTO(book.getId(), book.getName(), book.getAuthor(),
+                book.getPublicationDate(), book.getPrice(), book.getLanguage());
+    }
+
+    public BookSummaryDTO toBookSummaryDTO(BookSummaryView view) {
+        if (view == null) {
+            return null;
+        }
+        return new BookSummaryDTO(view.getId(), view.getName(), view.getAuthor(),
+                view.getPublicationDate(), view.getPrice(), view.getLanguage());
+    }
+
+    public CategoryDTO toCategoryDTO(Category category) {
+        if (category == null) {
+            return null;
+        }
+        return new CategoryDTO(category.getId(), category.getName());
+    }
+
+    public OrderDTO toOrderDTO(Order order) {
+        if (order == null) {
+            return null;
+        }
+        OrderDTO dto = new OrderDTO();
+        dto.setId(order.getId());
+        dto.setUserEmail(order.getUser() != null ? order.getUser().getEmail() : null);
+        dto.setOrderDate(order.getOrderDate());
+        dto.setPrice(order.getPrice());
+        dto.setStatus(order.getStatus());
+        if (order.getBookItems() != null) {
+            List<BookItemDTO> items = new ArrayList<>(order.getBookItems().size());
+            for (BookItem item : order.getBookItems()) {
+                items.add(toBookItemDTO(item));
+            }
+            dto.setBookItems(items);
+        }
+        return dto;
+    }
+
+    // Order history entry built from separately loaded lines; book categories are left null so they are never loaded.
+    public OrderDTO toOrderDTO(Order order, List<BookItem> items) {
+        if (order == null) {
+            return null;
+        }
+        OrderDTO dto = new OrderDTO();
+        dto.setId(order.getId());
+        dto.setUserEmail(order.getUser() != null ? order.getUser().getEmail() : null);
+        dto.setOrderDate(order.getOrderDate());
+        dto.setPrice(order.getPrice());
+        dto.setStatus(order.getStatus());
+        List<BookItemDTO> itemDTOs = new ArrayList<>(items.size());
+        for (BookItem item : items) {
+            BookItemDTO itemDTO = new BookItemDTO();
+            itemDTO.setBook(toBookDTOWithoutCategories(item.getBook()));
+            if (item.getQuantity() != null) {
+                itemDTO.setQuantity(item.getQuantity());
+            }
+            itemDTO.setPricePerUnit(item.getPricePerUnit());
+            itemDTOs.add(itemDTO);
+        }
+        dto.setBookItems(itemDTOs);
+        return dto;
+    }
+
+    public OrderSummaryDTO toOrderSummaryDTO(OrderSummaryView view) {
+        if (view == null) {
+            return null;
+        }
+        return new OrderSummaryDTO(view.getId(), view.getUserEmail(), view.getOrderDate(), view.getPrice(),
+                view.getStatus(), view.getItemCount() != null ? view.getItemCount() : 0);
+    }
+
+    public BookItemDTO toBookItemDTO(BookItem item) {
+        if (item == null) {
+            return null;
+        }
+        BookItemDTO dto = new BookItemDTO();
+        dto.setBook(toBookDTO(item.getBook()));
+        if (item.getQuantity() != null) {
+            dto.setQuantity(item.getQuantity());
+        }
+        dto.setPricePerUnit(item.getPricePerUnit());
+        return dto;
+    }
+
+    public CustomerDTO toCustomerDTO(User user) {
+        if (user == null) {
+            return null;
+        }
+        return new CustomerDTO(user.getId(), user.getEmail(), user.getName(), user.getPhone(),
+                user.getBirthDate(), user.getBalance(), Boolean.TRUE.equals(user.getIsBlocked()));
+    }
+
+    public EmployeeDTO toEmployeeDTO(User user) {
+        if (user == null) {
+            return null;
+        }
+        return new EmployeeDTO(user.getId(), user.getEmail(), user.getName(), user.getPhone(),
+                user.getBirthDate(), Boolean.TRUE.equals(user.getIsBlocked()));
+    }
+
+    private Set<CategoryDTO> toCategoryDTOs(Set<Category> categories) {
+        if (categories == null) {
+            return null;
+        }
+        Set<CategoryDTO> dtos = new HashSet<>(Math.max(4, categories.size() * 2));
+        for (Category category : categories) {
+            dtos.add(toCategoryDTO(category));
+        }
+        return dtos;
+    }
+}
@@ -0,0 +1,10 @@
+package com.epam.rd.autocode.spring.project.metrics;
+
+import java.util.Map;
+
+// A component that reports its own counters; AdminController lists every source under /admin/metrics.
+public interface MetricsSource {
+    String metricsName();
+
+    Map<String, Number> metrics();
+}
@@ -0,0 +1,51 @@
+package com.epam.rd.autocode.spring.project.model;
+
+import com.epam.rd.autocode.spring.project.model.enums.LedgerEntryType;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// One balance movement: negative for a payment, positive for a refund. Entries are never updated or deleted;
+// user and order ids are plain columns so the history outlives the rows it refers to. Ids come from the database
+// at insert time, so snapshots can fold refunds up to an id watermark.
+@Entity
+@Immutable
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "balance_ledger",
+        uniqueConstraints = @UniqueConstraint(name = "uk_balance_ledger_order_type", columnNames = {"order_id", "entry_type"}),
+        indexes = @Index(name = "idx_balance_ledger_user", columnList = "user_id, id"))
+public class BalanceLedgerEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false)
+    private LedgerEntryType type;
+
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal amount;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    public BalanceLedgerEntry(Long userId, Long orderId, LedgerEntryType type, BigDecimal amount) {
+        this.userId = userId;
+        this.orderId = orderId;
+        this.type = type;
+        this.amount = amount;
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -13,8 +13,10 @@ import java.math.BigDecimal;
 @AllArgsConstructor
 @Table(name = "book_items")
 public class BookItem {
+    // Sequence ids let Hibernate batch the order line inserts; IDENTITY would force one insert per line.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "book_items_seq")
+    @SequenceGenerator(name = "book_items_seq", sequenceName = "book_items_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -1,14 +1,18 @@
 package com.epam.rd.autocode.spring.project.model;
 
+import com.epam.rd.autocode.spring.project.cache.CategoryWriteListener;
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.ToString;
 
 import java.util.Set;
 
 @Entity
 @Table(name = "categories")
+@EntityListeners(CategoryWriteListener.class)
 @Data
+@EqualsAndHashCode(exclude = "books")
 @ToString(exclude = "books")
 public class Category {
     @Id
@@ -0,0 +1,87 @@
+package com.epam.rd.autocode.spring.project.model;
+
+import com.epam.rd.autocode.spring.project.model.enums.Status;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Denormalized row per order for the management listing and dashboards, written in the same transaction as
+// the order. The indexes lead with the filter columns and carry every listed column, so a page never touches
+// orders, users or book_items.
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+@Table(name = "order_summary", indexes = {
+        @Index(name = "idx_order_summary_date",
+                columnList = "order_date, order_id, customer_email, price, status, item_count"),
+        @Index(name = "idx_order_summary_status_date",
+                columnList = "status, order_date, order_id, customer_email, price, item_count"),
+        @Index(name = "idx_order_summary_user", columnList = "user_id")
+})
+public class OrderSummary implements Persistable<Long> {
+    // Same value as the order id.
+    @Id
+    @Column(name = "order_id")
+    private Long id;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "customer_email")
+    private String customerEmail;
+
+    @Column(name = "order_date")
+    private LocalDateTime orderDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal price;
+
+    @Column(name = "item_count", nullable = false)
+    private Integer itemCount;
+
+    @Column(name = "total_quantity", nullable = false)
+    private Integer totalQuantity;
+
+    // The id is assigned, so without this save() would merge and select the row before inserting it.
+    @Transient
+    @ToString.Exclude
+    private boolean isNew = true;
+
+    public static OrderSummary of(Order order) {
+        OrderSummary summary = new OrderSummary();
+        summary.setId(order.getId());
+        summary.setUserId(order.getUser() != null ? order.getUser().getId() : null);
+        summary.setCustomerEmail(order.getUser() != null ? order.getUser().getEmail() : null);
+        summary.setOrderDate(order.getOrderDate());
+        summary.setStatus(order.getStatus());
+        summary.setPrice(order.getPrice());
+        summary.setItemCount(order.getBookItems() != null ? order.getBookItems().size() : 0);
+        summary.setTotalQuantity(order.getBookItems() != null
+                ? order.getBookItems().stream().mapToInt(item -> item.getQuantity() != null ? item.getQuantity() : 0).sum()
+                : 0);
+        return summary;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
@@ -3,6 +3,7 @@ package com.epam.rd.autocode.spring.project.model;
 import com.epam.rd.autocode.spring.project.model.enums.Role;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -34,9 +35,16 @@ public class User {
     @Column(nullable = false)
     private Role role;
 
-    @Column(precision = 10, scale = 2)
+    // Payments are debited here directly by one guarded update. Refunds are only appended to balance_ledger and
+    // folded in by snapshots up to ledgerPosition, the id of the last refund entry included. Both columns are
+    // changed only by BalanceService, never by saving a loaded user.
+    @Column(precision = 10, scale = 2, updatable = false)
     private BigDecimal balance;
 
+    @ColumnDefault("0")
+    @Column(name = "ledger_position", nullable = false, updatable = false)
+    private Long ledgerPosition = 0L;
+
     @Column
     private String phone;
 
@@ -54,4 +62,10 @@ public class User {
 
     @Column(nullable = false, name = "failed_attempts")
     private Integer failedLoginAttempts;
+
+    // Bumped by every write that resets or locks the login counter. A failed-attempt counter queued against an
+    // older version is stale and the write-behind flush skips it. Changed only by UserRepository updates.
+    @ColumnDefault("0")
+    @Column(name = "login_state_version", nullable = false, updatable = false)
+    private Long loginStateVersion = 0L;
 }
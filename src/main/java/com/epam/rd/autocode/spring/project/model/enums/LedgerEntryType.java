@@ -0,0 +1,6 @@
+package com.epam.rd.autocode.spring.project.model.enums;
+
+public enum LedgerEntryType {
+    PAYMENT,
+    REFUND
+}
@@ -0,0 +1,52 @@
+package com.epam.rd.autocode.spring.project.pagination;
+
+import com.epam.rd.autocode.spring.project.dto.BookSummaryDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+
+// Opaque keyset cursor: the sort key, the scroll direction and the (key, id) of the boundary row.
+// The key is null when the boundary row has no value for the sort property.
+public record BookCursor(BookSortKey sortKey, boolean backward, Long id, Object key) {
+    private static final String SEPARATOR = "|";
+
+    public static BookCursor after(BookSortKey sortKey, BookSummaryDTO book) {
+        return new BookCursor(sortKey, false, book.getId(), sortKey.keyOf(book));
+    }
+
+    public static BookCursor before(BookSortKey sortKey, BookSummaryDTO book) {
+        return new BookCursor(sortKey, true, book.getId(), sortKey.keyOf(book));
+    }
+
+    // Rows without a sort value are paged after the others, by id alone.
+    public boolean unkeyed() {
+        return sortKey.property() != null && key == null;
+    }
+
+    public String encode() {
+        String raw = sortKey.name() + SEPARATOR + (backward ? "B" : "F") + SEPARATOR + id
+                + (key != null ? SEPARATOR + key : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Cursors come from the query string, so anything unreadable or issued for another sort order
+    // is treated as "no cursor" and the caller starts from the first page.
+    public static Optional<BookCursor> decode(String cursor, BookSortKey expectedSortKey) {
+        if (cursor == null || cursor.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 4);
+            BookSortKey sortKey = BookSortKey.valueOf(parts[0]);
+            if (sortKey != expectedSortKey || parts.length < 3 || (sortKey.property() == null && parts.length == 4)) {
+                return Optional.empty();
+            }
+            Object key = parts.length == 4 ? sortKey.parseKey(parts[3]) : null;
+            return Optional.of(new BookCursor(sortKey, "B".equals(parts[1]), Long.parseLong(parts[2]), key));
+        } catch (RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+}
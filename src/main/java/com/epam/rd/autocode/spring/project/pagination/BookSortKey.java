@@ -0,0 +1,67 @@
+package com.epam.rd.autocode.spring.project.pagination;
+
+import com.epam.rd.autocode.spring.project.dto.BookSummaryDTO;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.function.Function;
+
+public enum BookSortKey {
+    DEFAULT(null, Sort.Direction.ASC, null, null),
+    NAME("name", Sort.Direction.ASC, BookSummaryDTO::getName, value -> value),
+    AUTHOR("author", Sort.Direction.ASC, BookSummaryDTO::getAuthor, value -> value),
+    PRICE_ASC("price", Sort.Direction.ASC, BookSummaryDTO::getPrice, BigDecimal::new),
+    PRICE_DESC("price", Sort.Direction.DESC, BookSummaryDTO::getPrice, BigDecimal::new),
+    NEWEST("publicationDate", Sort.Direction.DESC, BookSummaryDTO::getPublicationDate, LocalDate::parse);
+
+    private final String property;
+    private final Sort.Direction direction;
+    private final Function<BookSummaryDTO, Object> extractor;
+    private final Function<String, Object> parser;
+
+    BookSortKey(String property, Sort.Direction direction,
+                Function<BookSummaryDTO, Object> extractor, Function<String, Object> parser) {
+        this.property = property;
+        this.direction = direction;
+        this.extractor = extractor;
+        this.parser = parser;
+    }
+
+    public static BookSortKey fromParam(String sortParam) {
+        if (sortParam == null) {
+            return DEFAULT;
+        }
+        return switch (sortParam) {
+            case "name" -> NAME;
+            case "author" -> AUTHOR;
+            case "price_asc" -> PRICE_ASC;
+            case "price_desc" -> PRICE_DESC;
+            case "date_desc" -> NEWEST;
+            default -> DEFAULT;
+        };
+    }
+
+    // Ascending id is always the last sort column, so every key is unique and ties break the same way
+    // as in the catalog snapshot.
+    public Sort sort() {
+        Sort byId = Sort.by(Sort.Direction.ASC, "id");
+        return property == null ? byId : Sort.by(direction, property).and(byId);
+    }
+
+    public String property() {
+        return property;
+    }
+
+    public Sort.Direction direction() {
+        return direction;
+    }
+
+    Object keyOf(BookSummaryDTO book) {
+        return extractor != null ? extractor.apply(book) : null;
+    }
+
+    Object parseKey(String value) {
+        return parser.apply(value);
+    }
+}
@@ -0,0 +1,26 @@
+package com.epam.rd.autocode.spring.project.repo;
+
+import com.epam.rd.autocode.spring.project.model.BalanceLedgerEntry;
+import com.epam.rd.autocode.spring.project.model.enums.LedgerEntryType;
+import com.epam.rd.autocode.spring.project.repo.projection.LedgerWatermarkView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BalanceLedgerRepository extends JpaRepository<BalanceLedgerEntry, Long> {
+    boolean existsByOrderIdAndType(Long orderId, LedgerEntryType type);
+    Optional<BalanceLedgerEntry> findByOrderIdAndType(Long orderId, LedgerEntryType type);
+
+    // Highest refund id each user has beyond its snapshot that is older than the cutoff. Only ids below the
+    // watermark are folded, and by then every transaction that took a lower id has long committed.
+    @Query("SELECT e.userId AS userId, MAX(e.id) AS watermark FROM BalanceLedgerEntry e, User u " +
+           "WHERE u.id = e.userId AND e.type = " + UserRepository.REFUND + " AND e.id > u.ledgerPosition " +
+           "AND e.createdAt <= :cutoff GROUP BY e.userId")
+    List<LedgerWatermarkView> findSnapshotWatermarks(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,9 +1,20 @@
 package com.epam.rd.autocode.spring.project.repo;
 
 import com.epam.rd.autocode.spring.project.model.BookItem;
+import com.epam.rd.autocode.spring.project.repo.projection.BookSalesView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface BookItemRepository extends JpaRepository<BookItem, Long> {
+    @Query("SELECT bi.book.id AS bookId, SUM(bi.quantity) AS quantity FROM BookItem bi GROUP BY bi.book.id")
+    List<BookSalesView> sumQuantitiesByBook();
+
+    @Query("SELECT bi FROM BookItem bi JOIN FETCH bi.book WHERE bi.order.id IN :orderIds ORDER BY bi.id")
+    List<BookItem> findWithBooksByOrderIds(@Param("orderIds") Collection<Long> orderIds);
 }
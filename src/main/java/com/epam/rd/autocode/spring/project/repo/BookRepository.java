@@ -3,20 +3,23 @@ package com.epam.rd.autocode.spring.project.repo;
 import com.epam.rd.autocode.spring.project.model.Book;
 import com.epam.rd.autocode.spring.project.model.enums.AgeGroup;
 import com.epam.rd.autocode.spring.project.model.enums.Language;
+import com.epam.rd.autocode.spring.project.repo.projection.BookSummaryView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book> {
     Optional<Book> findByName(String name);
 
     @Query("SELECT b FROM Book b LEFT JOIN FETCH b.categories WHERE b.name = :name")
@@ -31,6 +34,10 @@ public interface BookRepository extends JpaRepository<Book, Long> {
     @Query("SELECT DISTINCT b FROM Book b LEFT JOIN FETCH b.categories")
     List<Book> findAllWithCategories();
 
+    List<BookSummaryView> findSummariesByIdIn(Collection<Long> ids);
+
+    Page<BookSummaryView> findSummariesBy(Pageable pageable);
+
     boolean existsByIsbn(String isbn);
 
     @Query("SELECT DISTINCT b FROM Book b LEFT JOIN FETCH b.categories c WHERE " +
@@ -50,27 +57,56 @@ public interface BookRepository extends JpaRepository<Book, Long> {
             @Param("searchTerm") String searchTerm,
             Sort sort);
 
-    @Query(value = "SELECT DISTINCT b FROM Book b LEFT JOIN b.categories c WHERE " +
-            "(:categoryId IS NULL OR c.id = :categoryId) AND " +
+    @Query(value = "SELECT b.id FROM Book b WHERE " +
+            "(:categoryId IS NULL OR EXISTS (SELECT 1 FROM Book cb JOIN cb.categories c " +
+            "WHERE cb = b AND c.id = :categoryId)) AND " +
             "(:language IS NULL OR b.language = :language) AND " +
             "(:ageGroup IS NULL OR b.ageGroup = :ageGroup) AND " +
             "(:minPrice IS NULL OR b.price >= :minPrice) AND " +
             "(:maxPrice IS NULL OR b.price <= :maxPrice) AND " +
             "(:searchTerm IS NULL OR LOWER(b.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
             "OR LOWER(b.author) LIKE LOWER(CONCAT('%', :searchTerm, '%')))",
-            countQuery = "SELECT COUNT(DISTINCT b.id) FROM Book b LEFT JOIN b.categories c WHERE " +
-            "(:categoryId IS NULL OR c.id = :categoryId) AND " +
+            countQuery = "SELECT COUNT(b) FROM Book b WHERE " +
+            "(:categoryId IS NULL OR EXISTS (SELECT 1 FROM Book cb JOIN cb.categories c " +
+            "WHERE cb = b AND c.id = :categoryId)) AND " +
+            "(:language IS NULL OR b.language = :language) AND " +
+            "(:ageGroup IS NULL OR b.ageGroup = :ageGroup) AND " +
+            "(:minPrice IS NULL OR b.price >= :minPrice) AND " +
+            "(:maxPrice IS NULL OR b.price <= :maxPrice) AND " +
+            "(:searchTerm IS NULL OR LOWER(b.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
+            "OR LOWER(b.author) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
+    Page<Long> findIdsByFiltersPaged(@Param("categoryId") Long categoryId,
+                                     @Param("language") Language language,
+                                     @Param("ageGroup") AgeGroup ageGroup,
+                                     @Param("minPrice") BigDecimal minPrice,
+                                     @Param("maxPrice") BigDecimal maxPrice,
+                                     @Param("searchTerm") String searchTerm,
+                                     Pageable pageable);
+
+    @Query(value = "SELECT b.id FROM Book b WHERE " +
+            "(SELECT COUNT(c) FROM Book cb JOIN cb.categories c " +
+            "WHERE cb = b AND c.id IN :categoryIds) >= :requiredMatches AND " +
+            "(:language IS NULL OR b.language = :language) AND " +
+            "(:ageGroup IS NULL OR b.ageGroup = :ageGroup) AND " +
+            "(:minPrice IS NULL OR b.price >= :minPrice) AND " +
+            "(:maxPrice IS NULL OR b.price <= :maxPrice) AND " +
+            "(:searchTerm IS NULL OR LOWER(b.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
+            "OR LOWER(b.author) LIKE LOWER(CONCAT('%', :searchTerm, '%')))",
+            countQuery = "SELECT COUNT(b) FROM Book b WHERE " +
+            "(SELECT COUNT(c) FROM Book cb JOIN cb.categories c " +
+            "WHERE cb = b AND c.id IN :categoryIds) >= :requiredMatches AND " +
             "(:language IS NULL OR b.language = :language) AND " +
             "(:ageGroup IS NULL OR b.ageGroup = :ageGroup) AND " +
             "(:minPrice IS NULL OR b.price >= :minPrice) AND " +
             "(:maxPrice IS NULL OR b.price <= :maxPrice) AND " +
             "(:searchTerm IS NULL OR LOWER(b.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
             "OR LOWER(b.author) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
-    Page<Book> findByFiltersPaged(@Param("categoryId") Long categoryId,
-                                   @Param("language") Language language,
-                                   @Param("ageGroup") AgeGroup ageGroup,
-                                   @Param("minPrice") BigDecimal minPrice,
-                                   @Param("maxPrice") BigDecimal maxPrice,
-                                   @Param("searchTerm") String searchTerm,
-                                   Pageable pageable);
+    Page<Long> findIdsByCategoriesAndFiltersPaged(@Param("categoryIds") Collection<Long> categoryIds,
+                                                  @Param("requiredMatches") long requiredMatches,
+                                                  @Param("language") Language language,
+                                                  @Param("ageGroup") AgeGroup ageGroup,
+                                                  @Param("minPrice") BigDecimal minPrice,
+                                                  @Param("maxPrice") BigDecimal maxPrice,
+                                                  @Param("searchTerm") String searchTerm,
+                                                  Pageable pageable);
 }
@@ -1,7 +1,11 @@
 package com.epam.rd.autocode.spring.project.repo;
 
 import com.epam.rd.autocode.spring.project.model.Order;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -11,14 +15,10 @@ import java.util.Optional;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
-    @Query("SELECT DISTINCT o FROM Order o " +
-           "JOIN FETCH o.user " +
-           "JOIN FETCH o.bookItems oi " +
-           "JOIN FETCH oi.book b " +
-           "LEFT JOIN FETCH b.categories " +
-           "WHERE o.user.id = :userId " +
-           "ORDER BY o.orderDate DESC")
-    List<Order> findOrdersWithAllDetailsByUserId(@Param("userId") Long userId);
+    // Order lines are not fetched here; load them for the page with BookItemRepository.findWithBooksByOrderIds.
+    @Query(value = "SELECT o FROM Order o JOIN FETCH o.user WHERE o.user.id = :userId",
+           countQuery = "SELECT COUNT(o) FROM Order o WHERE o.user.id = :userId")
+    Page<Order> findPageByUserId(@Param("userId") Long userId, Pageable pageable);
 
     @Query("SELECT o FROM Order o " +
            "JOIN FETCH o.user " +
@@ -27,4 +27,9 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
            "LEFT JOIN FETCH b.categories " +
            "WHERE o.id = :orderId")
     Optional<Order> findByIdWithAllDetails(@Param("orderId") Long orderId);
+
+    // Serializes status changes of one order, so a double cancel cannot refund twice.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.id = :orderId")
+    Optional<Order> findByIdForUpdate(@Param("orderId") Long orderId);
 }
@@ -0,0 +1,58 @@
+package com.epam.rd.autocode.spring.project.repo;
+
+import com.epam.rd.autocode.spring.project.model.OrderSummary;
+import com.epam.rd.autocode.spring.project.model.enums.Status;
+import com.epam.rd.autocode.spring.project.repo.projection.OrderStatusCountView;
+import com.epam.rd.autocode.spring.project.repo.projection.OrderSummaryView;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OrderSummaryRepository extends JpaRepository<OrderSummary, Long> {
+    @Query(value = "SELECT s.id AS id, s.customerEmail AS userEmail, s.orderDate AS orderDate, s.price AS price, " +
+           "s.status AS status, s.itemCount AS itemCount FROM OrderSummary s WHERE " +
+           "(:status IS NULL OR s.status = :status) AND " +
+           "(:from IS NULL OR s.orderDate >= :from) AND " +
+           "(:to IS NULL OR s.orderDate < :to)",
+           countQuery = "SELECT COUNT(s) FROM OrderSummary s WHERE " +
+           "(:status IS NULL OR s.status = :status) AND " +
+           "(:from IS NULL OR s.orderDate >= :from) AND " +
+           "(:to IS NULL OR s.orderDate < :to)")
+    Page<OrderSummaryView> findPage(@Param("status") Status status,
+                                    @Param("from") LocalDateTime from,
+                                    @Param("to") LocalDateTime to,
+                                    Pageable pageable);
+
+    @Query("SELECT s.status AS status, COUNT(s) AS orders FROM OrderSummary s GROUP BY s.status")
+    List<OrderStatusCountView> countByStatus();
+
+    @Modifying
+    @Query("UPDATE OrderSummary s SET s.status = :status WHERE s.id = :orderId")
+    int updateStatus(@Param("orderId") Long orderId, @Param("status") Status status);
+
+    @Modifying
+    @Query("UPDATE OrderSummary s SET s.customerEmail = :email WHERE s.userId = :userId")
+    int updateCustomerEmail(@Param("userId") Long userId, @Param("email") String email);
+
+    @Modifying
+    @Query("DELETE FROM OrderSummary s WHERE s.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    // Adds the rows missing for orders placed before the read model existed.
+    @Modifying
+    @Query("INSERT INTO OrderSummary (id, userId, customerEmail, orderDate, status, price, itemCount, totalQuantity) " +
+           "SELECT o.id, u.id, u.email, o.orderDate, o.status, o.price, " +
+           "CAST(COUNT(bi) AS Integer), CAST(COALESCE(SUM(bi.quantity), 0) AS Integer) " +
+           "FROM Order o LEFT JOIN o.user u LEFT JOIN o.bookItems bi " +
+           "WHERE NOT EXISTS (SELECT 1 FROM OrderSummary s WHERE s.id = o.id) " +
+           "GROUP BY o.id, u.id, u.email, o.orderDate, o.status, o.price")
+    int insertMissing();
+}
@@ -2,15 +2,67 @@ package com.epam.rd.autocode.spring.project.repo;
 
 import com.epam.rd.autocode.spring.project.model.User;
 import com.epam.rd.autocode.spring.project.model.enums.Role;
+import com.epam.rd.autocode.spring.project.repo.projection.UserBalanceView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    String REFUND = "com.epam.rd.autocode.spring.project.model.enums.LedgerEntryType.REFUND";
+
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
     List<User> findByRole(Role role);
+
+    // Balance plus the refunds not yet folded into it, read in one statement.
+    @Query("SELECT u.id AS id, u.balance + COALESCE((SELECT SUM(e.amount) FROM BalanceLedgerEntry e " +
+           "WHERE e.userId = u.id AND e.type = " + REFUND + " AND e.id > u.ledgerPosition), 0) AS balance " +
+           "FROM User u WHERE u.id IN :ids")
+    List<UserBalanceView> findCurrentBalances(@Param("ids") Collection<Long> ids);
+
+    // Guarded debit in one statement: the row lock it takes serializes payments on the account, and the
+    // unfolded refunds count towards the funds. Returns 0 when the user does not exist or cannot afford it.
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE User u SET u.balance = u.balance - :amount WHERE u.id = :id AND u.balance + " +
+           "COALESCE((SELECT SUM(e.amount) FROM BalanceLedgerEntry e " +
+           "WHERE e.userId = u.id AND e.type = " + REFUND + " AND e.id > u.ledgerPosition), 0) >= :amount")
+    int debitBalance(@Param("id") Long id, @Param("amount") BigDecimal amount);
+
+    // Folds the refunds in (ledgerPosition, watermark] into the balance. Both SET expressions read the old
+    // position, and a snapshot that already reached the watermark matches no row.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.balance = u.balance + COALESCE((SELECT SUM(e.amount) FROM BalanceLedgerEntry e " +
+           "WHERE e.userId = u.id AND e.type = " + REFUND + " AND e.id > u.ledgerPosition AND e.id <= :watermark), 0), " +
+           "u.ledgerPosition = :watermark WHERE u.id = :id AND u.ledgerPosition < :watermark")
+    int applySnapshot(@Param("id") Long id, @Param("watermark") Long watermark);
+
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.email = :email")
+    int updatePassword(@Param("email") String email, @Param("password") String password);
+
+    @Modifying
+    @Query("UPDATE User u SET u.failedLoginAttempts = :attempts, " +
+           "u.loginStateVersion = u.loginStateVersion + 1 WHERE u.id = :id")
+    int updateFailedLoginAttempts(@Param("id") Long id, @Param("attempts") int attempts);
+
+    // Write-behind counter: matches no row once a reset or lock has moved the version on.
+    @Modifying
+    @Query("UPDATE User u SET u.failedLoginAttempts = :attempts WHERE u.id = :id AND u.loginStateVersion = :version")
+    int flushFailedLoginAttempts(@Param("id") Long id, @Param("attempts") int attempts,
+                                 @Param("version") long version);
+
+    @Modifying
+    @Query("UPDATE User u SET u.isBlocked = :blocked, u.lockTime = :lockTime, u.failedLoginAttempts = :attempts, " +
+           "u.loginStateVersion = u.loginStateVersion + 1 WHERE u.id = :id")
+    int updateLockState(@Param("id") Long id, @Param("blocked") boolean blocked,
+                        @Param("lockTime") LocalDateTime lockTime, @Param("attempts") int attempts);
 }
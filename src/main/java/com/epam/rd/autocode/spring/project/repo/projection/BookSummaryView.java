@@ -0,0 +1,15 @@
+package com.epam.rd.autocode.spring.project.repo.projection;
+
+import com.epam.rd.autocode.spring.project.model.enums.Language;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface BookSummaryView {
+    Long getId();
+    String getName();
+    String getAuthor();
+    LocalDate getPublicationDate();
+    BigDecimal getPrice();
+    Language getLanguage();
+}
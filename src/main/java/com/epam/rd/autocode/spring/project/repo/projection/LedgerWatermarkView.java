@@ -0,0 +1,6 @@
+package com.epam.rd.autocode.spring.project.repo.projection;
+
+public interface LedgerWatermarkView {
+    Long getUserId();
+    Long getWatermark();
+}
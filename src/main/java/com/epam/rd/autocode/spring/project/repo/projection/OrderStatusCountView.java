@@ -0,0 +1,8 @@
+package com.epam.rd.autocode.spring.project.repo.projection;
+
+import com.epam.rd.autocode.spring.project.model.enums.Status;
+
+public interface OrderStatusCountView {
+    Status getStatus();
+    Long getOrders();
+}
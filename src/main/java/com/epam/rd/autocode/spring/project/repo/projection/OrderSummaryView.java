@@ -0,0 +1,15 @@
+package com.epam.rd.autocode.spring.project.repo.projection;
+
+import com.epam.rd.autocode.spring.project.model.enums.Status;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface OrderSummaryView {
+    Long getId();
+    String getUserEmail();
+    LocalDateTime getOrderDate();
+    BigDecimal getPrice();
+    Status getStatus();
+    Integer getItemCount();
+}
@@ -0,0 +1,8 @@
+package com.epam.rd.autocode.spring.project.repo.projection;
+
+import java.math.BigDecimal;
+
+public interface UserBalanceView {
+    Long getId();
+    BigDecimal getBalance();
+}
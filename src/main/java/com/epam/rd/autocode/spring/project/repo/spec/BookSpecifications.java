@@ -0,0 +1,87 @@
+package com.epam.rd.autocode.spring.project.repo.spec;
+
+import com.epam.rd.autocode.spring.project.catalog.CatalogQuery;
+import com.epam.rd.autocode.spring.project.catalog.CategoryMatch;
+import com.epam.rd.autocode.spring.project.model.Book;
+import com.epam.rd.autocode.spring.project.model.Category;
+import com.epam.rd.autocode.spring.project.pagination.BookCursor;
+import com.epam.rd.autocode.spring.project.pagination.BookSortKey;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class BookSpecifications {
+
+    private BookSpecifications() {
+    }
+
+    public static Specification<Book> matching(CatalogQuery query, String searchTerm) {
+        return (root, criteriaQuery, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (!query.categoryIds().isEmpty()) {
+                Subquery<Long> matchedCategories = criteriaQuery.subquery(Long.class);
+                Root<Book> book = matchedCategories.from(Book.class);
+                Join<Book, Category> category = book.join("categories");
+                matchedCategories.select(cb.count(category))
+                        .where(cb.equal(book, root), category.get("id").in(query.categoryIds()));
+                long required = query.categoryMatch() == CategoryMatch.ALL ? query.categoryIds().size() : 1;
+                predicates.add(cb.greaterThanOrEqualTo(matchedCategories, required));
+            }
+            if (query.language() != null) {
+                predicates.add(cb.equal(root.get("language"), query.language()));
+            }
+            if (query.ageGroup() != null) {
+                predicates.add(cb.equal(root.get("ageGroup"), query.ageGroup()));
+            }
+            if (query.minPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("price"), query.minPrice()));
+            }
+            if (query.maxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("price"), query.maxPrice()));
+            }
+            if (StringUtils.hasText(searchTerm)) {
+                String pattern = "%" + searchTerm.toLowerCase() + "%";
+                predicates.add(cb.or(
+                        cb.like(cb.lower(root.get("name")), pattern),
+                        cb.like(cb.lower(root.get("author")), pattern)));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    // Books that do (or do not) have a value for the sort property. Keyset pages read the two groups
+    // separately, so the order never depends on where the database sorts nulls.
+    public static Specification<Book> hasSortValue(BookSortKey sortKey, boolean present) {
+        return (root, criteriaQuery, cb) -> {
+            if (sortKey.property() == null) {
+                return present ? cb.conjunction() : cb.disjunction();
+            }
+            Path<Object> value = root.get(sortKey.property());
+            return present ? cb.isNotNull(value) : cb.isNull(value);
+        };
+    }
+
+    // Books past the cursor row in the scroll direction, within the cursor's group.
+    @SuppressWarnings("unchecked")
+    public static Specification<Book> beyond(BookCursor cursor) {
+        return (root, criteriaQuery, cb) -> {
+            Path<Long> id = root.get("id");
+            Predicate pastId = cursor.backward() ? cb.lessThan(id, cursor.id()) : cb.greaterThan(id, cursor.id());
+            if (cursor.key() == null) {
+                return pastId;
+            }
+            Path<Comparable<Object>> value = root.get(cursor.sortKey().property());
+            Comparable<Object> key = (Comparable<Object>) cursor.key();
+            boolean ascending = cursor.sortKey().direction().isAscending() != cursor.backward();
+            return cb.or(ascending ? cb.greaterThan(value, key) : cb.lessThan(value, key),
+                    cb.and(cb.equal(value, key), pastId));
+        };
+    }
+}
@@ -0,0 +1,124 @@
+package com.epam.rd.autocode.spring.project.security;
+
+import com.epam.rd.autocode.spring.project.exception.PasswordHashingUnavailableException;
+import com.epam.rd.autocode.spring.project.metrics.MetricsSource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Runs BCrypt on a small dedicated pool so a burst of logins or registrations cannot occupy every request thread.
+// Work beyond the pool and its bounded queue is refused at once with PasswordHashingUnavailableException (503)
+// instead of piling up. Hashes with a lower cost than the configured strength report upgradeEncoding, which
+// lets the authentication provider re-hash them on the next successful login.
+public class BoundedPasswordEncoder implements PasswordEncoder, MetricsSource {
+    private final BCryptPasswordEncoder delegate;
+    private final int strength;
+    private final ThreadPoolExecutor executor;
+
+    private final LongAdder hashes = new LongAdder();
+    private final LongAdder verifications = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder upgradesRequested = new LongAdder();
+    private final LongAdder workNanos = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+
+    public BoundedPasswordEncoder(int strength, int threads, int queueCapacity) {
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.strength = strength;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        hashes.increment();
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        verifications.increment();
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        boolean upgrade = delegate.upgradeEncoding(encodedPassword);
+        if (upgrade) {
+            upgradesRequested.increment();
+        }
+        return upgrade;
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public String metricsName() {
+        return "passwordEncoder";
+    }
+
+    @Override
+    public Map<String, Number> metrics() {
+        long operations = hashes.sum() + verifications.sum() - rejected.sum();
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        metrics.put("strength", strength);
+        metrics.put("hashes", hashes.sum());
+        metrics.put("verifications", verifications.sum());
+        metrics.put("rejected", rejected.sum());
+        metrics.put("upgradesRequested", upgradesRequested.sum());
+        metrics.put("hashLatencyMicros", operations <= 0 ? 0.0 : workNanos.sum() / 1000.0 / operations);
+        metrics.put("queueWaitMicros", operations <= 0 ? 0.0 : waitNanos.sum() / 1000.0 / operations);
+        metrics.put("queueDepth", executor.getQueue().size());
+        metrics.put("activeThreads", executor.getActiveCount());
+        return metrics;
+    }
+
+    private <T> T run(Callable<T> work) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long started = System.nanoTime();
+                waitNanos.add(started - submitted);
+                try {
+                    return work.call();
+                } finally {
+                    workNanos.add(System.nanoTime() - started);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingUnavailableException("The server is busy. Please try again in a moment.");
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException("Password check was interrupted.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
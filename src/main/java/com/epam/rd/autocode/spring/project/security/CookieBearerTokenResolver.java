@@ -8,8 +8,14 @@ import org.springframework.util.StringUtils;
 
 @Component
 public class CookieBearerTokenResolver implements BearerTokenResolver {
+    // Set by JwtRefreshFilter when it refreshed the tokens earlier in the same request.
+    public static final String REFRESHED_TOKEN_ATTRIBUTE = CookieBearerTokenResolver.class.getName() + ".refreshed";
+
     @Override
     public String resolve(HttpServletRequest request) {
+        if (request.getAttribute(REFRESHED_TOKEN_ATTRIBUTE) instanceof String refreshed) {
+            return refreshed;
+        }
         if (request.getCookies() != null) {
             for (Cookie cookie : request.getCookies()) {
                 if ("JWT_TOKEN".equals(cookie.getName())) {
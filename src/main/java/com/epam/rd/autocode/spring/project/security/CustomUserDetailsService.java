@@ -2,30 +2,47 @@ package com.epam.rd.autocode.spring.project.security;
 
 import com.epam.rd.autocode.spring.project.repo.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Set;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+    private final UserSecurityStateCache securityStateCache;
     private final UserRepository userRepository;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return userRepository.findByEmail(username)
-                .map(user -> new CustomUserDetails(
-                        user.getId(),
-                        user.getEmail(),
-                        user.getPassword(),
-                        Set.of(new SimpleGrantedAuthority(user.getRole().name())),
-                        user.getLockTime(),
-                        user.getIsBlocked()
+        return securityStateCache.get(username)
+                .map(state -> new CustomUserDetails(
+                        state.id(),
+                        state.email(),
+                        state.password(),
+                        Set.of(new SimpleGrantedAuthority(state.role().name())),
+                        state.lockTime(),
+                        state.blocked()
                 ))
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + username));
     }
+
+    // Called by the authentication provider after a successful login when the stored hash uses a lower cost.
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        securityStateCache.evict(user.getUsername());
+        log.info("Password hash upgraded for user: {}", user.getUsername());
+        CustomUserDetails details = (CustomUserDetails) user;
+        return new CustomUserDetails(details.getId(), details.getUsername(), newPassword, details.getAuthorities(),
+                details.getLockTime(), details.isBlocked());
+    }
 }
@@ -0,0 +1,103 @@
+package com.epam.rd.autocode.spring.project.security;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Single-node refresh token store. Entries live as long as the refresh token; expired ones are dropped when
+// read and swept from the maps at most once per grace period, which also forgets successors past their grace.
+// Both registering and rotating check whether a sweep is due, so the maps are swept also while nobody signs in.
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+    private final Map<String, TokenEntry> tokens = new ConcurrentHashMap<>();
+    private final Map<String, Long> revokedFamilies = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final long graceNanos;
+    private final AtomicLong nextSweep;
+
+    public InMemoryRefreshTokenStore(Duration ttl, Duration grace) {
+        this.ttlNanos = ttl.toNanos();
+        this.graceNanos = grace.toNanos();
+        this.nextSweep = new AtomicLong(System.nanoTime() + graceNanos);
+    }
+
+    @Override
+    public void register(String tokenId, String familyId) {
+        long now = System.nanoTime();
+        tokens.put(tokenId, TokenEntry.unused(familyId, now + ttlNanos));
+        sweepIfDue(now);
+    }
+
+    @Override
+    public RefreshRotation rotate(String tokenId, String familyId, String nextTokenId, TokenPair successor) {
+        long now = System.nanoTime();
+        if (isRevoked(familyId, now)) {
+            return RefreshRotation.of(RefreshRotation.Outcome.REVOKED);
+        }
+        RefreshRotation[] result = new RefreshRotation[1];
+        tokens.compute(tokenId, (id, entry) -> {
+            if (entry == null || entry.isExpired(now) || !entry.familyId().equals(familyId)) {
+                result[0] = RefreshRotation.of(RefreshRotation.Outcome.UNKNOWN);
+                return entry == null || entry.isExpired(now) ? null : entry;
+            }
+            if (!entry.used()) {
+                result[0] = new RefreshRotation(RefreshRotation.Outcome.ROTATED, successor);
+                return new TokenEntry(familyId, entry.expiresAt(), true, successor, now + graceNanos);
+            }
+            if (entry.isInGrace(now)) {
+                result[0] = new RefreshRotation(RefreshRotation.Outcome.ALREADY_ROTATED, entry.successor());
+            } else {
+                result[0] = RefreshRotation.of(RefreshRotation.Outcome.REUSED);
+            }
+            return entry;
+        });
+        switch (result[0].outcome()) {
+            case ROTATED -> tokens.put(nextTokenId, TokenEntry.unused(familyId, now + ttlNanos));
+            case REUSED -> revokeFamily(familyId);
+            default -> {
+            }
+        }
+        sweepIfDue(now);
+        return result[0];
+    }
+
+    @Override
+    public void revokeFamily(String familyId) {
+        revokedFamilies.put(familyId, System.nanoTime() + ttlNanos);
+    }
+
+    int size() {
+        return tokens.size();
+    }
+
+    private boolean isRevoked(String familyId, long now) {
+        Long until = revokedFamilies.get(familyId);
+        return until != null && until - now > 0;
+    }
+
+    private void sweepIfDue(long now) {
+        long sweepAt = nextSweep.get();
+        if (now - sweepAt >= 0 && nextSweep.compareAndSet(sweepAt, now + graceNanos)) {
+            tokens.values().removeIf(entry -> entry.isExpired(now));
+            // Issued tokens are only needed to answer requests within the grace period.
+            tokens.replaceAll((id, entry) -> entry.used() && !entry.isInGrace(now) && entry.successor() != null
+                    ? new TokenEntry(entry.familyId(), entry.expiresAt(), true, null, 0)
+                    : entry);
+            revokedFamilies.values().removeIf(until -> until - now <= 0);
+        }
+    }
+
+    private record TokenEntry(String familyId, long expiresAt, boolean used, TokenPair successor, long graceUntil) {
+        static TokenEntry unused(String familyId, long expiresAt) {
+            return new TokenEntry(familyId, expiresAt, false, null, 0);
+        }
+
+        boolean isInGrace(long now) {
+            return successor != null && graceUntil - now > 0;
+        }
+
+        boolean isExpired(long now) {
+            return expiresAt - now <= 0;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.epam.rd.autocode.spring.project.security;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+// Single-node counter. Each key has a ring of slots; a slot packs its slot number and its count into one long,
+// so increments and slot turnover are a single CAS without locks. Keys idle for a whole window are swept at
+// most once per window.
+public class InMemorySlidingWindowCounter implements SlidingWindowCounter {
+    private static final int COUNT_BITS = 20;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    private final LongSupplier nanoClock;
+    private final long origin;
+    private final long slotNanos;
+    private final AtomicLong nextSweepSlot = new AtomicLong(SLOTS);
+
+    public InMemorySlidingWindowCounter(Duration window) {
+        this(window, System::nanoTime);
+    }
+
+    InMemorySlidingWindowCounter(Duration window, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.origin = nanoClock.getAsLong();
+        this.slotNanos = Math.max(1, window.toNanos() / SLOTS);
+    }
+
+    @Override
+    public long incrementAndCount(String key) {
+        long slot = currentSlot();
+        long count = windows.computeIfAbsent(key, k -> new Window()).incrementAndCount(slot);
+        sweepIfDue(slot);
+        return count;
+    }
+
+    int size() {
+        return windows.size();
+    }
+
+    private long currentSlot() {
+        return (nanoClock.getAsLong() - origin) / slotNanos;
+    }
+
+    private void sweepIfDue(long slot) {
+        long sweepAt = nextSweepSlot.get();
+        if (slot >= sweepAt && nextSweepSlot.compareAndSet(sweepAt, slot + SLOTS)) {
+            windows.values().removeIf(window -> window.isIdle(slot));
+        }
+    }
+
+    private static final class Window {
+        private final AtomicLongArray cells = new AtomicLongArray(SLOTS);
+
+        long incrementAndCount(long slot) {
+            int index = (int) (slot % SLOTS);
+            while (true) {
+                long cell = cells.get(index);
+                long next = (cell >>> COUNT_BITS) == slot
+                        ? cell + Math.min(1, COUNT_MASK - (cell & COUNT_MASK))
+                        : (slot << COUNT_BITS) | 1;
+                if (cells.compareAndSet(index, cell, next)) {
+                    break;
+                }
+            }
+            long total = 0;
+            for (int i = 0; i < SLOTS; i++) {
+                long cell = cells.get(i);
+                if (slot - (cell >>> COUNT_BITS) < SLOTS) {
+                    total += cell & COUNT_MASK;
+                }
+            }
+            return total;
+        }
+
+        boolean isIdle(long slot) {
+            for (int i = 0; i < SLOTS; i++) {
+                long cell = cells.get(i);
+                if ((cell & COUNT_MASK) != 0 && slot - (cell >>> COUNT_BITS) < SLOTS) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -1,9 +1,8 @@
 package com.epam.rd.autocode.spring.project.security;
 
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
@@ -15,9 +14,12 @@ import java.util.stream.Collectors;
 
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class JwtTokenProvider {
-    @Value("${jwt.secret}")
-    private String secretKey;
+    public static final String TOKEN_ID_CLAIM = "tid";
+    public static final String FAMILY_ID_CLAIM = "fid";
+
+    private final JwtVerifier jwtVerifier;
 
     @Value("${jwt.expiration}")
     private long jwtExpirationInMs;
@@ -39,11 +41,12 @@ public class JwtTokenProvider {
                 .claims(claims.build())
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey)), Jwts.SIG.HS256)
+                .signWith(jwtVerifier.key(), Jwts.SIG.HS256)
                 .compact();
     }
 
-    public String generateRefreshToken(Authentication authentication) {
+    // tokenId identifies this refresh token in the RefreshTokenStore, familyId the login session it was rotated from.
+    public String generateRefreshToken(Authentication authentication, String tokenId, String familyId) {
         String authorities = authentication.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
                 .collect(Collectors.joining(","));
@@ -51,23 +54,21 @@ public class JwtTokenProvider {
         ClaimsBuilder claims = Jwts.claims().subject(authentication.getName()).id(user.getId().toString());
         claims.add("role", authorities);
         claims.add("type", "refresh");
+        claims.add(TOKEN_ID_CLAIM, tokenId);
+        claims.add(FAMILY_ID_CLAIM, familyId);
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + refreshTokenExpirationInMs);
         return Jwts.builder()
                 .claims(claims.build())
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey)), Jwts.SIG.HS256)
+                .signWith(jwtVerifier.key(), Jwts.SIG.HS256)
                 .compact();
     }
 
     public boolean validateRefreshToken(String token) {
         try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey)))
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            Claims claims = jwtVerifier.verify(token);
 
             String tokenType = (String) claims.get("type");
             if (!"refresh".equals(tokenType)) {
@@ -104,11 +105,7 @@ public class JwtTokenProvider {
     @Deprecated
     public boolean validateAccessToken(String token) {
         try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey)))
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            Claims claims = jwtVerifier.verify(token);
             String tokenType = (String) claims.get("type");
             if (!"access".equals(tokenType)) {
                 log.warn("Token is not an access token");
@@ -143,11 +140,7 @@ public class JwtTokenProvider {
 
     public String getUsernameFromToken(String token) {
         try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey)))
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            Claims claims = jwtVerifier.verify(token);
             return claims.getSubject();
         } catch (ExpiredJwtException e) {
             log.warn("Cannot extract username from expired token");
@@ -0,0 +1,116 @@
+package com.epam.rd.autocode.spring.project.security;
+
+import com.epam.rd.autocode.spring.project.metrics.MetricsSource;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// The one place tokens are signed and verified. The key and parser are built once, and verified claims are kept
+// in a bounded LRU keyed by a SHA-256 of the token until the token expires, so the refresh filter and the
+// resource server decoder share a single HMAC check per token instead of repeating it on every request.
+@Component
+public class JwtVerifier implements MetricsSource {
+    private final SecretKey key;
+    private final JwtParser parser;
+    private final Map<String, VerifiedToken> verified;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder verifications = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    public JwtVerifier(@Value("${jwt.secret}") String secret,
+                       @Value("${jwt.verified-cache.max-entries:10000}") int maxEntries) {
+        this.key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.verified = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public SecretKey key() {
+        return key;
+    }
+
+    // Returns the claims of a token with a valid signature that has not expired; throws JwtException otherwise.
+    public Claims verify(String token) {
+        String hash = hash(token);
+        long now = System.currentTimeMillis();
+        synchronized (verified) {
+            VerifiedToken cached = verified.get(hash);
+            if (cached != null && cached.expiresAt() > now) {
+                hits.increment();
+                return cached.claims();
+            }
+            if (cached != null) {
+                verified.remove(hash);
+            }
+        }
+        verifications.increment();
+        Claims claims;
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            rejections.increment();
+            throw e;
+        }
+        // Tokens without an expiry are still verified, just never cached.
+        if (claims.getExpiration() != null) {
+            synchronized (verified) {
+                verified.put(hash, new VerifiedToken(claims, claims.getExpiration().getTime()));
+            }
+        }
+        return claims;
+    }
+
+    @Override
+    public String metricsName() {
+        return "jwtVerifier";
+    }
+
+    @Override
+    public Map<String, Number> metrics() {
+        long lookups = hits.sum() + verifications.sum();
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        metrics.put("cacheHits", hits.sum());
+        metrics.put("verifications", verifications.sum());
+        metrics.put("rejections", rejections.sum());
+        metrics.put("hitRatio", lookups == 0 ? 0.0 : (double) hits.sum() / lookups);
+        metrics.put("size", size());
+        return metrics;
+    }
+
+    int size() {
+        synchronized (verified) {
+            return verified.size();
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record VerifiedToken(Claims claims, long expiresAt) {
+    }
+}
@@ -0,0 +1,64 @@
+package com.epam.rd.autocode.spring.project.security;
+
+import com.epam.rd.autocode.spring.project.metrics.MetricsSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Caps login attempts per client IP and per email over a sliding window. It is checked before the password is
+// hashed, so a credential-stuffing burst is turned away without BCrypt work or failed-attempt writes.
+@Slf4j
+@Component
+public class LoginRateLimiter implements MetricsSource {
+    private final SlidingWindowCounter counter;
+    private final int maxPerEmail;
+    private final int maxPerIp;
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejectedByIp = new LongAdder();
+    private final LongAdder rejectedByEmail = new LongAdder();
+
+    public LoginRateLimiter(SlidingWindowCounter counter,
+                            @Value("${security.login-rate-limit.per-email:10}") int maxPerEmail,
+                            @Value("${security.login-rate-limit.per-ip:50}") int maxPerIp) {
+        this.counter = counter;
+        this.maxPerEmail = maxPerEmail;
+        this.maxPerIp = maxPerIp;
+    }
+
+    // Records the attempt and returns false when the IP or the email is over its limit.
+    public boolean tryAcquire(String email, String clientIp) {
+        if (clientIp != null && counter.incrementAndCount("ip:" + clientIp) > maxPerIp) {
+            rejectedByIp.increment();
+            log.debug("Login attempt rejected by the per-IP limit: {}", clientIp);
+            return false;
+        }
+        if (email != null && counter.incrementAndCount("email:" + email.toLowerCase(Locale.ROOT)) > maxPerEmail) {
+            rejectedByEmail.increment();
+            log.debug("Login attempt rejected by the per-email limit: {}", email);
+            return false;
+        }
+        allowed.increment();
+        return true;
+    }
+
+    @Override
+    public String metricsName() {
+        return "loginRateLimiter";
+    }
+
+    @Override
+    public Map<String, Number> metrics() {
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        metrics.put("allowed", allowed.sum());
+        metrics.put("rejectedByIp", rejectedByIp.sum());
+        metrics.put("rejectedByEmail", rejectedByEmail.sum());
+        metrics.put("rejected", rejectedByIp.sum() + rejectedByEmail.sum());
+        return metrics;
+    }
+}
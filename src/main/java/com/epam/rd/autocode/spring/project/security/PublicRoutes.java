@@ -0,0 +1,38 @@
+package com.epam.rd.autocode.spring.project.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+import static com.epam.rd.autocode.spring.project.security.RouteClassifier.Route.any;
+import static com.epam.rd.autocode.spring.project.security.RouteClassifier.Route.get;
+
+// The one list of routes open to anonymous users. SecurityConfig permits them and JwtRefreshFilter skips them.
+@Component
+public class PublicRoutes implements RequestMatcher {
+    static final List<RouteClassifier.Route> ROUTES = List.of(
+            any("/css/**"),
+            any("/js/**"),
+            any("/images/**"),
+            any("/img/**"),
+            any("/favicon.ico"),
+            any("/error"),
+            any("/h2-console/**"),
+            any("/register"),
+            any("/login"),
+            any("/"),
+            any("/api/auth/refresh"),
+            get("/categories"),
+            get("/books/**"),
+            any("/cart/**")
+    );
+
+    private final RouteClassifier classifier = new RouteClassifier(ROUTES);
+
+    @Override
+    public boolean matches(HttpServletRequest request) {
+        return classifier.matches(request.getMethod(), request.getRequestURI(), request.getContextPath().length());
+    }
+}
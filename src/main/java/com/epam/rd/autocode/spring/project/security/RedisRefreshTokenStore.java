@@ -0,0 +1,105 @@
+package com.epam.rd.autocode.spring.project.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+
+// Refresh tokens shared by every node. Each token is a hash under refresh:token:{id} holding its family and a used
+// flag; the tokens issued by its rotation are kept under refresh:grace:{id} only for the grace period. Registration
+// and rotation each run as one Lua script, so a token never exists without its expiry and two nodes cannot both
+// rotate the same token. A Redis failure fails the refresh, so
+// the user signs in again rather than keeping a token that could not be checked.
+@Slf4j
+public class RedisRefreshTokenStore implements RefreshTokenStore {
+    static final String TOKEN_PREFIX = "refresh:token:";
+    static final String GRACE_PREFIX = "refresh:grace:";
+    static final String REVOKED_PREFIX = "refresh:revoked:";
+
+    private static final RedisScript<Long> REGISTER = new DefaultRedisScript<>("""
+            redis.call('HSET', KEYS[1], 'family', ARGV[1])
+            return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            """, Long.class);
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> ROTATE = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[3]) == 1 then
+                return {'REVOKED'}
+            end
+            local family = redis.call('HGET', KEYS[1], 'family')
+            if family ~= ARGV[1] then
+                return {'UNKNOWN'}
+            end
+            if redis.call('HGET', KEYS[1], 'used') == '1' then
+                local issued = redis.call('HMGET', KEYS[4], 'access', 'refresh')
+                if issued[1] then
+                    return {'ALREADY_ROTATED', issued[1], issued[2]}
+                end
+                redis.call('SET', KEYS[3], '1', 'PX', ARGV[5])
+                return {'REUSED'}
+            end
+            redis.call('HSET', KEYS[1], 'used', '1')
+            redis.call('HSET', KEYS[4], 'access', ARGV[2], 'refresh', ARGV[3])
+            redis.call('PEXPIRE', KEYS[4], ARGV[4])
+            redis.call('HSET', KEYS[2], 'family', ARGV[1])
+            redis.call('PEXPIRE', KEYS[2], ARGV[5])
+            return {'ROTATED'}
+            """, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration ttl;
+    private final Duration grace;
+
+    public RedisRefreshTokenStore(StringRedisTemplate redisTemplate, Duration ttl, Duration grace) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = ttl;
+        this.grace = grace;
+    }
+
+    @Override
+    public void register(String tokenId, String familyId) {
+        try {
+            redisTemplate.execute(REGISTER, List.of(TOKEN_PREFIX + tokenId), familyId, String.valueOf(ttl.toMillis()));
+        } catch (DataAccessException e) {
+            log.warn("Refresh token registration failed: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public RefreshRotation rotate(String tokenId, String familyId, String nextTokenId, TokenPair successor) {
+        List<?> result;
+        try {
+            result = redisTemplate.execute(ROTATE,
+                    List.of(TOKEN_PREFIX + tokenId, TOKEN_PREFIX + nextTokenId, REVOKED_PREFIX + familyId,
+                            GRACE_PREFIX + tokenId),
+                    familyId, successor.accessToken(), successor.refreshToken(),
+                    String.valueOf(grace.toMillis()), String.valueOf(ttl.toMillis()));
+        } catch (DataAccessException e) {
+            log.warn("Refresh token rotation failed: {}", e.getMessage());
+            return RefreshRotation.of(RefreshRotation.Outcome.UNKNOWN);
+        }
+        if (result == null || result.isEmpty()) {
+            return RefreshRotation.of(RefreshRotation.Outcome.UNKNOWN);
+        }
+        RefreshRotation.Outcome outcome = RefreshRotation.Outcome.valueOf(result.get(0).toString());
+        return switch (outcome) {
+            case ROTATED -> new RefreshRotation(outcome, successor);
+            case ALREADY_ROTATED -> new RefreshRotation(outcome,
+                    new TokenPair(result.get(1).toString(), result.get(2).toString()));
+            default -> RefreshRotation.of(outcome);
+        };
+    }
+
+    @Override
+    public void revokeFamily(String familyId) {
+        try {
+            redisTemplate.opsForValue().set(REVOKED_PREFIX + familyId, "1", ttl);
+        } catch (DataAccessException e) {
+            log.warn("Refresh token family revocation failed: {}", e.getMessage());
+        }
+    }
+}
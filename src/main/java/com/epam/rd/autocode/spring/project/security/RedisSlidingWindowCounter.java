@@ -0,0 +1,57 @@
+package com.epam.rd.autocode.spring.project.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+
+// Counter shared by every node: a hash per key under login-limit:{key} with one field per wall-clock slot,
+// updated and summed by one Lua script. A Redis failure is logged and counts as zero, so logins are not
+// blocked while Redis is unavailable.
+@Slf4j
+public class RedisSlidingWindowCounter implements SlidingWindowCounter {
+    static final String KEY_PREFIX = "login-limit:";
+
+    private static final RedisScript<Long> INCREMENT_AND_COUNT = new DefaultRedisScript<>("""
+            local slot = tonumber(ARGV[1])
+            redis.call('HINCRBY', KEYS[1], ARGV[1], 1)
+            redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            local cells = redis.call('HGETALL', KEYS[1])
+            local total = 0
+            for i = 1, #cells, 2 do
+                if slot - tonumber(cells[i]) < tonumber(ARGV[3]) then
+                    total = total + tonumber(cells[i + 1])
+                else
+                    redis.call('HDEL', KEYS[1], cells[i])
+                end
+            end
+            return total
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration window;
+    private final long slotMillis;
+
+    public RedisSlidingWindowCounter(StringRedisTemplate redisTemplate, Duration window) {
+        this.redisTemplate = redisTemplate;
+        this.window = window;
+        this.slotMillis = Math.max(1, window.toMillis() / SLOTS);
+    }
+
+    @Override
+    public long incrementAndCount(String key) {
+        long slot = System.currentTimeMillis() / slotMillis;
+        try {
+            Long count = redisTemplate.execute(INCREMENT_AND_COUNT, List.of(KEY_PREFIX + key),
+                    String.valueOf(slot), String.valueOf(window.toMillis()), String.valueOf(SLOTS));
+            return count != null ? count : 0;
+        } catch (DataAccessException e) {
+            log.warn("Login rate limit check failed, allowing the attempt: {}", e.getMessage());
+            return 0;
+        }
+    }
+}
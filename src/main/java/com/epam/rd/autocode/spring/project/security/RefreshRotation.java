@@ -0,0 +1,18 @@
+package com.epam.rd.autocode.spring.project.security;
+
+// Result of presenting a refresh token to the RefreshTokenStore. The successor is set for ROTATED and
+// ALREADY_ROTATED, where a concurrent request within the grace period receives the tokens issued by the first one.
+public record RefreshRotation(Outcome outcome, TokenPair successor) {
+
+    public enum Outcome {
+        ROTATED,
+        ALREADY_ROTATED,
+        REUSED,
+        REVOKED,
+        UNKNOWN
+    }
+
+    public static RefreshRotation of(Outcome outcome) {
+        return new RefreshRotation(outcome, null);
+    }
+}
@@ -0,0 +1,156 @@
+package com.epam.rd.autocode.spring.project.security;
+
+import com.epam.rd.autocode.spring.project.metrics.MetricsSource;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Issues token pairs at login and rotates them on refresh. Concurrent refreshes of the same token on this node
+// wait for the first one and share its result; across nodes the store hands out the same successor during the
+// grace period, so a burst of requests carrying one expired access token causes a single rotation.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RefreshTokenService implements MetricsSource {
+    private final JwtTokenProvider jwtTokenProvider;
+    private final JwtVerifier jwtVerifier;
+    private final RefreshTokenStore refreshTokenStore;
+    private final UserDetailsService userDetailsService;
+
+    private final Map<String, CompletableFuture<Optional<TokenPair>>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder issued = new LongAdder();
+    private final LongAdder rotations = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder graceReplays = new LongAdder();
+    private final LongAdder reuseDetected = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    // Starts a new token family for a freshly authenticated user.
+    public TokenPair issue(Authentication authentication) {
+        String tokenId = UUID.randomUUID().toString();
+        String familyId = UUID.randomUUID().toString();
+        TokenPair tokens = new TokenPair(jwtTokenProvider.generateToken(authentication),
+                jwtTokenProvider.generateRefreshToken(authentication, tokenId, familyId));
+        refreshTokenStore.register(tokenId, familyId);
+        issued.increment();
+        return tokens;
+    }
+
+    // Returns the new token pair, or empty when the refresh token is invalid, reused, revoked or its user is locked.
+    public Optional<TokenPair> refresh(String refreshToken) {
+        Claims claims = verifyRefreshToken(refreshToken);
+        if (claims == null) {
+            rejected.increment();
+            return Optional.empty();
+        }
+        String tokenId = claims.get(JwtTokenProvider.TOKEN_ID_CLAIM, String.class);
+        CompletableFuture<Optional<TokenPair>> own = new CompletableFuture<>();
+        CompletableFuture<Optional<TokenPair>> running = inFlight.putIfAbsent(tokenId, own);
+        if (running != null) {
+            coalesced.increment();
+            return running.join();
+        }
+        Optional<TokenPair> result = Optional.empty();
+        try {
+            result = rotate(claims, tokenId);
+            return result;
+        } finally {
+            own.complete(result);
+            inFlight.remove(tokenId, own);
+        }
+    }
+
+    public void revoke(String refreshToken) {
+        Claims claims = verifyRefreshToken(refreshToken);
+        if (claims != null) {
+            refreshTokenStore.revokeFamily(claims.get(JwtTokenProvider.FAMILY_ID_CLAIM, String.class));
+        }
+    }
+
+    @Override
+    public String metricsName() {
+        return "refreshTokens";
+    }
+
+    @Override
+    public Map<String, Number> metrics() {
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        metrics.put("issued", issued.sum());
+        metrics.put("rotations", rotations.sum());
+        metrics.put("coalesced", coalesced.sum());
+        metrics.put("graceReplays", graceReplays.sum());
+        metrics.put("reuseDetected", reuseDetected.sum());
+        metrics.put("rejected", rejected.sum());
+        metrics.put("inFlight", inFlight.size());
+        return metrics;
+    }
+
+    private Optional<TokenPair> rotate(Claims claims, String tokenId) {
+        String username = claims.getSubject();
+        String familyId = claims.get(JwtTokenProvider.FAMILY_ID_CLAIM, String.class);
+        UserDetails userDetails;
+        try {
+            userDetails = userDetailsService.loadUserByUsername(username);
+        } catch (UsernameNotFoundException e) {
+            log.warn("Refresh token presented for unknown user: {}", username);
+            refreshTokenStore.revokeFamily(familyId);
+            rejected.increment();
+            return Optional.empty();
+        }
+        if (!userDetails.isAccountNonLocked() || !userDetails.isEnabled()) {
+            log.warn("User account is locked or disabled: {}", username);
+            refreshTokenStore.revokeFamily(familyId);
+            rejected.increment();
+            return Optional.empty();
+        }
+
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                userDetails, null, userDetails.getAuthorities());
+        String nextTokenId = UUID.randomUUID().toString();
+        TokenPair next = new TokenPair(jwtTokenProvider.generateToken(authentication),
+                jwtTokenProvider.generateRefreshToken(authentication, nextTokenId, familyId));
+
+        RefreshRotation rotation = refreshTokenStore.rotate(tokenId, familyId, nextTokenId, next);
+        switch (rotation.outcome()) {
+            case ROTATED -> rotations.increment();
+            case ALREADY_ROTATED -> graceReplays.increment();
+            case REUSED -> {
+                reuseDetected.increment();
+                log.warn("Refresh token reuse detected for user {}, revoking the session", username);
+            }
+            default -> rejected.increment();
+        }
+        return Optional.ofNullable(rotation.successor());
+    }
+
+    private Claims verifyRefreshToken(String refreshToken) {
+        try {
+            Claims claims = jwtVerifier.verify(refreshToken);
+            if (!"refresh".equals(claims.get("type"))
+                    || claims.get(JwtTokenProvider.TOKEN_ID_CLAIM) == null
+                    || claims.get(JwtTokenProvider.FAMILY_ID_CLAIM) == null) {
+                return null;
+            }
+            return claims;
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Refresh token rejected: {}", e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.epam.rd.autocode.spring.project.security;
+
+// Tracks refresh tokens by token id, grouped into families that start at login. A token can be rotated once;
+// presenting it again after the grace period is treated as theft and revokes the whole family.
+public interface RefreshTokenStore {
+    void register(String tokenId, String familyId);
+
+    // Atomically marks tokenId used and registers nextTokenId in the same family, or reports why it cannot.
+    RefreshRotation rotate(String tokenId, String familyId, String nextTokenId, TokenPair successor);
+
+    void revokeFamily(String familyId);
+}
@@ -0,0 +1,112 @@
+package com.epam.rd.autocode.spring.project.security;
+
+import org.springframework.http.HttpMethod;
+
+import java.util.List;
+
+// Matches request paths against a fixed route table with a character trie built once at startup, so a lookup is
+// one walk over the path with no allocation. A pattern is either an exact path ("/login") or a path followed by
+// "/**", which like Spring's matchers covers the path itself and everything below it. Routes may be limited to
+// one HTTP method.
+public final class RouteClassifier {
+    private static final int ANY_METHOD = -1;
+
+    private final Node root = new Node();
+
+    public record Route(String pattern, HttpMethod method) {
+
+        public static Route any(String pattern) {
+            return new Route(pattern, null);
+        }
+
+        public static Route get(String pattern) {
+            return new Route(pattern, HttpMethod.GET);
+        }
+    }
+
+    public RouteClassifier(List<Route> routes) {
+        for (Route route : routes) {
+            add(route);
+        }
+    }
+
+    // Matches path.substring(offset) without creating it, so a context path can be skipped for free.
+    public boolean matches(String method, String path, int offset) {
+        int methodBit = methodBit(method);
+        Node node = root;
+        for (int i = offset; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (c == '/' && (node.prefixMethods & methodBit) != 0) {
+                return true;
+            }
+            node = node.child(c);
+            if (node == null) {
+                return false;
+            }
+        }
+        return ((node.exactMethods | node.prefixMethods) & methodBit) != 0;
+    }
+
+    private void add(Route route) {
+        String pattern = route.pattern();
+        boolean prefix = pattern.endsWith("/**");
+        String path = prefix ? pattern.substring(0, pattern.length() - 3) : pattern;
+        if (!path.startsWith("/") && !path.isEmpty()) {
+            throw new IllegalArgumentException("Route pattern must start with '/': " + pattern);
+        }
+        if (path.contains("*")) {
+            throw new IllegalArgumentException("Only exact paths and trailing '/**' are supported: " + pattern);
+        }
+        Node node = root;
+        for (int i = 0; i < path.length(); i++) {
+            node = node.childOrCreate(path.charAt(i));
+        }
+        int methods = route.method() == null ? ANY_METHOD : methodBit(route.method().name());
+        if (prefix) {
+            node.prefixMethods |= methods;
+        } else {
+            node.exactMethods |= methods;
+        }
+    }
+
+    private static int methodBit(String method) {
+        return switch (method) {
+            case "GET" -> 1;
+            case "HEAD" -> 1 << 1;
+            case "POST" -> 1 << 2;
+            case "PUT" -> 1 << 3;
+            case "PATCH" -> 1 << 4;
+            case "DELETE" -> 1 << 5;
+            case "OPTIONS" -> 1 << 6;
+            case "TRACE" -> 1 << 7;
+            default -> 1 << 8;
+        };
+    }
+
+    // Children are indexed directly by character; route tables only use ASCII paths.
+    private static final class Node {
+        private static final int FANOUT = 128;
+
+        private Node[] children;
+        private int exactMethods;
+        private int prefixMethods;
+
+        Node child(char c) {
+            Node[] children = this.children;
+            return children != null && c < FANOUT ? children[c] : null;
+        }
+
+        Node childOrCreate(char c) {
+            if (c >= FANOUT) {
+                throw new IllegalArgumentException("Route patterns must be ASCII: " + c);
+            }
+            if (children == null) {
+                children = new Node[FANOUT];
+            }
+            if (children[c] == null) {
+                children[c] = new Node();
+            }
+            return children[c];
+        }
+    }
+}
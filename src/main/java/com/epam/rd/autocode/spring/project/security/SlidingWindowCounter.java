@@ -0,0 +1,9 @@
+package com.epam.rd.autocode.spring.project.security;
+
+// Counts events per key over a sliding window made of a fixed number of sub-window slots.
+public interface SlidingWindowCounter {
+    int SLOTS = 10;
+
+    // Records one event for the key and returns the number of events in the window, including this one.
+    long incrementAndCount(String key);
+}
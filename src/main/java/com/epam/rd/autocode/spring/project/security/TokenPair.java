@@ -0,0 +1,4 @@
+package com.epam.rd.autocode.spring.project.security;
+
+public record TokenPair(String accessToken, String refreshToken) {
+}
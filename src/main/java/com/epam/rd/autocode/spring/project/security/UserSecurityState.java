@@ -0,0 +1,42 @@
+package com.epam.rd.autocode.spring.project.security;
+
+import com.epam.rd.autocode.spring.project.model.User;
+import com.epam.rd.autocode.spring.project.model.enums.Role;
+
+import java.time.LocalDateTime;
+
+// The part of a user the authentication path reads: credentials, role and lock state, plus the version of that
+// state in the row, which every lock and reset write moves on by one.
+public record UserSecurityState(Long id, String email, String password, Role role, boolean blocked,
+                                LocalDateTime lockTime, int failedAttempts, long version) {
+
+    public static UserSecurityState of(User user) {
+        return new UserSecurityState(user.getId(), user.getEmail(), user.getPassword(), user.getRole(),
+                Boolean.TRUE.equals(user.getIsBlocked()), user.getLockTime(),
+                user.getFailedLoginAttempts() != null ? user.getFailedLoginAttempts() : 0,
+                user.getLoginStateVersion() != null ? user.getLoginStateVersion() : 0L);
+    }
+
+    // A temporary lock whose time has passed no longer counts.
+    public boolean isLocked(LocalDateTime now) {
+        return blocked && (lockTime == null || lockTime.isAfter(now));
+    }
+
+    public boolean hasExpiredLock(LocalDateTime now) {
+        return blocked && lockTime != null && !lockTime.isAfter(now);
+    }
+
+    // Lock changes are stored with UserRepository.updateLockState, which bumps the version.
+    public UserSecurityState withLock(boolean blocked, LocalDateTime lockTime, int failedAttempts) {
+        return new UserSecurityState(id, email, password, role, blocked, lockTime, failedAttempts, version + 1);
+    }
+
+    // Stored with UserRepository.updateFailedLoginAttempts, which bumps the version.
+    public UserSecurityState withResetAttempts() {
+        return new UserSecurityState(id, email, password, role, blocked, lockTime, 0, version + 1);
+    }
+
+    public UserSecurityState withFailedAttempts(int failedAttempts) {
+        return new UserSecurityState(id, email, password, role, blocked, lockTime, failedAttempts, version);
+    }
+}
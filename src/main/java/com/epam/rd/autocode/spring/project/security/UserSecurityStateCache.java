@@ -0,0 +1,183 @@
+package com.epam.rd.autocode.spring.project.security;
+
+import com.epam.rd.autocode.spring.project.metrics.MetricsSource;
+import com.epam.rd.autocode.spring.project.repo.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+// Per-user security state for logins and refreshes, kept in a bounded LRU keyed by email. Entries expire after
+// a short TTL so a block made on another node is picked up. Failed-attempt counters below the lock threshold
+// are written behind: they are queued here and flushed in batches by FailedLoginFlushJob. Evictions and flushes
+// made inside a transaction take effect after the commit, so a concurrent reload never caches the old row.
+// Each counter is queued with the state version it was counted against, and it is flushed only onto that version.
+@Component
+public class UserSecurityStateCache implements MetricsSource {
+    private final UserRepository userRepository;
+    private final long ttlNanos;
+    private final Map<String, Entry> states;
+    private final Map<Long, QueuedAttempts> pendingAttempts = new ConcurrentHashMap<>();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder flushedCounters = new LongAdder();
+
+    public UserSecurityStateCache(UserRepository userRepository,
+                                  @Value("${security.state-cache.max-entries:10000}") int maxEntries,
+                                  @Value("${security.state-cache.ttl:PT1M}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.ttlNanos = ttl.toNanos();
+        this.states = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public Optional<UserSecurityState> get(String email) {
+        synchronized (states) {
+            Entry entry = states.get(email);
+            if (entry != null && entry.expiresAt() - System.nanoTime() > 0) {
+                hits.increment();
+                return Optional.of(entry.state());
+            }
+        }
+        misses.increment();
+        long generation = evictions.get();
+        Optional<UserSecurityState> loaded = userRepository.findByEmail(email).map(UserSecurityState::of);
+        // A queued counter is newer than the row it has not been written to yet, unless the row was reset since.
+        loaded = loaded.map(state -> {
+            QueuedAttempts pending = pendingAttempts.get(state.id());
+            return pending != null && pending.version() == state.version()
+                    ? state.withFailedAttempts(pending.attempts()) : state;
+        });
+        // An eviction during the read may mean the row was read before the write that caused it.
+        loaded.ifPresent(state -> {
+            synchronized (states) {
+                if (evictions.get() == generation) {
+                    states.put(state.email(), new Entry(state, System.nanoTime() + ttlNanos));
+                }
+            }
+        });
+        return loaded;
+    }
+
+    // Applies the change atomically to the cached state; returns empty when the user is not cached.
+    public Optional<UserSecurityState> update(String email, UnaryOperator<UserSecurityState> change) {
+        synchronized (states) {
+            Entry entry = states.get(email);
+            if (entry == null) {
+                return Optional.empty();
+            }
+            UserSecurityState updated = change.apply(entry.state());
+            states.put(email, new Entry(updated, entry.expiresAt()));
+            return Optional.of(updated);
+        }
+    }
+
+    public void put(UserSecurityState state) {
+        synchronized (states) {
+            states.put(state.email(), new Entry(state, System.nanoTime() + ttlNanos));
+        }
+    }
+
+    public void queueFailedAttempts(UserSecurityState state) {
+        pendingAttempts.put(state.id(), new QueuedAttempts(state.failedAttempts(), state.version()));
+    }
+
+    public void dropQueuedAttempts(Long userId) {
+        pendingAttempts.remove(userId);
+    }
+
+    // Returns a copy of the queued counters for the caller to write; they stay queued until markFlushed.
+    public Map<Long, QueuedAttempts> queuedAttempts() {
+        return new HashMap<>(pendingAttempts);
+    }
+
+    // Dequeues the written counters, except those that changed again since they were read.
+    public void markFlushed(Map<Long, QueuedAttempts> flushed) {
+        afterCommit(() -> flushed.forEach((userId, queued) -> {
+            if (pendingAttempts.remove(userId, queued)) {
+                flushedCounters.increment();
+            }
+        }));
+    }
+
+    public void evict(String email) {
+        afterCommit(() -> {
+            synchronized (states) {
+                evictions.incrementAndGet();
+                Entry entry = states.remove(email);
+                if (entry != null) {
+                    pendingAttempts.remove(entry.state().id());
+                }
+            }
+        });
+    }
+
+    public void evictById(Long userId) {
+        afterCommit(() -> {
+            synchronized (states) {
+                evictions.incrementAndGet();
+                states.values().removeIf(entry -> entry.state().id().equals(userId));
+            }
+            pendingAttempts.remove(userId);
+        });
+    }
+
+    @Override
+    public String metricsName() {
+        return "userSecurityState";
+    }
+
+    @Override
+    public Map<String, Number> metrics() {
+        long lookups = hits.sum() + misses.sum();
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        metrics.put("hits", hits.sum());
+        metrics.put("misses", misses.sum());
+        metrics.put("hitRatio", lookups == 0 ? 0.0 : (double) hits.sum() / lookups);
+        metrics.put("size", size());
+        metrics.put("queuedCounters", pendingAttempts.size());
+        metrics.put("flushedCounters", flushedCounters.sum());
+        return metrics;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private int size() {
+        synchronized (states) {
+            return states.size();
+        }
+    }
+
+    private record Entry(UserSecurityState state, long expiresAt) {
+    }
+
+    public record QueuedAttempts(int attempts, long version) {
+    }
+}
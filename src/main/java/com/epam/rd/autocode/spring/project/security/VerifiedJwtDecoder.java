@@ -0,0 +1,65 @@
+package com.epam.rd.autocode.spring.project.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Resource server decoder backed by JwtVerifier, so a token the refresh filter already checked is not verified again.
+public class VerifiedJwtDecoder implements JwtDecoder {
+    private final JwtVerifier verifier;
+    private final OAuth2TokenValidator<Jwt> validator;
+
+    public VerifiedJwtDecoder(JwtVerifier verifier, OAuth2TokenValidator<Jwt> validator) {
+        this.verifier = verifier;
+        this.validator = validator;
+    }
+
+    @Override
+    public Jwt decode(String token) {
+        Claims claims;
+        try {
+            claims = verifier.verify(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new BadJwtException("An error occurred while attempting to decode the Jwt: " + e.getMessage(), e);
+        }
+        Jwt jwt = toJwt(token, claims);
+        OAuth2TokenValidatorResult result = validator.validate(jwt);
+        if (result.hasErrors()) {
+            String description = result.getErrors().stream()
+                    .map(OAuth2Error::getDescription)
+                    .filter(d -> d != null && !d.isEmpty())
+                    .findFirst()
+                    .orElse("Unable to validate Jwt");
+            throw new JwtValidationException(description, result.getErrors());
+        }
+        return jwt;
+    }
+
+    private static Jwt toJwt(String token, Claims claims) {
+        // jjwt keeps the registered timestamps as epoch seconds, while Jwt expects Instants.
+        Map<String, Object> values = new LinkedHashMap<>(claims);
+        putInstant(values, Claims.EXPIRATION, claims.getExpiration());
+        putInstant(values, Claims.ISSUED_AT, claims.getIssuedAt());
+        putInstant(values, Claims.NOT_BEFORE, claims.getNotBefore());
+        return Jwt.withTokenValue(token)
+                .header("alg", "HS256")
+                .claims(c -> c.putAll(values))
+                .build();
+    }
+
+    private static void putInstant(Map<String, Object> values, String name, Date date) {
+        if (date != null) {
+            values.put(name, date.toInstant());
+        }
+    }
+}
@@ -6,4 +6,5 @@ public interface AuthenticationService {
     void increaseFailedLoginAttempts(String email);
     void resetFailedLoginAttempts(String email);
     boolean isUserLocked(String email);
+    int flushFailedLoginAttempts();
 }
@@ -0,0 +1,14 @@
+package com.epam.rd.autocode.spring.project.service;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Map;
+
+public interface BalanceService {
+    BigDecimal getBalance(Long userId);
+    Map<Long, BigDecimal> getBalances(Collection<Long> userIds);
+    void chargeOrder(Long userId, Long orderId, BigDecimal amount);
+    boolean refundOrder(Long userId, Long orderId, BigDecimal orderPrice);
+    Map<Long, Long> findSnapshotWatermarks();
+    void snapshot(Long userId, Long watermark);
+}
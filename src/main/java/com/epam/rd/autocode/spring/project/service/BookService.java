@@ -1,9 +1,15 @@
 package com.epam.rd.autocode.spring.project.service;
 
+import com.epam.rd.autocode.spring.project.catalog.CatalogQuery;
 import com.epam.rd.autocode.spring.project.dto.BookDTO;
+import com.epam.rd.autocode.spring.project.dto.BookFacetsDTO;
+import com.epam.rd.autocode.spring.project.dto.BookSuggestionDTO;
 import com.epam.rd.autocode.spring.project.dto.BookSummaryDTO;
+import com.epam.rd.autocode.spring.project.dto.CatalogPageDTO;
+import com.epam.rd.autocode.spring.project.dto.KeysetPageDTO;
 import com.epam.rd.autocode.spring.project.model.enums.AgeGroup;
 import com.epam.rd.autocode.spring.project.model.enums.Language;
+import com.epam.rd.autocode.spring.project.pagination.BookSortKey;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -24,14 +30,25 @@ public interface BookService {
             Sort sort
     );
 
-    Page<BookDTO> getFilteredAndSortedPage(Long categoryId, Language language, AgeGroup ageGroup,
-                                        BigDecimal minPrice,
-                                        BigDecimal maxPrice,
-                                        String searchTerm,
-                                        Pageable pageable);
+    Page<BookSummaryDTO> getFilteredAndSortedPage(Long categoryId, Language language, AgeGroup ageGroup,
+                                               BigDecimal minPrice,
+                                               BigDecimal maxPrice,
+                                               String searchTerm,
+                                               Pageable pageable);
+
+    CatalogPageDTO getCatalogPage(CatalogQuery query, String searchTerm, Pageable pageable);
+
+    BookFacetsDTO getCatalogFacets(CatalogQuery query, String searchTerm);
+
+    KeysetPageDTO<BookSummaryDTO> getCatalogKeysetPage(CatalogQuery query, String searchTerm, BookSortKey sortKey,
+                                                       String cursor, int size);
 
     Page<BookSummaryDTO> getNewestBooksPaged(int page, int size);
 
+    KeysetPageDTO<BookSummaryDTO> getNewestBooksKeyset(String cursor, int size);
+
+    List<BookSuggestionDTO> suggestBooks(String query, int limit);
+
     BookDTO getBookByName(String name);
 
     BookDTO getBookById(Long id);
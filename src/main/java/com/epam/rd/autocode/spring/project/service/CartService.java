@@ -8,9 +8,9 @@ import java.util.List;
 public interface CartService {
     String CART_COOKIE_NAME = "shoppingCart";
 
-    String serializeCart(Cart cart);
-    Cart deserializeCart(String cartJson);
-    Cart getCartFromCookies(String cartJson);
+    Cart getCartFromCookies(String cookieValue);
+    String saveCart(String cookieValue, Cart cart);
+    void clearCart(String cookieValue);
     Cart addBookToCart(Cart cart, Long bookId, int quantity);
     Cart updateBookQuantity(Cart cart, Long bookId, int quantity);
     Cart removeItemFromCart(Cart cart, Long bookId);
@@ -4,6 +4,7 @@ import com.epam.rd.autocode.spring.project.dto.CategoryDTO;
 import com.epam.rd.autocode.spring.project.model.Category;
 import org.springframework.data.domain.Page;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -11,5 +12,6 @@ public interface CategoryService {
     List<CategoryDTO> getCategories();
     Page<CategoryDTO> getCategoriesPage(int page, int size);
     CategoryDTO getCategoryById(Long id);
+    List<CategoryDTO> getCategoriesByIds(Collection<Long> ids);
     Set<Category> resolveCategoriesForInsert(Set<CategoryDTO> categoriesFromDto);
 }
@@ -2,15 +2,22 @@ package com.epam.rd.autocode.spring.project.service;
 
 import com.epam.rd.autocode.spring.project.dto.Cart;
 import com.epam.rd.autocode.spring.project.dto.OrderDTO;
+import com.epam.rd.autocode.spring.project.dto.OrderSummaryDTO;
 import com.epam.rd.autocode.spring.project.model.enums.Status;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
 
 import java.util.*;
 
 public interface OrderService {
 
-    List<OrderDTO> getAllOrders();
+    Page<OrderSummaryDTO> getOrderSummaries(Status status, LocalDate from, LocalDate to, Pageable pageable);
+
+    Map<Status, Long> getOrderStatusCounts();
 
-    List<OrderDTO> getOrdersByClientId(Long id);
+    Page<OrderDTO> getOrderHistory(Long userId, int page, int size);
 
     OrderDTO getOrderById(Long orderId);
 
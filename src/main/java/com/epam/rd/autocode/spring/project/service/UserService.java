@@ -6,7 +6,6 @@ import com.epam.rd.autocode.spring.project.dto.EmployeeDTO;
 import com.epam.rd.autocode.spring.project.dto.UserUpdateDTO;
 import com.epam.rd.autocode.spring.project.model.User;
 
-import java.math.BigDecimal;
 import java.util.List;
 
 public interface UserService {
@@ -17,7 +16,5 @@ public interface UserService {
     List<EmployeeDTO> findAllEmployees();
     EmployeeDTO findEmployeeById(Long id);
     void updateUserProfile(UserUpdateDTO dto);
-    User updateUserBalance(Long userId, BigDecimal amount);
-    User addUserBalance(Long userId, BigDecimal amount);
     void deleteUser(Long userId);
 }
@@ -2,6 +2,9 @@ package com.epam.rd.autocode.spring.project.service.impl;
 
 import com.epam.rd.autocode.spring.project.model.User;
 import com.epam.rd.autocode.spring.project.repo.UserRepository;
+import com.epam.rd.autocode.spring.project.security.UserSecurityState;
+import com.epam.rd.autocode.spring.project.security.UserSecurityStateCache;
+import com.epam.rd.autocode.spring.project.security.UserSecurityStateCache.QueuedAttempts;
 import com.epam.rd.autocode.spring.project.service.AuthenticationService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -12,12 +15,15 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.function.UnaryOperator;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class AuthenticationServiceImpl implements AuthenticationService {
     private final UserRepository userRepository;
+    private final UserSecurityStateCache securityStateCache;
     
     @Value("${security.max-login-attempts:5}")
     private int maxLoginAttempts;
@@ -30,9 +36,9 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     public void blockUser(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("User with ID " + userId + " not found"));
-        user.setIsBlocked(true);
-        user.setLockTime(null);
-        userRepository.save(user);
+        userRepository.updateLockState(userId, true, null,
+                user.getFailedLoginAttempts() != null ? user.getFailedLoginAttempts() : 0);
+        securityStateCache.evict(user.getEmail());
         log.warn("User permanently blocked by administrator: {} (ID: {})", user.getEmail(), userId);
     }
 
@@ -41,92 +47,110 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     public void unblockUser(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("User with ID " + userId + " not found"));
-        user.setIsBlocked(false);
-        user.setLockTime(null);
-        user.setFailedLoginAttempts(0);
-        userRepository.save(user);
+        userRepository.updateLockState(userId, false, null, 0);
+        securityStateCache.evict(user.getEmail());
         log.info("User unblocked by administrator: {} (ID: {})", user.getEmail(), userId);
     }
 
     @Override
     @Transactional
     public void increaseFailedLoginAttempts(String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new EntityNotFoundException("User with email " + email + " not found"));
-
-        unlockIfTimeExpired(user);
+        UserSecurityState state = unlockIfTimeExpired(loadState(email));
 
-        if (user.getIsBlocked()) {
+        if (state.blocked()) {
             log.warn("Login attempt for permanently blocked account: {}", email);
             throw new LockedException("Account is permanently blocked by administrator.");
         }
 
-        int currentAttempts = user.getFailedLoginAttempts() != null ? user.getFailedLoginAttempts() : 0;
-        user.setFailedLoginAttempts(currentAttempts + 1);
-        
-        log.debug("Failed login attempt for user: {} (attempt {}/{})", email, user.getFailedLoginAttempts(), maxLoginAttempts);
-
-        if (user.getFailedLoginAttempts() >= maxLoginAttempts) {
-            user.setIsBlocked(true);
-            user.setLockTime(LocalDateTime.now().plusMinutes(accountLockDurationMinutes));
-            log.warn("Account temporarily locked due to too many failed attempts: {} (duration: {} minutes)", 
+        LocalDateTime lockUntil = LocalDateTime.now().plusMinutes(accountLockDurationMinutes);
+        UnaryOperator<UserSecurityState> failedAttempt = current -> {
+            int attempts = current.failedAttempts() + 1;
+            return attempts >= maxLoginAttempts ? current.withLock(true, lockUntil, attempts)
+                    : current.withFailedAttempts(attempts);
+        };
+        UserSecurityState updated = securityStateCache.update(email, failedAttempt)
+                .orElseGet(() -> failedAttempt.apply(state));
+
+        log.debug("Failed login attempt for user: {} (attempt {}/{})", email, updated.failedAttempts(), maxLoginAttempts);
+
+        if (updated.blocked()) {
+            // The lock itself is written through so every node sees it on its next read.
+            securityStateCache.dropQueuedAttempts(updated.id());
+            userRepository.updateLockState(updated.id(), true, updated.lockTime(), updated.failedAttempts());
+            log.warn("Account temporarily locked due to too many failed attempts: {} (duration: {} minutes)",
                      email, accountLockDurationMinutes);
+        } else {
+            securityStateCache.queueFailedAttempts(updated);
         }
-        
-        userRepository.save(user);
     }
 
     @Override
     @Transactional
     public void resetFailedLoginAttempts(String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new EntityNotFoundException("User with email " + email + " not found"));
-
-        LocalDateTime lockTimeBeforeReset = user.getLockTime();
-        boolean wasBlocked = user.getIsBlocked();
+        UserSecurityState state = loadState(email);
 
-        user.setFailedLoginAttempts(0);
+        // The common case: nothing to reset, so nothing is written.
+        if (state.failedAttempts() == 0 && state.lockTime() == null) {
+            return;
+        }
 
-        if (lockTimeBeforeReset != null) {
-            user.setLockTime(null);
-            user.setIsBlocked(false);
+        securityStateCache.dropQueuedAttempts(state.id());
+        if (state.lockTime() != null) {
+            userRepository.updateLockState(state.id(), false, null, 0);
+            securityStateCache.put(state.withLock(false, null, 0));
             log.info("Temporary lock removed after successful login: {}", email);
-        } else if (!wasBlocked) {
+        } else {
+            userRepository.updateFailedLoginAttempts(state.id(), 0);
+            securityStateCache.put(state.withResetAttempts());
             log.debug("Failed login attempts reset for user: {}", email);
         }
-        userRepository.save(user);
     }
 
     @Override
     @Transactional
     public boolean isUserLocked(String username) {
-        User user = userRepository.findByEmail(username)
-                .orElseThrow(() -> new EntityNotFoundException("User with username " + username + " not found"));
+        UserSecurityState state = loadState(username);
 
-        if (!user.getIsBlocked()) {
+        if (!state.blocked()) {
             return false;
         }
 
-        if (user.getLockTime() != null) {
-            if (user.getLockTime().isAfter(LocalDateTime.now())) {
+        if (state.lockTime() != null) {
+            if (state.lockTime().isAfter(LocalDateTime.now())) {
                 return true;
             } else {
-                unlockIfTimeExpired(user);
+                unlockIfTimeExpired(state);
                 return false;
             }
         }
         return true;
     }
 
+    @Override
     @Transactional
-    protected void unlockIfTimeExpired(User user) {
-        if (user.getIsBlocked() && user.getLockTime() != null && 
-            user.getLockTime().isBefore(LocalDateTime.now())) {
-            user.setIsBlocked(false);
-            user.setLockTime(null);
-            user.setFailedLoginAttempts(0);
-            userRepository.save(user);
-            log.info("Account automatically unlocked after lock time expired: {}", user.getEmail());
+    public int flushFailedLoginAttempts() {
+        Map<Long, QueuedAttempts> queued = securityStateCache.queuedAttempts();
+        // A counter queued before a reset or lock committed carries the old version and writes nothing.
+        queued.forEach((userId, pending) ->
+                userRepository.flushFailedLoginAttempts(userId, pending.attempts(), pending.version()));
+        securityStateCache.markFlushed(queued);
+        return queued.size();
+    }
+
+    private UserSecurityState loadState(String email) {
+        return securityStateCache.get(email)
+                .orElseThrow(() -> new EntityNotFoundException("User with email " + email + " not found"));
+    }
+
+    private UserSecurityState unlockIfTimeExpired(UserSecurityState state) {
+        if (!state.hasExpiredLock(LocalDateTime.now())) {
+            return state;
         }
+        securityStateCache.dropQueuedAttempts(state.id());
+        userRepository.updateLockState(state.id(), false, null, 0);
+        UserSecurityState unlocked = state.withLock(false, null, 0);
+        securityStateCache.put(unlocked);
+        log.info("Account automatically unlocked after lock time expired: {}", state.email());
+        return unlocked;
     }
 }
@@ -0,0 +1,96 @@
+package com.epam.rd.autocode.spring.project.service.impl;
+
+import com.epam.rd.autocode.spring.project.exception.InsufficientFundsException;
+import com.epam.rd.autocode.spring.project.model.BalanceLedgerEntry;
+import com.epam.rd.autocode.spring.project.model.enums.LedgerEntryType;
+import com.epam.rd.autocode.spring.project.repo.BalanceLedgerRepository;
+import com.epam.rd.autocode.spring.project.repo.UserRepository;
+import com.epam.rd.autocode.spring.project.repo.projection.LedgerWatermarkView;
+import com.epam.rd.autocode.spring.project.repo.projection.UserBalanceView;
+import com.epam.rd.autocode.spring.project.service.BalanceService;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Balances are users.balance plus the refunds appended to balance_ledger since the last snapshot.
+// A payment is one guarded update of users.balance, so two checkouts cannot both spend the same money, plus
+// its ledger entry. A refund is a plain insert and touches no user row. Snapshots fold refunds only up to a
+// watermark older than the settle time, so an entry whose transaction is still open is never skipped.
+@Service
+@RequiredArgsConstructor
+public class BalanceServiceImpl implements BalanceService {
+    private final BalanceLedgerRepository ledgerRepository;
+    private final UserRepository userRepository;
+
+    @Value("${balance.snapshot.settle-time:PT1M}")
+    private Duration settleTime;
+
+    @Override
+    @Transactional(readOnly = true)
+    public BigDecimal getBalance(Long userId) {
+        return getBalances(List.of(userId)).get(userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, BigDecimal> getBalances(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        return userRepository.findCurrentBalances(userIds).stream()
+                .filter(view -> view.getBalance() != null)
+                .collect(Collectors.toMap(UserBalanceView::getId, UserBalanceView::getBalance));
+    }
+
+    @Override
+    @Transactional
+    public void chargeOrder(Long userId, Long orderId, BigDecimal amount) {
+        if (userRepository.debitBalance(userId, amount) == 0) {
+            BigDecimal balance = getBalance(userId);
+            if (balance == null) {
+                throw new EntityNotFoundException("User with ID " + userId + " not found");
+            }
+            throw new InsufficientFundsException("Недостатньо коштів на рахунку. Баланс: " +
+                    balance + " грн, необхідно: " + amount + " грн");
+        }
+        ledgerRepository.save(new BalanceLedgerEntry(userId, orderId, LedgerEntryType.PAYMENT, amount.negate()));
+    }
+
+    // Returns false when the order has already been refunded. Orders paid before the ledger existed have no
+    // payment entry and are refunded at their order price.
+    @Override
+    @Transactional
+    public boolean refundOrder(Long userId, Long orderId, BigDecimal orderPrice) {
+        if (ledgerRepository.existsByOrderIdAndType(orderId, LedgerEntryType.REFUND)) {
+            return false;
+        }
+        BigDecimal amount = ledgerRepository.findByOrderIdAndType(orderId, LedgerEntryType.PAYMENT)
+                .map(payment -> payment.getAmount().negate())
+                .orElse(orderPrice);
+        ledgerRepository.save(new BalanceLedgerEntry(userId, orderId, LedgerEntryType.REFUND, amount));
+        return true;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Long> findSnapshotWatermarks() {
+        return ledgerRepository.findSnapshotWatermarks(LocalDateTime.now().minus(settleTime)).stream()
+                .collect(Collectors.toMap(LedgerWatermarkView::getUserId, LedgerWatermarkView::getWatermark));
+    }
+
+    @Override
+    @Transactional
+    public void snapshot(Long userId, Long watermark) {
+        userRepository.applySnapshot(userId, watermark);
+    }
+}
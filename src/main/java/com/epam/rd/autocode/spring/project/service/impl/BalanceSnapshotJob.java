@@ -0,0 +1,32 @@
+package com.epam.rd.autocode.spring.project.service.impl;
+
+import com.epam.rd.autocode.spring.project.service.BalanceService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// Folds each user's settled refunds into users.balance so balance reads only sum the refunds since the last run.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BalanceSnapshotJob {
+    private final BalanceService balanceService;
+
+    @Scheduled(fixedDelayString = "${balance.snapshot.interval:PT5M}", initialDelayString = "${balance.snapshot.interval:PT5M}")
+    public void snapshotBalances() {
+        Map<Long, Long> watermarks = balanceService.findSnapshotWatermarks();
+        watermarks.forEach((userId, watermark) -> {
+            try {
+                balanceService.snapshot(userId, watermark);
+            } catch (RuntimeException e) {
+                log.warn("Balance snapshot failed for user {}: {}", userId, e.getMessage());
+            }
+        });
+        if (!watermarks.isEmpty()) {
+            log.debug("Snapshotted balances of {} users", watermarks.size());
+        }
+    }
+}
@@ -1,40 +1,77 @@
 package com.epam.rd.autocode.spring.project.service.impl;
 
+import com.epam.rd.autocode.spring.project.cache.BookCache;
+import com.epam.rd.autocode.spring.project.catalog.BookChangedEvent;
+import com.epam.rd.autocode.spring.project.catalog.BookSearchIndex;
+import com.epam.rd.autocode.spring.project.catalog.BookSuggestIndex;
+import com.epam.rd.autocode.spring.project.catalog.CatalogEntry;
+import com.epam.rd.autocode.spring.project.catalog.CatalogFacetIndex;
+import com.epam.rd.autocode.spring.project.catalog.CatalogQuery;
+import com.epam.rd.autocode.spring.project.catalog.CatalogSelection;
+import com.epam.rd.autocode.spring.project.catalog.CategoryMatch;
 import com.epam.rd.autocode.spring.project.dto.BookDTO;
+import com.epam.rd.autocode.spring.project.dto.BookFacetsDTO;
+import com.epam.rd.autocode.spring.project.dto.BookSuggestionDTO;
 import com.epam.rd.autocode.spring.project.dto.BookSummaryDTO;
+import com.epam.rd.autocode.spring.project.dto.CatalogPageDTO;
+import com.epam.rd.autocode.spring.project.dto.KeysetPageDTO;
 import com.epam.rd.autocode.spring.project.exception.AlreadyExistException;
+import com.epam.rd.autocode.spring.project.mapper.Mappers;
 import com.epam.rd.autocode.spring.project.model.Book;
 import com.epam.rd.autocode.spring.project.model.Category;
 import com.epam.rd.autocode.spring.project.model.enums.AgeGroup;
 import com.epam.rd.autocode.spring.project.model.enums.Language;
+import com.epam.rd.autocode.spring.project.pagination.BookCursor;
+import com.epam.rd.autocode.spring.project.pagination.BookSortKey;
 import com.epam.rd.autocode.spring.project.repo.BookRepository;
+import com.epam.rd.autocode.spring.project.repo.projection.BookSummaryView;
+import com.epam.rd.autocode.spring.project.repo.spec.BookSpecifications;
 import com.epam.rd.autocode.spring.project.service.BookService;
 import com.epam.rd.autocode.spring.project.service.CategoryService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class BookServiceImpl implements BookService {
+    private static final int MAX_KEYSET_PAGE_SIZE = 100;
+
     private final BookRepository bookRepository;
     private final CategoryService categoryService;
     private final ModelMapper modelMapper;
+    private final Mappers mappers;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookSuggestIndex bookSuggestIndex;
+    private final CatalogFacetIndex catalogFacetIndex;
+    private final BookCache bookCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public List<BookDTO> getAllBooks() {
         return bookRepository.findAllWithCategories().stream()
-                .map(book -> modelMapper.map(book, BookDTO.class))
+                .map(mappers::toBookDTO)
                 .toList();
     }
 
@@ -50,6 +87,11 @@ public class BookServiceImpl implements BookService {
 
         Sort sortToUse = sort != null ? sort : Sort.unsorted();
 
+        if (useCatalogSnapshot(searchTerm, sortToUse)) {
+            CatalogQuery query = CatalogQuery.of(categoryId, language, ageGroup, minPrice, maxPrice);
+            return loadInOrder(catalogFacetIndex.select(query, candidateIds(searchTerm), sortToUse).ids());
+        }
+
         List<Book> books = bookRepository.findByFilters(
                 categoryId,
                 language,
@@ -61,23 +103,62 @@ public class BookServiceImpl implements BookService {
         );
 
         return books.stream()
-                .map(book -> modelMapper.map(book, BookDTO.class))
+                .map(mappers::toBookDTO)
                 .toList();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<BookDTO> getFilteredAndSortedPage(Long categoryId, Language language, AgeGroup ageGroup, BigDecimal minPrice, BigDecimal maxPrice, String searchTerm, Pageable pageable) {
-        Page<Book> booksPage = bookRepository.findByFiltersPaged(
-                categoryId,
-                language,
-                ageGroup,
-                minPrice,
-                maxPrice,
-                searchTerm,
-                pageable
-        );
-        return booksPage.map(book -> modelMapper.map(book, BookDTO.class));
+    public Page<BookSummaryDTO> getFilteredAndSortedPage(Long categoryId, Language language, AgeGroup ageGroup, BigDecimal minPrice, BigDecimal maxPrice, String searchTerm, Pageable pageable) {
+        CatalogQuery query = CatalogQuery.of(categoryId, language, ageGroup, minPrice, maxPrice);
+        return getCatalogPage(query, searchTerm, pageable).getBooks();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CatalogPageDTO getCatalogPage(CatalogQuery query, String searchTerm, Pageable pageable) {
+        if (useCatalogSnapshot(searchTerm, pageable.getSort())) {
+            CatalogSelection selection = catalogFacetIndex.select(query, candidateIds(searchTerm), pageable.getSort());
+            return new CatalogPageDTO(toPage(selection.ids(), pageable), selection.facets());
+        }
+        // Paging a fetch join would make Hibernate paginate in memory, so the ids are paged first and only
+        // that page is then read through the listing projection.
+        Page<Long> idPage = query.categoryIds().size() > 1
+                ? bookRepository.findIdsByCategoriesAndFiltersPaged(
+                        query.categoryIds(),
+                        query.categoryMatch() == CategoryMatch.ALL ? query.categoryIds().size() : 1,
+                        query.language(),
+                        query.ageGroup(),
+                        query.minPrice(),
+                        query.maxPrice(),
+                        searchTerm,
+                        pageable)
+                : bookRepository.findIdsByFiltersPaged(
+                        query.categoryIds().stream().findFirst().orElse(null),
+                        query.language(),
+                        query.ageGroup(),
+                        query.minPrice(),
+                        query.maxPrice(),
+                        searchTerm,
+                        pageable);
+        Page<BookSummaryDTO> books = new PageImpl<>(loadSummariesInOrder(idPage.getContent()), pageable,
+                idPage.getTotalElements());
+        return new CatalogPageDTO(books, null);
+    }
+
+    @Override
+    public BookFacetsDTO getCatalogFacets(CatalogQuery query, String searchTerm) {
+        if (!useCatalogSnapshot(searchTerm, Sort.unsorted())) {
+            return null;
+        }
+        return catalogFacetIndex.select(query, candidateIds(searchTerm), Sort.unsorted()).facets();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPageDTO<BookSummaryDTO> getCatalogKeysetPage(CatalogQuery query, String searchTerm,
+                                                              BookSortKey sortKey, String cursor, int size) {
+        return scroll(BookSpecifications.matching(query, searchTerm), sortKey, cursor, size);
     }
 
     @Override
@@ -85,22 +166,33 @@ public class BookServiceImpl implements BookService {
     public Page<BookSummaryDTO> getNewestBooksPaged(int page, int size) {
         Sort sort = Sort.by(Sort.Direction.DESC, "publicationDate");
         Pageable pageable = PageRequest.of(page, size, sort);
-        Page<Book> booksPage = bookRepository.findAll(pageable);
-        return booksPage.map(book -> modelMapper.map(book, BookSummaryDTO.class));
+        return bookRepository.findSummariesBy(pageable).map(mappers::toBookSummaryDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPageDTO<BookSummaryDTO> getNewestBooksKeyset(String cursor, int size) {
+        Specification<Book> allBooks = BookSpecifications.matching(CatalogQuery.of(null, null, null, null, null), null);
+        return scroll(allBooks, BookSortKey.NEWEST, cursor, size);
+    }
+
+    @Override
+    public List<BookSuggestionDTO> suggestBooks(String query, int limit) {
+        return bookSuggestIndex.suggest(query, limit);
     }
 
     @Override
     public BookDTO getBookByName(String name) {
         Book book = bookRepository.findByNameWithCategories(name)
                 .orElseThrow(() -> new EntityNotFoundException("Book not found with name: " + name));
-        return modelMapper.map(book, BookDTO.class);
+        return mappers.toBookDTO(book);
     }
 
     @Override
     public BookDTO getBookById(Long id) {
-        Book book = bookRepository.findByIdWithCategories(id)
-                .orElseThrow(() -> new EntityNotFoundException("Book not found with id: " + id));
-        return modelMapper.map(book, BookDTO.class);
+        return bookCache.get(id, () -> bookRepository.findByIdWithCategories(id)
+                .map(mappers::toBookDTO)
+                .orElseThrow(() -> new EntityNotFoundException("Book not found with id: " + id)));
     }
 
     @Override
@@ -108,9 +200,9 @@ public class BookServiceImpl implements BookService {
         if (ids == null || ids.isEmpty()) {
             return List.of();
         }
-        return bookRepository.findAllByIdWithCategories(ids).stream()
-                .map(book -> modelMapper.map(book, BookDTO.class))
-                .toList();
+        return bookCache.getAll(ids, missingIds -> bookRepository.findAllByIdWithCategories(missingIds).stream()
+                .map(mappers::toBookDTO)
+                .toList());
     }
 
     @Override
@@ -121,7 +213,8 @@ public class BookServiceImpl implements BookService {
         modelMapper.map(book, existingBook);
         Set<Category> newCategories = categoryService.resolveCategoriesForInsert(book.getCategories());
         existingBook.setCategories(newCategories);
-        bookRepository.save(existingBook);
+        Book savedBook = bookRepository.save(existingBook);
+        eventPublisher.publishEvent(BookChangedEvent.saved(CatalogEntry.of(savedBook)));
     }
 
     @Override
@@ -132,7 +225,8 @@ public class BookServiceImpl implements BookService {
         modelMapper.map(book, existingBook);
         Set<Category> newCategories = categoryService.resolveCategoriesForInsert(book.getCategories());
         existingBook.setCategories(newCategories);
-        bookRepository.save(existingBook);
+        Book savedBook = bookRepository.save(existingBook);
+        eventPublisher.publishEvent(BookChangedEvent.saved(CatalogEntry.of(savedBook)));
     }
 
     @Override
@@ -140,11 +234,13 @@ public class BookServiceImpl implements BookService {
         Book book = bookRepository.findByNameWithCategories(name)
                 .orElseThrow(() -> new EntityNotFoundException("Book not found with name: " + name));
         bookRepository.delete(book);
+        eventPublisher.publishEvent(BookChangedEvent.deleted(book.getId()));
     }
 
     @Override
     public void deleteBook(Long id) {
         bookRepository.deleteById(id);
+        eventPublisher.publishEvent(BookChangedEvent.deleted(id));
     }
 
     @Override
@@ -157,6 +253,101 @@ public class BookServiceImpl implements BookService {
         modelMapper.map(bookDTO, newBook);
         Set<Category> categories = categoryService.resolveCategoriesForInsert(bookDTO.getCategories());
         newBook.setCategories(categories);
-        bookRepository.save(newBook);
+        Book savedBook = bookRepository.save(newBook);
+        eventPublisher.publishEvent(BookChangedEvent.saved(CatalogEntry.of(savedBook)));
+    }
+
+    private boolean useCatalogSnapshot(String searchTerm, Sort sort) {
+        boolean searchReady = !StringUtils.hasText(searchTerm) || bookSearchIndex.isReady();
+        return searchReady && catalogFacetIndex.canServe(sort);
+    }
+
+    private List<Long> candidateIds(String searchTerm) {
+        return StringUtils.hasText(searchTerm) ? bookSearchIndex.search(searchTerm) : null;
+    }
+
+    private Page<BookSummaryDTO> toPage(List<Long> ids, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(loadSummariesInOrder(ids), pageable, ids.size());
+        }
+        int from = (int) Math.min(pageable.getOffset(), ids.size());
+        int to = Math.min(from + pageable.getPageSize(), ids.size());
+        return new PageImpl<>(loadSummariesInOrder(ids.subList(from, to)), pageable, ids.size());
+    }
+
+    // Seeks past the cursor row with WHERE (key, id) > (:key, :id) instead of skipping rows, and fetches one
+    // extra row to learn whether another page exists, so no COUNT query is needed. The first page is read the
+    // same way, so every page shares the database's ordering. Books without a sort value come after the rest
+    // in id order and are read as a second group.
+    private KeysetPageDTO<BookSummaryDTO> scroll(Specification<Book> specification, BookSortKey sortKey,
+                                                 String cursor, int size) {
+        Optional<BookCursor> position = BookCursor.decode(cursor, sortKey);
+        boolean backward = position.map(BookCursor::backward).orElse(false);
+        int limit = Math.max(1, Math.min(size, MAX_KEYSET_PAGE_SIZE));
+        List<Boolean> groups = new ArrayList<>(sortKey.property() != null ? List.of(true, false) : List.of(true));
+        if (backward) {
+            Collections.reverse(groups);
+        }
+        boolean startGroup = position.map(start -> !start.unkeyed()).orElse(groups.get(0));
+
+        List<BookSummaryView> rows = new ArrayList<>();
+        for (boolean keyed : groups.subList(groups.indexOf(startGroup), groups.size())) {
+            Specification<Book> group = specification.and(BookSpecifications.hasSortValue(sortKey, keyed));
+            if (keyed == startGroup && position.isPresent()) {
+                group = group.and(BookSpecifications.beyond(position.get()));
+            }
+            Sort sort = keyed ? sortKey.sort() : Sort.by("id");
+            Sort order = backward ? sort.reverse() : sort;
+            int remaining = limit + 1 - rows.size();
+            rows.addAll(bookRepository.findBy(group,
+                    query -> query.as(BookSummaryView.class).sortBy(order).limit(remaining).all()));
+            if (rows.size() > limit) {
+                break;
+            }
+        }
+        if (rows.isEmpty()) {
+            return new KeysetPageDTO<>(List.of(), null, null);
+        }
+
+        boolean more = rows.size() > limit;
+        List<BookSummaryDTO> books = new ArrayList<>(rows.stream().limit(limit)
+                .map(mappers::toBookSummaryDTO)
+                .toList());
+        if (backward) {
+            Collections.reverse(books);
+        }
+        boolean hasPrevious = backward ? more : position.isPresent();
+        boolean hasNext = !backward ? more : true;
+        String previousCursor = hasPrevious ? BookCursor.before(sortKey, books.get(0)).encode() : null;
+        String nextCursor = hasNext ? BookCursor.after(sortKey, books.get(books.size() - 1)).encode() : null;
+        return new KeysetPageDTO<>(books, previousCursor, nextCursor);
+    }
+
+    private List<BookDTO> loadInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Book> booksById = bookRepository.findAllByIdWithCategories(ids).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        return ids.stream()
+                .map(booksById::get)
+                .filter(Objects::nonNull)
+                .map(mappers::toBookDTO)
+                .toList();
+    }
+
+    // Listing pages only show a few columns, so they read an interface projection instead of entities:
+    // no description or categories are loaded and nothing enters the persistence context.
+    private List<BookSummaryDTO> loadSummariesInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, BookSummaryView> summariesById = bookRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(BookSummaryView::getId, Function.identity()));
+        return ids.stream()
+                .map(summariesById::get)
+                .filter(Objects::nonNull)
+                .map(mappers::toBookSummaryDTO)
+                .toList();
     }
 }
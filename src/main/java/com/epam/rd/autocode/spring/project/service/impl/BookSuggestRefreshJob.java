@@ -0,0 +1,29 @@
+package com.epam.rd.autocode.spring.project.service.impl;
+
+import com.epam.rd.autocode.spring.project.catalog.BookSuggestIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Publishes the book changes collected by BookSuggestIndex and keeps its popularity ranking in step with sales.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookSuggestRefreshJob {
+    private final BookSuggestIndex bookSuggestIndex;
+
+    @Scheduled(fixedDelayString = "${catalog.suggest.publish-interval:PT1S}")
+    public void publishPendingChanges() {
+        if (bookSuggestIndex.publishPending()) {
+            log.debug("Book suggestions rebuilt after catalog changes");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.suggest.popularity-interval:PT10M}",
+            initialDelayString = "${catalog.suggest.popularity-interval:PT10M}")
+    public void refreshPopularity() {
+        bookSuggestIndex.refreshPopularity();
+        log.debug("Book suggestion popularity refreshed");
+    }
+}
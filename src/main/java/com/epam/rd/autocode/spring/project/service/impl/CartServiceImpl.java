@@ -1,5 +1,6 @@
 package com.epam.rd.autocode.spring.project.service.impl;
 
+import com.epam.rd.autocode.spring.project.cart.CartStore;
 import com.epam.rd.autocode.spring.project.dto.BookDTO;
 import com.epam.rd.autocode.spring.project.dto.BookItemDTO;
 import com.epam.rd.autocode.spring.project.dto.Cart;
@@ -7,61 +8,45 @@ import com.epam.rd.autocode.spring.project.exception.CartValidationException;
 import com.epam.rd.autocode.spring.project.service.BookService;
 import com.epam.rd.autocode.spring.project.service.CartService;
 import com.epam.rd.autocode.spring.project.service.OrderService;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.net.URLDecoder;
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
-import static java.util.stream.Collectors.toMap;
-
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class CartServiceImpl implements CartService {
     private final BookService bookService;
     private final OrderService orderService;
-    private final ObjectMapper objectMapper;
+    private final CartStore cartStore;
     
     private static final int MAX_QUANTITY_PER_ITEM = 100;
     private static final int MAX_TOTAL_ITEMS = 50;
 
-    public String serializeCart(Cart cart) {
-        try {
-            String json = objectMapper.writeValueAsString(cart);
-            return URLEncoder.encode(json, StandardCharsets.UTF_8);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException("Failed to serialize cart", e);
-        }
+    @Override
+    public Cart getCartFromCookies(String cookieValue) {
+        Cart cart = new Cart();
+        cart.getItems().putAll(cartStore.load(cookieValue));
+        recalculateCart(cart);
+        return cart;
     }
 
-    public Cart deserializeCart(String cartJson) {
-        if (cartJson == null || cartJson.isEmpty()) {
-            return new Cart();
-        }
-        try {
-            String json = URLDecoder.decode(cartJson, StandardCharsets.UTF_8);
-            return objectMapper.readValue(json, Cart.class);
-        } catch (JsonProcessingException e) {
-            log.warn("Failed to deserialize cart, creating new empty cart", e);
-            return new Cart();
-        }
+    @Override
+    public String saveCart(String cookieValue, Cart cart) {
+        return cartStore.save(cookieValue, cart.getItems());
     }
 
     @Override
-    public Cart getCartFromCookies(String cartJson) {
-        Cart cart = deserializeCart(cartJson);
-        recalculateCart(cart);
-        return cart;
+    public void clearCart(String cookieValue) {
+        cartStore.clear(cookieValue);
     }
 
     public Cart addBookToCart(Cart cart, Long bookId, int quantity) {
@@ -72,7 +57,9 @@ public class CartServiceImpl implements CartService {
             throw new CartValidationException("Quantity exceeds maximum allowed (" + MAX_QUANTITY_PER_ITEM + ")");
         }
 
-        bookService.getBookById(bookId);
+        if (!pricedBooks(cart, List.of(bookId)).containsKey(bookId)) {
+            throw new EntityNotFoundException("Book not found with id: " + bookId);
+        }
 
         if (!cart.getItems().containsKey(bookId) && cart.getItems().size() >= MAX_TOTAL_ITEMS) {
             throw new CartValidationException("Cart is full. Maximum " + MAX_TOTAL_ITEMS + " different items allowed");
@@ -118,12 +105,8 @@ public class CartServiceImpl implements CartService {
             cart.setTotalPrice(BigDecimal.ZERO);
             return;
         }
-        List<Long> bookIds = new ArrayList<>(cart.getItems().keySet());
-        List<BookDTO> books = bookService.getBooksByIds(bookIds);
+        Map<Long, BookDTO> booksMap = pricedBooks(cart, cart.getItems().keySet());
 
-        Map<Long, BookDTO> booksMap = books.stream()
-                .collect(toMap(BookDTO::getId, book -> book));
-        
         int totalQuantity = 0;
         BigDecimal totalPrice = BigDecimal.ZERO;
 
@@ -155,12 +138,8 @@ public class CartServiceImpl implements CartService {
         if (cart.getItems().isEmpty()) {
             return List.of();
         }
-        List<Long> bookIds = new ArrayList<>(cart.getItems().keySet());
-        List<BookDTO> books = bookService.getBooksByIds(bookIds);
+        Map<Long, BookDTO> booksMap = pricedBooks(cart, cart.getItems().keySet());
 
-        Map<Long, BookDTO> booksMap = books.stream()
-                .collect(toMap(BookDTO::getId, book -> book));
-        
         List<BookItemDTO> detailedItems = new ArrayList<>();
 
         for (Map.Entry<Long, Integer> entry : cart.getItems().entrySet()) {
@@ -187,4 +166,16 @@ public class CartServiceImpl implements CartService {
         cart.getItems().clear();
         recalculateCart(cart);
     }
+
+    // Fetches only the ids this cart has not priced yet, so totals and detailed items of one request share a lookup.
+    private Map<Long, BookDTO> pricedBooks(Cart cart, Collection<Long> bookIds) {
+        Map<Long, BookDTO> pricedBooks = cart.getPricedBooks();
+        List<Long> missing = bookIds.stream()
+                .filter(id -> !pricedBooks.containsKey(id))
+                .toList();
+        if (!missing.isEmpty()) {
+            bookService.getBooksByIds(missing).forEach(book -> pricedBooks.put(book.getId(), book));
+        }
+        return pricedBooks;
+    }
 }
@@ -0,0 +1,22 @@
+package com.epam.rd.autocode.spring.project.service.impl;
+
+import com.epam.rd.autocode.spring.project.catalog.CatalogFacetIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Publishes the book changes collected by CatalogFacetIndex.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogFacetPublishJob {
+    private final CatalogFacetIndex catalogFacetIndex;
+
+    @Scheduled(fixedDelayString = "${catalog.facets.publish-interval:PT1S}")
+    public void publishPendingChanges() {
+        if (catalogFacetIndex.publishPending()) {
+            log.debug("Catalog facet snapshot rebuilt after catalog changes");
+        }
+    }
+}
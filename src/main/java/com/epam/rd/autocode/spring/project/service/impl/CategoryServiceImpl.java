@@ -1,53 +1,74 @@
 package com.epam.rd.autocode.spring.project.service.impl;
 
+import com.epam.rd.autocode.spring.project.cache.CategoryCache;
 import com.epam.rd.autocode.spring.project.dto.CategoryDTO;
+import com.epam.rd.autocode.spring.project.mapper.Mappers;
 import com.epam.rd.autocode.spring.project.model.Category;
 import com.epam.rd.autocode.spring.project.repo.CategoryRepository;
 import com.epam.rd.autocode.spring.project.service.CategoryService;
 import jakarta.persistence.EntityNotFoundException;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
-    private final ModelMapper modelMapper;
+    private final Mappers mappers;
+    private final CategoryCache categoryCache;
 
-    public CategoryServiceImpl(CategoryRepository categoryRepository, ModelMapper modelMapper) {
+    public CategoryServiceImpl(CategoryRepository categoryRepository, Mappers mappers, CategoryCache categoryCache) {
         this.categoryRepository = categoryRepository;
-        this.modelMapper = modelMapper;
+        this.mappers = mappers;
+        this.categoryCache = categoryCache;
     }
 
     @Override
     public List<CategoryDTO> getCategories() {
-        return categoryRepository.findAll().stream()
-                .map(category -> modelMapper.map(category, CategoryDTO.class))
-                .toList();
+        return categoryCache.snapshot().byId();
     }
 
     @Override
     public Page<CategoryDTO> getCategoriesPage(int page, int size) {
-        Sort sort = Sort.by(Sort.Direction.ASC, "name");
-        Pageable pageable = PageRequest.of(page, size, sort);
-        Page<Category> categoryPage = categoryRepository.findAll(pageable);
-        return categoryPage.map(category -> modelMapper.map(category, CategoryDTO.class));
+        return categoryCache.snapshot().page(page, size);
     }
 
     @Override
     public CategoryDTO getCategoryById(Long id) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Category not found with id: " + id));
-        return modelMapper.map(category, CategoryDTO.class);
+        return mappers.toCategoryDTO(category);
+    }
+
+    // Served from the category snapshot; only ids the snapshot does not know yet go to the database,
+    // in a single query. Unknown ids are left out of the result.
+    @Override
+    public List<CategoryDTO> getCategoriesByIds(Collection<Long> ids) {
+        Map<Long, CategoryDTO> index = categoryCache.snapshot().index();
+        List<CategoryDTO> found = new ArrayList<>(ids.size());
+        Set<Long> missing = new LinkedHashSet<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            CategoryDTO category = index.get(id);
+            if (category != null) {
+                found.add(category);
+            } else if (id != null) {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            categoryRepository.findAllById(missing).forEach(category -> found.add(mappers.toCategoryDTO(category)));
+        }
+        return found;
     }
 
     @Override
@@ -57,8 +78,11 @@ public class CategoryServiceImpl implements CategoryService {
         }
         Set<Long> categoryIds = categoriesFromDto.stream()
                 .map(CategoryDTO::getId)
-                .filter(id -> id != null && categoryRepository.existsById(id))
+                .filter(Objects::nonNull)
                 .collect(Collectors.toSet());
+        if (categoryIds.isEmpty()) {
+            return Collections.emptySet();
+        }
         return new HashSet<>(categoryRepository.findAllById(categoryIds));
     }
 }
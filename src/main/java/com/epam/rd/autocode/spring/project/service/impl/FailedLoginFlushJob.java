@@ -0,0 +1,23 @@
+package com.epam.rd.autocode.spring.project.service.impl;
+
+import com.epam.rd.autocode.spring.project.service.AuthenticationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Writes the failed-login counters queued by UserSecurityStateCache; locks are written immediately, not here.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FailedLoginFlushJob {
+    private final AuthenticationService authenticationService;
+
+    @Scheduled(fixedDelayString = "${security.state-cache.flush-interval:PT5S}")
+    public void flushFailedLoginAttempts() {
+        int flushed = authenticationService.flushFailedLoginAttempts();
+        if (flushed > 0) {
+            log.debug("Flushed failed login counters of {} users", flushed);
+        }
+    }
+}
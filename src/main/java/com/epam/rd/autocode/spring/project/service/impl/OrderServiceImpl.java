@@ -2,25 +2,39 @@ package com.epam.rd.autocode.spring.project.service.impl;
 
 import com.epam.rd.autocode.spring.project.dto.Cart;
 import com.epam.rd.autocode.spring.project.dto.OrderDTO;
+import com.epam.rd.autocode.spring.project.dto.OrderSummaryDTO;
+import com.epam.rd.autocode.spring.project.exception.CartValidationException;
+import com.epam.rd.autocode.spring.project.mapper.Mappers;
 import com.epam.rd.autocode.spring.project.model.Book;
 import com.epam.rd.autocode.spring.project.model.BookItem;
 import com.epam.rd.autocode.spring.project.model.Order;
-import com.epam.rd.autocode.spring.project.model.User;
+import com.epam.rd.autocode.spring.project.model.OrderSummary;
 import com.epam.rd.autocode.spring.project.model.enums.Status;
+import com.epam.rd.autocode.spring.project.repo.BookItemRepository;
 import com.epam.rd.autocode.spring.project.repo.BookRepository;
 import com.epam.rd.autocode.spring.project.repo.OrderRepository;
+import com.epam.rd.autocode.spring.project.repo.OrderSummaryRepository;
+import com.epam.rd.autocode.spring.project.repo.UserRepository;
+import com.epam.rd.autocode.spring.project.service.BalanceService;
 import com.epam.rd.autocode.spring.project.service.OrderService;
-import com.epam.rd.autocode.spring.project.service.UserService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -28,34 +42,60 @@ public class OrderServiceImpl implements OrderService {
 
     private final OrderRepository orderRepository;
     private final BookRepository bookRepository;
-    private final UserService userService;
-    private final ModelMapper modelMapper;
+    private final BookItemRepository bookItemRepository;
+    private final UserRepository userRepository;
+    private final OrderSummaryRepository orderSummaryRepository;
+    private final BalanceService balanceService;
+    private final Mappers mappers;
 
+    // Dates are whole days: both bounds are inclusive.
     @Override
     @Transactional(readOnly = true)
-    public List<OrderDTO> getAllOrders() {
-        return orderRepository.findAll().stream()
-                .map(order -> modelMapper.map(order, OrderDTO.class))
-                .toList();
+    public Page<OrderSummaryDTO> getOrderSummaries(Status status, LocalDate from, LocalDate to, Pageable pageable) {
+        return orderSummaryRepository.findPage(status,
+                        from != null ? from.atStartOfDay() : null,
+                        to != null ? to.plusDays(1).atStartOfDay() : null,
+                        pageable)
+                .map(mappers::toOrderSummaryDTO);
     }
 
     @Override
-    public List<OrderDTO> getOrdersByClientId(Long id) {
-        return orderRepository.findOrdersWithAllDetailsByUserId(id).stream()
-                .map(order -> modelMapper.map(order, OrderDTO.class))
-                .toList();
+    @Transactional(readOnly = true)
+    public Map<Status, Long> getOrderStatusCounts() {
+        Map<Status, Long> counts = new EnumMap<>(Status.class);
+        for (Status status : Status.values()) {
+            counts.put(status, 0L);
+        }
+        orderSummaryRepository.countByStatus().forEach(view -> counts.put(view.getStatus(), view.getOrders()));
+        return counts;
+    }
+
+    // Three statements per page whatever its size: the orders with their user, the count, and the lines with
+    // their books. Fetching lines in the page query would multiply rows and force in-memory paging.
+    @Override
+    @Transactional(readOnly = true)
+    public Page<OrderDTO> getOrderHistory(Long userId, int page, int size) {
+        Page<Order> orders = orderRepository.findPageByUserId(userId,
+                PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "orderDate", "id")));
+        if (orders.isEmpty()) {
+            return orders.map(order -> mappers.toOrderDTO(order, List.of()));
+        }
+        Map<Long, List<BookItem>> items = bookItemRepository.findWithBooksByOrderIds(
+                        orders.getContent().stream().map(Order::getId).toList()).stream()
+                .collect(Collectors.groupingBy(item -> item.getOrder().getId()));
+        return orders.map(order -> mappers.toOrderDTO(order, items.getOrDefault(order.getId(), List.of())));
     }
 
     @Override
     public OrderDTO getOrderById(Long orderId) {
         Order order = orderRepository.findByIdWithAllDetails(orderId)
                 .orElseThrow(() -> new EntityNotFoundException("Order not found with ID: " + orderId));
-        return modelMapper.map(order, OrderDTO.class);
+        return mappers.toOrderDTO(order);
     }
 
     @Transactional
     public void updateOrderStatus(Long orderId, Status newStatus) {
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findByIdForUpdate(orderId)
                 .orElseThrow(() -> new EntityNotFoundException("Order not found with ID: " + orderId));
 
         Status oldStatus = order.getStatus();
@@ -64,13 +104,14 @@ public class OrderServiceImpl implements OrderService {
             throw new IllegalStateException("Unable to change status from DELIVERED to PENDING");
         }
 
-        // Повернення коштів при зміні статусу на CANCELLED
+        // Повернення коштів при зміні статусу на CANCELLED; повторне скасування не повертає кошти вдруге
         if (newStatus == Status.CANCELLED && oldStatus != Status.CANCELLED) {
-            userService.addUserBalance(order.getUser().getId(), order.getPrice());
+            balanceService.refundOrder(order.getUser().getId(), order.getId(), order.getPrice());
         }
 
         order.setStatus(newStatus);
         orderRepository.save(order);
+        orderSummaryRepository.updateStatus(orderId, newStatus);
     }
 
     @Override
@@ -83,20 +124,35 @@ public class OrderServiceImpl implements OrderService {
         return null;
     }
 
+    // Books are loaded in one query and the order is charged only if their current prices still add up
+    // to the total the customer saw in the cart. The order is saved first so the payment entry can refer to it;
+    // a failed charge rolls both back.
     @Override
     @Transactional
     public void createOrderFromCart(Cart cart, Long userId) {
-        User user = userService.updateUserBalance(userId, cart.getTotalPrice());
+        Map<Long, Book> books = bookRepository.findAllById(cart.getItems().keySet()).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        BigDecimal total = BigDecimal.ZERO;
+        for (Map.Entry<Long, Integer> entry : cart.getItems().entrySet()) {
+            Book book = books.get(entry.getKey());
+            if (book == null) {
+                throw new EntityNotFoundException("Book not found with id: " + entry.getKey());
+            }
+            total = total.add(book.getPrice().multiply(BigDecimal.valueOf(entry.getValue())));
+        }
+        if (total.compareTo(cart.getTotalPrice()) != 0) {
+            throw new CartValidationException("Ціни в кошику змінилися. Перевірте кошик і оформіть замовлення ще раз.");
+        }
+
         Order order = new Order();
-        order.setUser(user);
+        order.setUser(userRepository.getReferenceById(userId));
         order.setOrderDate(LocalDateTime.now());
         order.setStatus(Status.PENDING);
-        order.setPrice(cart.getTotalPrice());
-
-        List<BookItem> bookItems = new ArrayList<>();
+        order.setPrice(total);
 
+        List<BookItem> bookItems = new ArrayList<>(cart.getItems().size());
         for (Map.Entry<Long, Integer> entry : cart.getItems().entrySet()) {
-            Book book = bookRepository.findById(entry.getKey()).orElseThrow(EntityNotFoundException::new);
+            Book book = books.get(entry.getKey());
 
             BookItem item = new BookItem();
             item.setOrder(order);
@@ -109,5 +165,7 @@ public class OrderServiceImpl implements OrderService {
 
         order.setBookItems(bookItems);
         orderRepository.save(order);
+        balanceService.chargeOrder(userId, order.getId(), total);
+        orderSummaryRepository.save(OrderSummary.of(order));
     }
 }
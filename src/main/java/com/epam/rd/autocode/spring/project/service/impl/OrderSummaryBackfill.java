@@ -0,0 +1,26 @@
+package com.epam.rd.autocode.spring.project.service.impl;
+
+import com.epam.rd.autocode.spring.project.repo.OrderSummaryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+// New orders get their order_summary row on checkout; this covers orders that predate the table.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderSummaryBackfill {
+    private final OrderSummaryRepository orderSummaryRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        int inserted = orderSummaryRepository.insertMissing();
+        if (inserted > 0) {
+            log.info("Order summaries backfilled for {} orders", inserted);
+        }
+    }
+}
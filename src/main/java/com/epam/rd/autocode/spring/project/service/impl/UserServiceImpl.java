@@ -5,10 +5,13 @@ import com.epam.rd.autocode.spring.project.dto.CustomerDTO;
 import com.epam.rd.autocode.spring.project.dto.EmployeeDTO;
 import com.epam.rd.autocode.spring.project.dto.UserUpdateDTO;
 import com.epam.rd.autocode.spring.project.exception.AlreadyExistException;
-import com.epam.rd.autocode.spring.project.exception.InsufficientFundsException;
+import com.epam.rd.autocode.spring.project.mapper.Mappers;
 import com.epam.rd.autocode.spring.project.model.User;
 import com.epam.rd.autocode.spring.project.model.enums.Role;
+import com.epam.rd.autocode.spring.project.repo.OrderSummaryRepository;
 import com.epam.rd.autocode.spring.project.repo.UserRepository;
+import com.epam.rd.autocode.spring.project.security.UserSecurityStateCache;
+import com.epam.rd.autocode.spring.project.service.BalanceService;
 import com.epam.rd.autocode.spring.project.service.UserService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -19,13 +22,19 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final OrderSummaryRepository orderSummaryRepository;
     private final ModelMapper modelMapper;
+    private final Mappers mappers;
     private final PasswordEncoder passwordEncoder;
+    private final BalanceService balanceService;
+    private final UserSecurityStateCache securityStateCache;
 
     @Override
     @Transactional
@@ -40,9 +49,11 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public CustomerDTO findUserById(Long id) {
-        return userRepository.findById(id)
-                .map(user -> modelMapper.map(user, CustomerDTO.class))
+        CustomerDTO customer = userRepository.findById(id)
+                .map(mappers::toCustomerDTO)
                 .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + id));
+        customer.setBalance(balanceService.getBalance(id));
+        return customer;
     }
 
     @Override
@@ -52,15 +63,18 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public List<CustomerDTO> findAllCustomers() {
-        return userRepository.findByRole(Role.CUSTOMER).stream()
-                .map(customer -> modelMapper.map(customer, CustomerDTO.class))
+        List<CustomerDTO> customers = userRepository.findByRole(Role.CUSTOMER).stream()
+                .map(mappers::toCustomerDTO)
                 .toList();
+        Map<Long, BigDecimal> balances = balanceService.getBalances(customers.stream().map(CustomerDTO::getId).toList());
+        customers.forEach(customer -> customer.setBalance(balances.get(customer.getId())));
+        return customers;
     }
 
     @Override
     public List<EmployeeDTO> findAllEmployees() {
         return userRepository.findByRole(Role.EMPLOYEE).stream()
-                .map(employee -> modelMapper.map(employee, EmployeeDTO.class))
+                .map(mappers::toEmployeeDTO)
                 .toList();
     }
 
@@ -68,13 +82,15 @@ public class UserServiceImpl implements UserService {
     public EmployeeDTO findEmployeeById(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Employee not found with id: " + id));
-        return modelMapper.map(user, EmployeeDTO.class);
+        return mappers.toEmployeeDTO(user);
     }
 
     @Override
     @Transactional
     public void deleteUser(Long userId) {
+        orderSummaryRepository.deleteByUserId(userId);
         userRepository.deleteById(userId);
+        securityStateCache.evictById(userId);
     }
 
     @Override
@@ -83,6 +99,10 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(dto.getId())
                 .orElseThrow(() -> new EntityNotFoundException("User with ID  " + dto.getId() + " not found"));
 
+        if (!Objects.equals(user.getEmail(), dto.getEmail())) {
+            orderSummaryRepository.updateCustomerEmail(user.getId(), dto.getEmail());
+            securityStateCache.evict(user.getEmail());
+        }
         user.setName(dto.getName());
         user.setEmail(dto.getEmail());
         user.setPhone(dto.getPhone());
@@ -90,24 +110,4 @@ public class UserServiceImpl implements UserService {
 
         userRepository.save(user);
     }
-
-    @Override
-    @Transactional
-    public User updateUserBalance(Long userId, BigDecimal amount) {
-        User userToUpdate = userRepository.findById(userId).orElseThrow(EntityNotFoundException::new);
-        if (userToUpdate.getBalance().compareTo(amount) < 0) {
-            throw new InsufficientFundsException("Недостатньо коштів на рахунку. Баланс: " + 
-                    userToUpdate.getBalance() + " грн, необхідно: " + amount + " грн");
-        }
-        userToUpdate.setBalance(userToUpdate.getBalance().subtract(amount));
-        return userRepository.save(userToUpdate);
-    }
-
-    @Override
-    @Transactional
-    public User addUserBalance(Long userId, BigDecimal amount) {
-        User userToUpdate = userRepository.findById(userId).orElseThrow(EntityNotFoundException::new);
-        userToUpdate.setBalance(userToUpdate.getBalance().add(amount));
-        return userRepository.save(userToUpdate);
-    }
 }
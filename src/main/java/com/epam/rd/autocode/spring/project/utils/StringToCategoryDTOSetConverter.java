@@ -0,0 +1,66 @@
+package com.epam.rd.autocode.spring.project.utils;
+
+import com.epam.rd.autocode.spring.project.dto.CategoryDTO;
+import com.epam.rd.autocode.spring.project.service.CategoryService;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.converter.ConditionalGenericConverter;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Binds the checked category ids of the book forms with one CategoryService lookup for the whole
+// selection instead of running StringToCategoryDTOConverter once per checkbox.
+@Component
+@RequiredArgsConstructor
+public class StringToCategoryDTOSetConverter implements ConditionalGenericConverter {
+
+    private final CategoryService categoryService;
+
+    @Override
+    public Set<ConvertiblePair> getConvertibleTypes() {
+        return Set.of(new ConvertiblePair(String[].class, Collection.class),
+                new ConvertiblePair(String.class, Collection.class));
+    }
+
+    @Override
+    public boolean matches(TypeDescriptor sourceType, TypeDescriptor targetType) {
+        TypeDescriptor elementType = targetType.getElementTypeDescriptor();
+        return elementType != null && elementType.getType() == CategoryDTO.class
+                && targetType.getType().isAssignableFrom(LinkedHashSet.class);
+    }
+
+    @Override
+    public Object convert(Object source, TypeDescriptor sourceType, TypeDescriptor targetType) {
+        if (source == null) {
+            return null;
+        }
+        String[] values = source instanceof String[] array ? array : ((String) source).split(",");
+        List<Long> ids = new ArrayList<>(values.length);
+        for (String value : values) {
+            String id = value.trim();
+            if (id.isEmpty()) {
+                continue;
+            }
+            try {
+                ids.add(Long.parseLong(id));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid category ID: " + id, e);
+            }
+        }
+        Set<CategoryDTO> categories = new LinkedHashSet<>(categoryService.getCategoriesByIds(ids));
+        Set<Long> resolvedIds = categories.stream().map(CategoryDTO::getId).collect(Collectors.toSet());
+        for (Long id : ids) {
+            if (!resolvedIds.contains(id)) {
+                throw new EntityNotFoundException("Category not found with id: " + id);
+            }
+        }
+        return categories;
+    }
+}
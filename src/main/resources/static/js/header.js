@@ -95,9 +95,123 @@
         }
     }
 
+    function initSearchSuggestions() {
+        const searchInput = document.getElementById('search-input');
+        const suggestionsList = document.getElementById('search-suggestions');
+
+        if (!searchInput || !suggestionsList) {
+            console.warn('[Header] Search suggestion elements not found');
+            return;
+        }
+
+        const suggestUrl = searchInput.dataset.suggestUrl;
+        const bookUrl = searchInput.dataset.bookUrl;
+        let activeIndex = -1;
+        let pendingRequest = null;
+        let debounceTimer = null;
+
+        function hideSuggestions() {
+            suggestionsList.hidden = true;
+            suggestionsList.innerHTML = '';
+            searchInput.setAttribute('aria-expanded', 'false');
+            activeIndex = -1;
+        }
+
+        function highlight(index) {
+            const items = suggestionsList.querySelectorAll('.search-suggestion');
+            items.forEach((item, i) => item.classList.toggle('active', i === index));
+            activeIndex = index;
+        }
+
+        function renderSuggestions(suggestions) {
+            if (!suggestions.length) {
+                hideSuggestions();
+                return;
+            }
+            suggestionsList.innerHTML = '';
+            suggestions.forEach(suggestion => {
+                const item = document.createElement('li');
+                item.className = 'search-suggestion';
+                item.setAttribute('role', 'option');
+                item.dataset.bookId = suggestion.id;
+
+                const name = document.createElement('span');
+                name.className = 'search-suggestion-name';
+                name.textContent = suggestion.name;
+                item.appendChild(name);
+
+                const author = document.createElement('span');
+                author.className = 'search-suggestion-author';
+                author.textContent = suggestion.author || '';
+                item.appendChild(author);
+
+                item.addEventListener('mousedown', function (event) {
+                    event.preventDefault();
+                    window.location.href = bookUrl + suggestion.id;
+                });
+                suggestionsList.appendChild(item);
+            });
+            suggestionsList.hidden = false;
+            searchInput.setAttribute('aria-expanded', 'true');
+            activeIndex = -1;
+        }
+
+        function requestSuggestions(query) {
+            if (pendingRequest) {
+                pendingRequest.abort();
+            }
+            pendingRequest = new AbortController();
+            fetch(suggestUrl + '?q=' + encodeURIComponent(query), {
+                headers: {'Accept': 'application/json'},
+                signal: pendingRequest.signal
+            })
+                .then(response => response.ok ? response.json() : [])
+                .then(renderSuggestions)
+                .catch(error => {
+                    if (error.name !== 'AbortError') {
+                        console.warn('[Header] Failed to load search suggestions', error);
+                    }
+                });
+        }
+
+        searchInput.addEventListener('input', function () {
+            const query = searchInput.value.trim();
+            clearTimeout(debounceTimer);
+            if (query.length < 2) {
+                hideSuggestions();
+                return;
+            }
+            debounceTimer = setTimeout(() => requestSuggestions(query), 150);
+        });
+
+        searchInput.addEventListener('keydown', function (event) {
+            const items = suggestionsList.querySelectorAll('.search-suggestion');
+            if (suggestionsList.hidden || !items.length) {
+                return;
+            }
+            if (event.key === 'ArrowDown') {
+                event.preventDefault();
+                highlight((activeIndex + 1) % items.length);
+            } else if (event.key === 'ArrowUp') {
+                event.preventDefault();
+                highlight(activeIndex <= 0 ? items.length - 1 : activeIndex - 1);
+            } else if (event.key === 'Enter' && activeIndex >= 0) {
+                event.preventDefault();
+                window.location.href = bookUrl + items[activeIndex].dataset.bookId;
+            } else if (event.key === 'Escape') {
+                hideSuggestions();
+            }
+        });
+
+        searchInput.addEventListener('blur', hideSuggestions);
+
+        console.log('[Header] ✅ Search suggestions initialized');
+    }
+
     function init() {
         initSideMenu();
         initThemeSwitcher();
+        initSearchSuggestions();
         console.log('[Header] ✅ Header module loaded');
     }
 
@@ -26,8 +26,65 @@
         console.log('[Profile] Accordions initialized:', accordions.length);
     }
 
+    function initLoadMoreOrders() {
+        const button = document.getElementById('load-more-orders');
+        const orderList = document.getElementById('order-list');
+        if (!button || !orderList) {
+            return;
+        }
+
+        let nextPage = 1;
+        let loading = false;
+
+        button.addEventListener('click', function () {
+            if (loading) {
+                return;
+            }
+            loading = true;
+            button.disabled = true;
+
+            fetch(button.dataset.url + '?page=' + nextPage, {headers: {'Accept': 'text/html'}})
+                .then(response => {
+                    if (!response.ok) {
+                        throw new Error('HTTP ' + response.status);
+                    }
+                    return response.text();
+                })
+                .then(html => {
+                    const template = document.createElement('template');
+                    template.innerHTML = html.trim();
+                    const page = template.content.querySelector('.order-page');
+                    if (!page) {
+                        button.remove();
+                        return;
+                    }
+                    orderList.appendChild(page);
+
+                    const panel = button.closest('.panel');
+                    if (panel && panel.style.maxHeight) {
+                        panel.style.maxHeight = panel.scrollHeight + 'px';
+                    }
+
+                    if (page.dataset.nextPage) {
+                        nextPage = parseInt(page.dataset.nextPage, 10);
+                        button.disabled = false;
+                    } else {
+                        button.remove();
+                    }
+                })
+                .catch(error => {
+                    console.warn('[Profile] Failed to load more orders', error);
+                    button.disabled = false;
+                })
+                .finally(() => {
+                    loading = false;
+                });
+        });
+    }
+
     function init() {
         initAccordions();
+        initLoadMoreOrders();
         console.log('[Profile] Profile page ready');
     }
 
@@ -0,0 +1,157 @@
+package com.epam.rd.autocode.spring.project.cache;
+
+import com.epam.rd.autocode.spring.project.catalog.BookChangedEvent;
+import com.epam.rd.autocode.spring.project.dto.BookDTO;
+import com.epam.rd.autocode.spring.project.dto.CategoryDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookCacheTest {
+
+    private InMemoryBookCacheStore store;
+    private BookCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryBookCacheStore();
+        cache = new BookCache(store, 100, Duration.ofMinutes(10));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void testGet_ShouldLoadOnceThenServeLocally() {
+        BookDTO first = cache.get(1L, () -> load(1L));
+        BookDTO second = cache.get(1L, () -> load(1L));
+
+        assertThat(second).isEqualTo(first).isNotSameAs(first);
+        assertThat(loads).hasValue(1);
+        assertThat(cache.metrics()).containsEntry("localHits", 1L).containsEntry("misses", 1L)
+                .containsEntry("hitRatio", 0.5);
+    }
+
+    @Test
+    void testGet_WhenCallerModifiesReturnedBook_ShouldNotChangeCachedCopy() {
+        BookDTO loaded = cache.get(1L, () -> load(1L));
+        loaded.setName("Changed by the loader's caller");
+        BookDTO hit = cache.get(1L, () -> load(1L));
+        hit.setName("Changed by a later caller");
+        hit.getCategories().iterator().next().setName("Changed category");
+
+        BookDTO next = cache.get(1L, () -> load(1L));
+        BookDTO fromStore = store.getAll(List.of(1L)).get(1L);
+
+        assertThat(next.getName()).isEqualTo("Book 1");
+        assertThat(next.getCategories()).extracting(CategoryDTO::getName).containsExactly("Fiction");
+        assertThat(fromStore.getName()).isEqualTo("Book 1");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void testGetAll_ShouldLoadOnlyMissingIdsAndKeepRequestOrder() {
+        cache.get(1L, () -> load(1L));
+        List<List<Long>> loaderCalls = new ArrayList<>();
+
+        List<BookDTO> books = cache.getAll(List.of(2L, 1L, 3L, 2L), ids -> {
+            loaderCalls.add(List.copyOf(ids));
+            return ids.stream().filter(id -> id != 3L).map(this::load).toList();
+        });
+
+        assertThat(books).extracting(BookDTO::getId).containsExactly(2L, 1L);
+        assertThat(loaderCalls).containsExactly(List.of(2L, 3L));
+    }
+
+    @Test
+    void testGet_WhenEvictedLocally_ShouldFallBackToSharedStore() {
+        BookCache small = new BookCache(store, 1, Duration.ofMinutes(10));
+        small.get(1L, () -> load(1L));
+        small.get(2L, () -> load(2L));
+
+        small.get(1L, () -> load(1L));
+
+        assertThat(loads).hasValue(2);
+        assertThat(small.metrics()).containsEntry("remoteHits", 1L).containsEntry("localSize", 1);
+    }
+
+    @Test
+    void testOnBookChanged_ShouldInvalidateEveryNodeSharingTheStore() {
+        BookCache otherNode = new BookCache(store, 100, Duration.ofMinutes(10));
+        cache.get(1L, () -> load(1L));
+        otherNode.get(1L, () -> load(1L));
+
+        cache.onBookChanged(BookChangedEvent.deleted(1L));
+        otherNode.get(1L, () -> load(1L));
+
+        assertThat(loads).hasValue(2);
+        assertThat(otherNode.metrics()).containsEntry("evictions", 1L);
+    }
+
+    @Test
+    void testGet_WhenEntryExpired_ShouldReload() {
+        BookCache expiring = new BookCache(new InMemoryBookCacheStore(), 100, Duration.ZERO);
+
+        expiring.get(1L, () -> load(1L));
+        expiring.get(1L, () -> load(1L));
+
+        assertThat(expiring.metrics()).containsEntry("localHits", 0L).containsEntry("remoteHits", 1L);
+    }
+
+    @Test
+    void testGet_WhenEvictedWhileLoading_ShouldNotCacheTheOldBook() {
+        BookDTO old = cache.get(1L, () -> {
+            BookDTO book = load(1L);
+            cache.onBookChanged(BookChangedEvent.deleted(1L));
+            return book;
+        });
+
+        BookDTO reloaded = cache.get(1L, () -> load(1L));
+
+        assertThat(reloaded).isNotSameAs(old);
+        assertThat(loads).hasValue(2);
+        assertThat(cache.metrics()).containsEntry("staleLoads", 1L);
+    }
+
+    @Test
+    void testGetAll_WhenOneBookEvictedWhileLoading_ShouldCacheOnlyTheOthers() {
+        cache.getAll(List.of(1L, 2L), ids -> {
+            List<BookDTO> books = ids.stream().map(this::load).toList();
+            cache.evict(2L);
+            return books;
+        });
+
+        assertThat(store.getAll(List.of(1L, 2L))).containsOnlyKeys(1L);
+        cache.get(2L, () -> load(2L));
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void testClear_ShouldDropBooksOnEveryNode() {
+        BookCache otherNode = new BookCache(store, 100, Duration.ofMinutes(10));
+        cache.get(1L, () -> load(1L));
+        otherNode.get(1L, () -> load(1L));
+
+        cache.clear();
+        otherNode.get(1L, () -> load(1L));
+
+        assertThat(loads).hasValue(2);
+        assertThat(cache.metrics()).containsEntry("localSize", 0);
+    }
+
+    private BookDTO load(Long id) {
+        loads.incrementAndGet();
+        BookDTO book = new BookDTO();
+        book.setId(id);
+        book.setName("Book " + id);
+        book.setCategories(new HashSet<>(Set.of(new CategoryDTO(1L, "Fiction"))));
+        return book;
+    }
+}
@@ -0,0 +1,78 @@
+package com.epam.rd.autocode.spring.project.cache;
+
+import com.epam.rd.autocode.spring.project.mapper.Mappers;
+import com.epam.rd.autocode.spring.project.model.Category;
+import com.epam.rd.autocode.spring.project.repo.CategoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryCacheTest {
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    private CategoryCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CategoryCache(categoryRepository, new Mappers());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testInvalidate_InsideTransaction_ShouldBumpVersionOnlyAfterCommit() {
+        when(categoryRepository.findAll()).thenReturn(List.of(category(1L, "Fiction")));
+        CategorySnapshot before = cache.snapshot();
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.invalidate();
+        CategorySnapshot beforeCommit = cache.snapshot();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        CategorySnapshot afterCommit = cache.snapshot();
+
+        assertThat(beforeCommit).isSameAs(before);
+        assertThat(afterCommit.version()).isEqualTo(before.version() + 1);
+        verify(categoryRepository, times(2)).findAll();
+    }
+
+    @Test
+    void testInvalidate_WhenTransactionRollsBack_ShouldKeepSnapshot() {
+        when(categoryRepository.findAll()).thenReturn(List.of(category(1L, "Fiction")));
+        CategorySnapshot before = cache.snapshot();
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.invalidate();
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(cache.snapshot()).isSameAs(before);
+        assertThat(cache.metrics()).containsEntry("rebuilds", 1L).containsEntry("size", 1);
+    }
+
+    private static Category category(Long id, String name) {
+        Category category = new Category();
+        category.setId(id);
+        category.setName(name);
+        return category;
+    }
+}
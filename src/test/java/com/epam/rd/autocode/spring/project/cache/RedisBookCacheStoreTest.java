@@ -0,0 +1,126 @@
+package com.epam.rd.autocode.spring.project.cache;
+
+import com.epam.rd.autocode.spring.project.dto.BookDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RedisBookCacheStoreTest {
+    private static final Duration TTL = Duration.ofMinutes(10);
+    private static final Duration TOMBSTONE_TTL = Duration.ofSeconds(10);
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    @Mock
+    private RedisConnection connection;
+
+    @Mock
+    private RedisStringCommands stringCommands;
+
+    @Captor
+    private ArgumentCaptor<RedisCallback<Object>> pipeline;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private RedisBookCacheStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new RedisBookCacheStore(redisTemplate, listenerContainer, objectMapper, TTL, TOMBSTONE_TTL);
+    }
+
+    @Test
+    void testPutAll_ShouldOnlySetAbsentKeysWithTtl() throws Exception {
+        BookDTO book = book(1L);
+        when(connection.stringCommands()).thenReturn(stringCommands);
+
+        store.putAll(List.of(book));
+
+        verify(redisTemplate).executePipelined(pipeline.capture());
+        pipeline.getValue().doInRedis(connection);
+        verify(stringCommands).set(eq("book:1".getBytes(StandardCharsets.UTF_8)),
+                eq(objectMapper.writeValueAsBytes(book)), eq(Expiration.from(TTL)),
+                eq(RedisStringCommands.SetOption.ifAbsent()));
+    }
+
+    @Test
+    void testEvict_ShouldLeaveTombstoneForTombstoneTtl() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+
+        store.evict(1L);
+
+        verify(valueOperations).set("book:1", RedisBookCacheStore.TOMBSTONE, TOMBSTONE_TTL);
+    }
+
+    @Test
+    void testGetAll_ShouldTreatTombstonesAndMissingKeysAsMisses() throws Exception {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(List.of("book:1", "book:2", "book:3"))).thenReturn(Arrays.asList(
+                objectMapper.writeValueAsString(book(1L)), RedisBookCacheStore.TOMBSTONE, null));
+
+        Map<Long, BookDTO> found = store.getAll(List.of(1L, 2L, 3L));
+
+        assertThat(found).containsOnlyKeys(1L);
+        assertThat(found.get(1L)).isEqualTo(book(1L));
+    }
+
+    @Test
+    void testGetAll_WhenRedisFails_ShouldReturnNoBooks() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(anyList())).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThat(store.getAll(List.of(1L))).isEmpty();
+    }
+
+    @Test
+    void testEvict_WhenRedisFails_ShouldNotThrow() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        doThrow(new RedisConnectionFailureException("down"))
+                .when(valueOperations).set(any(), any(), any(Duration.class));
+
+        store.evict(1L);
+
+        verify(valueOperations).set("book:1", RedisBookCacheStore.TOMBSTONE, TOMBSTONE_TTL);
+    }
+
+    private BookDTO book(Long id) {
+        BookDTO book = new BookDTO();
+        book.setId(id);
+        book.setName("Book " + id);
+        return book;
+    }
+}
@@ -0,0 +1,64 @@
+package com.epam.rd.autocode.spring.project.cart;
+
+import com.epam.rd.autocode.spring.project.dto.Cart;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CartCodecTest {
+
+    @Test
+    void testEncode_ShouldRoundTripItems() {
+        Map<Long, Integer> items = Map.of(21L, 1, 3L, 100, 1_000_000L, 2, Long.MAX_VALUE, 7);
+
+        Map<Long, Integer> decoded = CartCodec.decode(CartCodec.encode(items));
+
+        assertThat(decoded).isEqualTo(items);
+        assertThat(decoded.keySet()).containsExactly(3L, 21L, 1_000_000L, Long.MAX_VALUE);
+    }
+
+    @Test
+    void testEncode_ShouldBeMuchSmallerThanUrlEncodedJson() throws Exception {
+        Map<Long, Integer> items = new HashMap<>();
+        for (long id = 1; id <= 10; id++) {
+            items.put(id, 2);
+        }
+        String json = new ObjectMapper().writeValueAsString(new Cart(items, 20, new BigDecimal("499.80")));
+
+        String encoded = CartCodec.encode(items);
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+        assertThat(encoded.length()).isLessThan(URLEncoder.encode(json, StandardCharsets.UTF_8).length() / 5);
+    }
+
+    @Test
+    void testEncode_WhenEmpty_ShouldRoundTrip() {
+        assertThat(CartCodec.decode(CartCodec.encode(Map.of()))).isEmpty();
+    }
+
+    @Test
+    void testDecode_WhenMalformed_ShouldThrow() {
+        String valid = CartCodec.encode(Map.of(1L, 2));
+
+        assertThatThrownBy(() -> CartCodec.decode("%7B%22items%22")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CartCodec.decode(valid.substring(0, valid.length() - 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CartCodec.decode(valid + "AA")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testCookieCartStore_WhenCookieIsUnreadable_ShouldLoadEmptyCart() {
+        CookieCartStore store = new CookieCartStore();
+
+        assertThat(store.load("not a cart")).isEmpty();
+        assertThat(store.load(store.save(null, Map.of(5L, 1)))).containsExactly(Map.entry(5L, 1));
+    }
+}
@@ -0,0 +1,52 @@
+package com.epam.rd.autocode.spring.project.cart;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryCartStoreTest {
+
+    private final InMemoryCartStore store = new InMemoryCartStore(Duration.ofHours(1));
+
+    @Test
+    void testSave_ShouldIssueOpaqueIdAndKeepItOnLaterSaves() {
+        String cartId = store.save(null, Map.of(1L, 2));
+        String sameId = store.save(cartId, Map.of(1L, 2, 4L, 1));
+
+        assertThat(cartId).matches("[A-Za-z0-9_-]{22}");
+        assertThat(sameId).isEqualTo(cartId);
+        assertThat(store.load(cartId)).isEqualTo(Map.of(1L, 2, 4L, 1));
+    }
+
+    @Test
+    void testLoad_WhenIdIsUnknownOrForged_ShouldReturnEmptyCart() {
+        store.save(null, Map.of(1L, 2));
+
+        assertThat(store.load("AAAAAAAAAAAAAAAAAAAAAA")).isEmpty();
+        assertThat(store.load("../etc")).isEmpty();
+        assertThat(store.save("../etc", Map.of(1L, 1))).isNotEqualTo("../etc");
+    }
+
+    @Test
+    void testClear_ShouldRemoveCart() {
+        String cartId = store.save(null, Map.of(1L, 2));
+
+        store.clear(cartId);
+
+        assertThat(store.load(cartId)).isEmpty();
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void testLoad_WhenExpired_ShouldReturnEmptyCartAndSweepOnWrite() {
+        InMemoryCartStore expiring = new InMemoryCartStore(Duration.ZERO);
+        String first = expiring.save(null, Map.of(1L, 2));
+
+        assertThat(expiring.load(first)).isEmpty();
+        expiring.save(null, Map.of(2L, 1));
+        assertThat(expiring.size()).isZero();
+    }
+}
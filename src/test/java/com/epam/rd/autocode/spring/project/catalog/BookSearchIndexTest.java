@@ -0,0 +1,75 @@
+package com.epam.rd.autocode.spring.project.catalog;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookSearchIndexTest {
+
+    private BookSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookSearchIndex();
+        index.rebuild(List.of(
+                entry(1L, "Кобзар", "Тарас Шевченко", "Збірка поезій"),
+                entry(2L, "Harry Potter and the Philosopher's Stone", "J. K. Rowling", "A young wizard"),
+                entry(3L, "Тіні забутих предків", "Михайло Коцюбинський", "Повість про Гуцульщину"),
+                entry(4L, "Fantastic Beasts", "Newt Scamander", "A book about Harry's world")
+        ));
+    }
+
+    @Test
+    void testSearch_ShouldBeReadyAfterRebuild() {
+        assertThat(new BookSearchIndex().isReady()).isFalse();
+        assertThat(index.isReady()).isTrue();
+    }
+
+    @Test
+    void testSearch_ShouldIgnoreCaseAndMatchPrefixes() {
+        assertThat(index.search("КОБЗ")).containsExactly(1L);
+        assertThat(index.search("potter")).containsExactly(2L);
+    }
+
+    @Test
+    void testSearch_ShouldRankNameMatchesAboveDescriptionMatches() {
+        assertThat(index.search("harry")).containsExactly(2L, 4L);
+    }
+
+    @Test
+    void testSearch_ShouldRequireEveryQueryToken() {
+        assertThat(index.search("harry rowling")).containsExactly(2L);
+        assertThat(index.search("harry шевченко")).isEmpty();
+    }
+
+    @Test
+    void testSearch_ShouldNormalizeUkrainianLetters() {
+        assertThat(index.search("тіні")).containsExactly(3L);
+        assertThat(index.search("гуцульщина")).isEmpty();
+        assertThat(index.search("гуцульщин")).containsExactly(3L);
+        assertThat(index.search("ґуцульщин")).containsExactly(3L);
+    }
+
+    @Test
+    void testUpsertAndRemove_ShouldUpdateIndexIncrementally() {
+        index.upsert(entry(1L, "Заповіт", "Тарас Шевченко", null));
+
+        assertThat(index.search("кобзар")).isEmpty();
+        assertThat(index.search("заповіт")).containsExactly(1L);
+
+        index.remove(1L);
+
+        assertThat(index.search("шевченко")).isEmpty();
+    }
+
+    private static CatalogEntry entry(Long id, String name, String author, String description) {
+        return new CatalogEntry(id, name, author, description, null, null, null,
+                BigDecimal.TEN, LocalDate.of(2020, 1, 1), Set.of());
+    }
+}
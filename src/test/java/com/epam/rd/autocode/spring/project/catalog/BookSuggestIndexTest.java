@@ -0,0 +1,113 @@
+package com.epam.rd.autocode.spring.project.catalog;
+
+import com.epam.rd.autocode.spring.project.dto.BookSuggestionDTO;
+import com.epam.rd.autocode.spring.project.repo.BookItemRepository;
+import com.epam.rd.autocode.spring.project.repo.projection.BookSalesView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookSuggestIndexTest {
+
+    @Mock
+    private BookItemRepository bookItemRepository;
+
+    @InjectMocks
+    private BookSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        when(bookItemRepository.sumQuantitiesByBook()).thenReturn(List.of(sales(3L, 50L), sales(2L, 5L)));
+        index.rebuild(List.of(
+                entry(1L, "Harry Potter and the Philosopher's Stone", "J. K. Rowling"),
+                entry(2L, "Harry Potter and the Chamber of Secrets", "J. K. Rowling"),
+                entry(3L, "Harry Potter and the Prisoner of Azkaban", "J. K. Rowling"),
+                entry(4L, "Кобзар", "Тарас Шевченко")
+        ));
+    }
+
+    @Test
+    void testSuggest_ShouldReturnPrefixMatchesByPopularity() {
+        List<BookSuggestionDTO> result = index.suggest("harry pot", 10);
+
+        assertThat(result).extracting(BookSuggestionDTO::getId).containsExactly(3L, 2L, 1L);
+    }
+
+    @Test
+    void testSuggest_ShouldMatchWordStartsAndAuthors() {
+        assertThat(index.suggest("azkab", 10)).extracting(BookSuggestionDTO::getId).containsExactly(3L);
+        assertThat(index.suggest("шевч", 10)).extracting(BookSuggestionDTO::getId).containsExactly(4L);
+    }
+
+    @Test
+    void testSuggest_ShouldTolerateTypos() {
+        assertThat(index.suggest("hary poter", 10)).extracting(BookSuggestionDTO::getId).containsExactly(3L, 2L, 1L);
+        assertThat(index.suggest("кобзяр", 10)).extracting(BookSuggestionDTO::getId).containsExactly(4L);
+    }
+
+    @Test
+    void testSuggest_ShouldRankCloserMatchesFirst() {
+        List<BookSuggestionDTO> result = index.suggest("harry potter and the chamber", 10);
+
+        assertThat(result).extracting(BookSuggestionDTO::getId).first().isEqualTo(2L);
+    }
+
+    @Test
+    void testSuggest_ShouldRespectLimitAndIgnoreBlankQueries() {
+        assertThat(index.suggest("harry", 1)).extracting(BookSuggestionDTO::getId).containsExactly(3L);
+        assertThat(index.suggest("   ", 10)).isEmpty();
+    }
+
+    @Test
+    void testUpsertAndRemove_ShouldApplyOnTheNextPublish() {
+        index.upsert(entry(4L, "Заповіт", "Тарас Шевченко"));
+        index.remove(3L);
+
+        assertThat(index.suggest("кобзар", 10)).extracting(BookSuggestionDTO::getId).containsExactly(4L);
+        assertThat(index.publishPending()).isTrue();
+        assertThat(index.publishPending()).isFalse();
+        assertThat(index.suggest("кобзар", 10)).isEmpty();
+        assertThat(index.suggest("запов", 10)).extracting(BookSuggestionDTO::getId).containsExactly(4L);
+        assertThat(index.suggest("harry", 10)).extracting(BookSuggestionDTO::getId).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void testRefreshPopularity_ShouldReRankBySales() {
+        when(bookItemRepository.sumQuantitiesByBook()).thenReturn(List.of(sales(1L, 80L), sales(3L, 50L)));
+
+        index.refreshPopularity();
+
+        assertThat(index.suggest("harry pot", 10)).extracting(BookSuggestionDTO::getId).containsExactly(1L, 3L, 2L);
+    }
+
+    private static CatalogEntry entry(Long id, String name, String author) {
+        return new CatalogEntry(id, name, author, null, null, null, null,
+                BigDecimal.TEN, LocalDate.of(2020, 1, 1), Set.of());
+    }
+
+    private static BookSalesView sales(Long bookId, Long quantity) {
+        return new BookSalesView() {
+            @Override
+            public Long getBookId() {
+                return bookId;
+            }
+
+            @Override
+            public Long getQuantity() {
+                return quantity;
+            }
+        };
+    }
+}
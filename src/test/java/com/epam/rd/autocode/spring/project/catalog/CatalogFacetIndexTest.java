@@ -0,0 +1,164 @@
+package com.epam.rd.autocode.spring.project.catalog;
+
+import com.epam.rd.autocode.spring.project.dto.BookFacetsDTO;
+import com.epam.rd.autocode.spring.project.dto.PriceFacetDTO;
+import com.epam.rd.autocode.spring.project.model.enums.AgeGroup;
+import com.epam.rd.autocode.spring.project.model.enums.Language;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogFacetIndexTest {
+
+    private static final CatalogQuery NO_FILTERS = CatalogQuery.of(null, null, null, null, null);
+
+    private CatalogFacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CatalogFacetIndex();
+        index.rebuild(List.of(
+                entry(1L, "Кобзар", Language.UKRAINIAN, AgeGroup.ADULT, "15.50", Set.of(1L)),
+                entry(2L, "Dune", Language.ENGLISH, AgeGroup.ADULT, "24.99", Set.of(1L, 2L)),
+                entry(3L, "Matilda", Language.ENGLISH, AgeGroup.CHILD, "12.00", Set.of(2L)),
+                entry(4L, "Atlas", Language.ENGLISH, AgeGroup.OTHER, "120.00", Set.of(3L))
+        ));
+    }
+
+    @Test
+    void testCanServe_ShouldRequireRebuildAndSupportedSort() {
+        assertThat(new CatalogFacetIndex().canServe(Sort.unsorted())).isFalse();
+        assertThat(index.canServe(Sort.by("price", "name"))).isTrue();
+        assertThat(index.canServe(Sort.by("isbn"))).isFalse();
+    }
+
+    @Test
+    void testSelect_WithoutFilters_ShouldCountEveryBook() {
+        CatalogSelection selection = index.select(NO_FILTERS, null, Sort.unsorted());
+
+        assertThat(selection.ids()).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(selection.facets().getCategoryCounts()).containsEntry(1L, 2).containsEntry(2L, 2).containsEntry(3L, 1);
+        assertThat(selection.facets().getLanguageCounts()).containsEntry(Language.ENGLISH, 3)
+                .containsEntry(Language.UKRAINIAN, 1).containsEntry(Language.FRENCH, 0);
+        assertThat(selection.facets().getPriceRanges()).extracting(PriceFacetDTO::getCount).containsExactly(2, 1, 0, 1);
+    }
+
+    @Test
+    void testSelect_ShouldCountEachFacetWithTheOtherFiltersApplied() {
+        CatalogQuery query = CatalogQuery.of(2L, Language.ENGLISH, null, null, new BigDecimal("20"));
+
+        CatalogSelection selection = index.select(query, null, Sort.unsorted());
+        BookFacetsDTO facets = selection.facets();
+
+        assertThat(selection.ids()).containsExactly(3L);
+        assertThat(facets.getCategoryCounts()).containsEntry(1L, 0).containsEntry(2L, 1).containsEntry(3L, 0);
+        assertThat(facets.getLanguageCounts()).containsEntry(Language.ENGLISH, 1).containsEntry(Language.UKRAINIAN, 0);
+        assertThat(facets.getAgeGroupCounts()).containsEntry(AgeGroup.CHILD, 1).containsEntry(AgeGroup.ADULT, 0);
+        assertThat(facets.getPriceRanges()).extracting(PriceFacetDTO::getCount).containsExactly(1, 1, 0, 0);
+    }
+
+    @Test
+    void testSelect_WithPriceBoundsBeyondLongRange_ShouldClampThem() {
+        CatalogQuery unbounded = CatalogQuery.of(null, null, null, new BigDecimal("-1e30"), new BigDecimal("1e30"));
+        CatalogQuery aboveEverything = CatalogQuery.of(null, null, null, new BigDecimal("1e30"), null);
+
+        assertThat(index.select(unbounded, null, Sort.unsorted()).ids()).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(index.select(aboveEverything, null, Sort.unsorted()).ids()).isEmpty();
+    }
+
+    @Test
+    void testSelect_ShouldMatchAnyOrAllSelectedCategories() {
+        CatalogQuery any = CatalogQuery.of(List.of(1L, 3L), CategoryMatch.ANY, null, null, null, null);
+        CatalogQuery all = CatalogQuery.of(List.of(1L, 2L), CategoryMatch.ALL, null, null, null, null);
+        CatalogQuery allWithLanguage = CatalogQuery.of(List.of(1L, 2L), CategoryMatch.ALL, Language.UKRAINIAN,
+                null, null, null);
+
+        assertThat(index.select(any, null, Sort.unsorted()).ids()).containsExactly(1L, 2L, 4L);
+        assertThat(index.select(all, null, Sort.unsorted()).ids()).containsExactly(2L);
+        assertThat(index.select(allWithLanguage, null, Sort.unsorted()).ids()).isEmpty();
+    }
+
+    @Test
+    void testSelect_ShouldTreatUnknownCategoryAsEmpty() {
+        CatalogQuery query = CatalogQuery.of(99L, null, null, null, null);
+
+        CatalogSelection selection = index.select(query, null, Sort.unsorted());
+
+        assertThat(selection.ids()).isEmpty();
+        assertThat(selection.facets().getCategoryCounts()).containsEntry(1L, 2);
+    }
+
+    @Test
+    void testSelect_ShouldKeepCandidateOrderUnlessSorted() {
+        assertThat(index.select(NO_FILTERS, List.of(4L, 2L, 99L, 3L), Sort.unsorted()).ids())
+                .containsExactly(4L, 2L, 3L);
+        assertThat(index.select(NO_FILTERS, List.of(4L, 2L, 3L), Sort.by("price")).ids())
+                .containsExactly(3L, 2L, 4L);
+        assertThat(index.select(NO_FILTERS, null, Sort.by(Sort.Direction.DESC, "name")).ids())
+                .containsExactly(1L, 3L, 2L, 4L);
+    }
+
+    @Test
+    void testUpsertAndRemove_ShouldSwapSnapshot() {
+        CatalogSelection before = index.select(NO_FILTERS, null, Sort.unsorted());
+
+        index.upsert(entry(3L, "Matilda", Language.UKRAINIAN, AgeGroup.CHILD, "12.00", Set.of(2L)));
+        index.remove(4L);
+
+        assertThat(index.select(NO_FILTERS, null, Sort.unsorted()).ids()).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(index.publishPending()).isTrue();
+        CatalogSelection after = index.select(NO_FILTERS, null, Sort.unsorted());
+        assertThat(before.ids()).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(after.ids()).containsExactly(1L, 2L, 3L);
+        assertThat(after.facets().getLanguageCounts()).containsEntry(Language.UKRAINIAN, 2);
+        assertThat(after.facets().getCategoryCounts()).doesNotContainKey(3L);
+    }
+
+    @Test
+    void testUpsert_ManyWrites_ShouldRebuildOnce() {
+        long rebuilds = index.metrics().get("rebuilds").longValue();
+
+        for (long id = 10; id < 1010; id++) {
+            index.upsert(entry(id, "Book " + id, Language.ENGLISH, AgeGroup.ADULT, "10.00", Set.of(1L)));
+        }
+
+        assertThat(index.metrics().get("rebuilds").longValue()).isEqualTo(rebuilds);
+        assertThat(index.publishPending()).isTrue();
+        assertThat(index.publishPending()).isFalse();
+        assertThat(index.metrics().get("rebuilds").longValue()).isEqualTo(rebuilds + 1);
+        assertThat(index.metrics().get("size").intValue()).isEqualTo(1004);
+    }
+
+    @Test
+    void testUpsert_MovingBooksBetweenFacets_ShouldSwapBitmapsTogetherOnPublish() {
+        index.upsert(entry(2L, "Dune", Language.FRENCH, AgeGroup.CHILD, "24.99", Set.of(3L)));
+        index.upsert(entry(4L, "Atlas", Language.FRENCH, AgeGroup.CHILD, "120.00", Set.of(3L)));
+        CatalogQuery french = CatalogQuery.of(null, Language.FRENCH, null, null, null);
+
+        BookFacetsDTO pending = index.select(NO_FILTERS, null, Sort.unsorted()).facets();
+        assertThat(index.select(french, null, Sort.unsorted()).ids()).isEmpty();
+        assertThat(pending.getCategoryCounts()).containsEntry(1L, 2).containsEntry(3L, 1);
+        assertThat(pending.getAgeGroupCounts()).containsEntry(AgeGroup.CHILD, 1);
+
+        index.publishPending();
+
+        BookFacetsDTO published = index.select(NO_FILTERS, null, Sort.unsorted()).facets();
+        assertThat(index.select(french, null, Sort.unsorted()).ids()).containsExactly(2L, 4L);
+        assertThat(published.getCategoryCounts()).containsEntry(1L, 1).containsEntry(2L, 1).containsEntry(3L, 2);
+        assertThat(published.getLanguageCounts()).containsEntry(Language.ENGLISH, 1).containsEntry(Language.FRENCH, 2);
+        assertThat(published.getAgeGroupCounts()).containsEntry(AgeGroup.CHILD, 3).containsEntry(AgeGroup.ADULT, 1);
+    }
+
+    private static CatalogEntry entry(Long id, String name, Language language, AgeGroup ageGroup,
+                                      String price, Set<Long> categoryIds) {
+        return new CatalogEntry(id, name, "Author", null, null, language, ageGroup,
+                new BigDecimal(price), LocalDate.of(2020, 1, 1), categoryIds);
+    }
+}
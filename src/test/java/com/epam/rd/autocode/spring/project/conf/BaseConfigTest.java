@@ -1,9 +1,18 @@
 package com.epam.rd.autocode.spring.project.conf;
 
+import com.epam.rd.autocode.spring.project.dto.BookDTO;
+import com.epam.rd.autocode.spring.project.dto.CategoryDTO;
+import com.epam.rd.autocode.spring.project.model.Book;
+import com.epam.rd.autocode.spring.project.model.Category;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class BaseConfigTest {
@@ -16,4 +25,23 @@ public class BaseConfigTest {
         assertTrue(aClass.isAnnotationPresent(Configuration.class),
                 String.format("Class [%s]. [@Configuration] is missed.", aClass.getSimpleName()));
     }
+
+    @Test
+    @DisplayName("Mapping BookDTO onto Book leaves the book's category entities untouched")
+    public void testBookMappingSkipsCategories() {
+        Category category = new Category();
+        category.setId(1L);
+        category.setName("Fiction");
+        Book book = new Book();
+        book.setCategories(new HashSet<>(Set.of(category)));
+        BookDTO dto = new BookDTO();
+        dto.setName("Dune");
+        dto.setCategories(Set.of(new CategoryDTO(2L, "Science")));
+
+        new BaseConfig().modelMapper().map(dto, book);
+
+        assertEquals("Dune", book.getName());
+        assertSame(category, book.getCategories().iterator().next());
+        assertEquals(1L, category.getId());
+    }
 }
@@ -0,0 +1,117 @@
+package com.epam.rd.autocode.spring.project.mapper;
+
+import com.epam.rd.autocode.spring.project.conf.BaseConfig;
+import com.epam.rd.autocode.spring.project.dto.BookDTO;
+import com.epam.rd.autocode.spring.project.dto.OrderDTO;
+import com.epam.rd.autocode.spring.project.model.Book;
+import com.epam.rd.autocode.spring.project.model.BookItem;
+import com.epam.rd.autocode.spring.project.model.Category;
+import com.epam.rd.autocode.spring.project.model.Order;
+import com.epam.rd.autocode.spring.project.model.User;
+import com.epam.rd.autocode.spring.project.model.enums.AgeGroup;
+import com.epam.rd.autocode.spring.project.model.enums.Language;
+import com.epam.rd.autocode.spring.project.model.enums.Status;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.modelmapper.ModelMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Run with: mvn test -Dtest=MappersBenchmarkTest -Dbenchmark=true
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class MappersBenchmarkTest {
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+    private static final int OPERATIONS_PER_ROUND = 20_000;
+
+    private final ModelMapper modelMapper = new BaseConfig().modelMapper();
+    private final Mappers mappers = new Mappers();
+
+    @Test
+    void benchmarkBookAndOrderMapping() {
+        Book book = book(1L);
+        Order order = order();
+
+        double modelMapperBook = nanosPerOperation(book, source -> modelMapper.map(source, BookDTO.class));
+        double mappersBook = nanosPerOperation(book, mappers::toBookDTO);
+        double modelMapperOrder = nanosPerOperation(order, source -> modelMapper.map(source, OrderDTO.class));
+        double mappersOrder = nanosPerOperation(order, mappers::toOrderDTO);
+
+        System.out.printf("Book -> BookDTO:   ModelMapper %.0f ns/op, Mappers %.0f ns/op (%.1fx)%n",
+                modelMapperBook, mappersBook, modelMapperBook / mappersBook);
+        System.out.printf("Order -> OrderDTO: ModelMapper %.0f ns/op, Mappers %.0f ns/op (%.1fx)%n",
+                modelMapperOrder, mappersOrder, modelMapperOrder / mappersOrder);
+        assertThat(mappersBook).isLessThan(modelMapperBook);
+        assertThat(mappersOrder).isLessThan(modelMapperOrder);
+    }
+
+    private static <S> double nanosPerOperation(S source, Function<S, Object> mapping) {
+        Object sink = null;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            for (int i = 0; i < OPERATIONS_PER_ROUND; i++) {
+                sink = mapping.apply(source);
+            }
+        }
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < OPERATIONS_PER_ROUND; i++) {
+                sink = mapping.apply(source);
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        assertThat(sink).isNotNull();
+        return (double) best / OPERATIONS_PER_ROUND;
+    }
+
+    private static Order order() {
+        User user = new User();
+        user.setEmail("reader@example.com");
+        Order order = new Order();
+        order.setId(1L);
+        order.setUser(user);
+        order.setOrderDate(LocalDateTime.of(2024, 3, 1, 12, 30));
+        order.setStatus(Status.PENDING);
+        order.setPrice(new BigDecimal("99.96"));
+        List<BookItem> items = new ArrayList<>();
+        for (long id = 1; id <= 4; id++) {
+            BookItem item = new BookItem();
+            item.setOrder(order);
+            item.setBook(book(id));
+            item.setQuantity(1);
+            item.setPricePerUnit(new BigDecimal("24.99"));
+            items.add(item);
+        }
+        order.setBookItems(items);
+        return order;
+    }
+
+    private static Book book(Long id) {
+        Category fiction = new Category();
+        fiction.setId(1L);
+        fiction.setName("Fiction");
+        Category classics = new Category();
+        classics.setId(2L);
+        classics.setName("Classics");
+        Book book = new Book();
+        book.setId(id);
+        book.setName("Dune");
+        book.setCategories(Set.of(fiction, classics));
+        book.setIsbn("978-0441013593");
+        book.setAgeGroup(AgeGroup.ADULT);
+        book.setPrice(new BigDecimal("24.99"));
+        book.setPublicationDate(LocalDate.of(1965, 8, 1));
+        book.setAuthor("Frank Herbert");
+        book.setPages(412);
+        book.setLanguage(Language.ENGLISH);
+        return book;
+    }
+}
@@ -0,0 +1,165 @@
+package com.epam.rd.autocode.spring.project.mapper;
+
+import com.epam.rd.autocode.spring.project.conf.BaseConfig;
+import com.epam.rd.autocode.spring.project.dto.BookDTO;
+import com.epam.rd.autocode.spring.project.dto.BookSummaryDTO;
+import com.epam.rd.autocode.spring.project.dto.CategoryDTO;
+import com.epam.rd.autocode.spring.project.dto.CustomerDTO;
+import com.epam.rd.autocode.spring.project.dto.EmployeeDTO;
+import com.epam.rd.autocode.spring.project.dto.OrderDTO;
+import com.epam.rd.autocode.spring.project.model.Book;
+import com.epam.rd.autocode.spring.project.model.BookItem;
+import com.epam.rd.autocode.spring.project.model.Category;
+import com.epam.rd.autocode.spring.project.model.Order;
+import com.epam.rd.autocode.spring.project.model.User;
+import com.epam.rd.autocode.spring.project.model.enums.AgeGroup;
+import com.epam.rd.autocode.spring.project.model.enums.Language;
+import com.epam.rd.autocode.spring.project.model.enums.Role;
+import com.epam.rd.autocode.spring.project.model.enums.Status;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappersTest {
+
+    private final ModelMapper modelMapper = new BaseConfig().modelMapper();
+    private final Mappers mappers = new Mappers();
+
+    @Test
+    void testToBookDTO_ShouldMatchModelMapper() {
+        Book book = book(1L, "Dune", Set.of(category(1L, "Fiction"), category(2L, "Classics")));
+
+        assertThat(mappers.toBookDTO(book)).isEqualTo(modelMapper.map(book, BookDTO.class));
+    }
+
+    @Test
+    void testToBookDTO_WithMissingValues_ShouldMatchModelMapper() {
+        Book book = new Book();
+        book.setId(2L);
+        book.setName("Untitled");
+
+        assertThat(mappers.toBookDTO(book)).isEqualTo(modelMapper.map(book, BookDTO.class));
+
+        book.setCategories(new HashSet<>());
+        assertThat(mappers.toBookDTO(book)).isEqualTo(modelMapper.map(book, BookDTO.class));
+    }
+
+    @Test
+    void testToBookSummaryDTO_ShouldMatchModelMapper() {
+        Book book = book(3L, "Matilda", Set.of(category(3L, "Children")));
+
+        assertThat(mappers.toBookSummaryDTO(book)).isEqualTo(modelMapper.map(book, BookSummaryDTO.class));
+    }
+
+    @Test
+    void testToCategoryDTO_ShouldMatchModelMapper() {
+        Category category = category(4L, "Poetry");
+
+        assertThat(mappers.toCategoryDTO(category)).isEqualTo(modelMapper.map(category, CategoryDTO.class));
+    }
+
+    @Test
+    void testToOrderDTO_ShouldMatchModelMapper() {
+        Order order = new Order();
+        order.setId(10L);
+        order.setUser(user(false));
+        order.setOrderDate(LocalDateTime.of(2024, 3, 1, 12, 30));
+        order.setStatus(Status.PENDING);
+        order.setPrice(new BigDecimal("64.97"));
+        order.setBookItems(new ArrayList<>(List.of(
+                bookItem(order, book(1L, "Dune", Set.of(category(1L, "Fiction"))), 2, "24.99"),
+                bookItem(order, book(3L, "Matilda", Set.of()), 1, "14.99"))));
+
+        assertThat(mappers.toOrderDTO(order)).isEqualTo(modelMapper.map(order, OrderDTO.class));
+    }
+
+    @Test
+    void testToOrderDTO_WithoutUserAndItems_ShouldMatchModelMapper() {
+        Order order = new Order();
+        order.setId(11L);
+        order.setStatus(Status.CANCELLED);
+
+        assertThat(mappers.toOrderDTO(order)).isEqualTo(modelMapper.map(order, OrderDTO.class));
+    }
+
+    @Test
+    void testToOrderDTOWithItems_ShouldMapGivenItemsWithoutCategories() {
+        Order order = new Order();
+        order.setId(12L);
+        order.setStatus(Status.PENDING);
+        BookItem item = bookItem(order, book(1L, "Dune", Set.of(category(1L, "Fiction"))), 2, "24.99");
+
+        OrderDTO dto = mappers.toOrderDTO(order, List.of(item));
+
+        assertThat(dto.getBookItems()).hasSize(1);
+        assertThat(dto.getBookItems().get(0).getBook().getName()).isEqualTo("Dune");
+        assertThat(dto.getBookItems().get(0).getBook().getCategories()).isNull();
+        assertThat(dto.getBookItems().get(0).getQuantity()).isEqualTo(2);
+    }
+
+    @Test
+    void testToCustomerAndEmployeeDTO_ShouldMatchModelMapper() {
+        for (boolean blocked : new boolean[]{false, true}) {
+            User user = user(blocked);
+
+            assertThat(mappers.toCustomerDTO(user)).isEqualTo(modelMapper.map(user, CustomerDTO.class));
+            assertThat(mappers.toEmployeeDTO(user)).isEqualTo(modelMapper.map(user, EmployeeDTO.class));
+        }
+    }
+
+    private static Book book(Long id, String name, Set<Category> categories) {
+        Book book = new Book();
+        book.setId(id);
+        book.setName(name);
+        book.setCategories(new HashSet<>(categories));
+        book.setIsbn("978-0441013593");
+        book.setAgeGroup(AgeGroup.ADULT);
+        book.setPrice(new BigDecimal("24.99"));
+        book.setPublicationDate(LocalDate.of(1965, 8, 1));
+        book.setAuthor("Frank Herbert");
+        book.setPages(412);
+        book.setCharacteristics("Paperback");
+        book.setDescription("Desert planet");
+        book.setLanguage(Language.ENGLISH);
+        return book;
+    }
+
+    private static Category category(Long id, String name) {
+        Category category = new Category();
+        category.setId(id);
+        category.setName(name);
+        return category;
+    }
+
+    private static BookItem bookItem(Order order, Book book, int quantity, String pricePerUnit) {
+        BookItem item = new BookItem();
+        item.setOrder(order);
+        item.setBook(book);
+        item.setQuantity(quantity);
+        item.setPricePerUnit(new BigDecimal(pricePerUnit));
+        return item;
+    }
+
+    private static User user(boolean blocked) {
+        User user = new User();
+        user.setId(5L);
+        user.setEmail("reader@example.com");
+        user.setName("Reader");
+        user.setRole(Role.CUSTOMER);
+        user.setBalance(new BigDecimal("100.00"));
+        user.setPhone("+380501234567");
+        user.setBirthDate(LocalDate.of(1990, 5, 17));
+        user.setIsBlocked(blocked);
+        user.setFailedLoginAttempts(0);
+        return user;
+    }
+}
@@ -0,0 +1,51 @@
+package com.epam.rd.autocode.spring.project.pagination;
+
+import com.epam.rd.autocode.spring.project.dto.BookSummaryDTO;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookCursorTest {
+
+    @Test
+    void testEncodeDecode_ShouldRoundTripKeyAndId() {
+        BookSummaryDTO book = new BookSummaryDTO();
+        book.setId(42L);
+        book.setName("Cats | Dogs");
+        book.setPrice(new BigDecimal("19.99"));
+        book.setPublicationDate(LocalDate.of(2020, 5, 1));
+
+        assertThat(BookCursor.decode(BookCursor.after(BookSortKey.NAME, book).encode(), BookSortKey.NAME))
+                .contains(new BookCursor(BookSortKey.NAME, false, 42L, "Cats | Dogs"));
+        assertThat(BookCursor.decode(BookCursor.after(BookSortKey.NEWEST, book).encode(), BookSortKey.NEWEST))
+                .contains(new BookCursor(BookSortKey.NEWEST, false, 42L, LocalDate.of(2020, 5, 1)));
+        assertThat(BookCursor.decode(BookCursor.after(BookSortKey.DEFAULT, book).encode(), BookSortKey.DEFAULT))
+                .contains(new BookCursor(BookSortKey.DEFAULT, false, 42L, null));
+    }
+
+    @Test
+    void testDecode_WhenCursorIsInvalidOrForAnotherSort_ShouldReturnEmpty() {
+        String priceCursor = new BookCursor(BookSortKey.PRICE_ASC, false, 1L, new BigDecimal("10.00")).encode();
+
+        assertThat(BookCursor.decode(priceCursor, BookSortKey.PRICE_DESC)).isEmpty();
+        assertThat(BookCursor.decode("not a cursor", BookSortKey.PRICE_ASC)).isEmpty();
+        assertThat(BookCursor.decode("", BookSortKey.PRICE_ASC)).isEmpty();
+        assertThat(BookCursor.decode(null, BookSortKey.PRICE_ASC)).isEmpty();
+    }
+
+    @Test
+    void testEncodeDecode_WhenSortValueIsMissing_ShouldKeepNullKey() {
+        BookSummaryDTO book = new BookSummaryDTO();
+        book.setId(7L);
+
+        BookCursor cursor = BookCursor.before(BookSortKey.NEWEST, book);
+
+        assertThat(BookCursor.decode(cursor.encode(), BookSortKey.NEWEST))
+                .contains(new BookCursor(BookSortKey.NEWEST, true, 7L, null));
+        assertThat(cursor.unkeyed()).isTrue();
+        assertThat(BookCursor.after(BookSortKey.DEFAULT, book).unkeyed()).isFalse();
+    }
+}
@@ -1,14 +1,23 @@
 package com.epam.rd.autocode.spring.project.repo;
 
+import com.epam.rd.autocode.spring.project.catalog.CatalogQuery;
+import com.epam.rd.autocode.spring.project.catalog.CategoryMatch;
 import com.epam.rd.autocode.spring.project.model.Book;
 import com.epam.rd.autocode.spring.project.model.enums.AgeGroup;
 import com.epam.rd.autocode.spring.project.model.enums.Language;
+import com.epam.rd.autocode.spring.project.pagination.BookCursor;
+import com.epam.rd.autocode.spring.project.pagination.BookSortKey;
+import com.epam.rd.autocode.spring.project.repo.projection.BookSummaryView;
+import com.epam.rd.autocode.spring.project.repo.spec.BookSpecifications;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -180,4 +189,90 @@ class BookRepositoryTest {
 
         assertThat(found).hasSize(24);
     }
+
+    @Test
+    void testFindIdsByCategoriesAndFiltersPaged_ShouldMatchAnyOrAllCategories() {
+        Page<Long> any = bookRepository.findIdsByCategoriesAndFiltersPaged(
+                List.of(1L, 2L), 1, null, null, null, null, null, PageRequest.of(0, 50));
+        Page<Long> all = bookRepository.findIdsByCategoriesAndFiltersPaged(
+                List.of(1L, 2L), 2, null, null, null, null, null, PageRequest.of(0, 50));
+
+        assertThat(any.getTotalElements()).isEqualTo(7);
+        assertThat(bookRepository.findAllById(all.getContent()))
+                .extracting(Book::getName).containsExactly("The Hidden Treasure");
+    }
+
+    @Test
+    void testFindIdsByFiltersPaged_ShouldPageDistinctSortedIds() {
+        Page<Long> firstPage = bookRepository.findIdsByFiltersPaged(
+                2L, null, null, null, null, null, PageRequest.of(0, 3, Sort.by("price")));
+        Page<Long> secondPage = bookRepository.findIdsByFiltersPaged(
+                2L, null, null, null, null, null, PageRequest.of(1, 3, Sort.by("price")));
+
+        assertThat(firstPage.getTotalElements()).isEqualTo(5);
+        assertThat(firstPage.getContent()).hasSize(3).doesNotContainAnyElementsOf(secondPage.getContent());
+        List<BigDecimal> prices = bookRepository.findAllById(firstPage.getContent()).stream()
+                .map(Book::getPrice).sorted().toList();
+        assertThat(prices.get(2)).isLessThanOrEqualTo(
+                bookRepository.findAllById(secondPage.getContent()).stream()
+                        .map(Book::getPrice).min(BigDecimal::compareTo).orElseThrow());
+    }
+
+    @Test
+    void testFindBySpecification_ShouldApplyCatalogFilters() {
+        CatalogQuery query = CatalogQuery.of(List.of(1L, 2L), CategoryMatch.ALL, Language.ENGLISH, null, null, null);
+
+        List<Book> found = bookRepository.findAll(BookSpecifications.matching(query, "treasure"));
+
+        assertThat(found).extracting(Book::getName).containsExactly("The Hidden Treasure");
+    }
+
+    @Test
+    void testFindBySortValueAndCursor_ShouldSplitMissingValuesAndSeekPastCursor() {
+        Book undated = new Book();
+        undated.setName("Undated Book");
+        undated.setAuthor("Author Three");
+        undated.setPrice(new BigDecimal("9.99"));
+        entityManager.persist(undated);
+        entityManager.flush();
+        Specification<Book> allBooks = BookSpecifications.matching(CatalogQuery.of(null, null, null, null, null), null);
+        Book book1 = bookRepository.findByName("Test Book 1").orElseThrow();
+
+        Specification<Book> datedBooks = allBooks.and(BookSpecifications.hasSortValue(BookSortKey.NEWEST, true));
+
+        List<Book> dated = bookRepository.findAll(datedBooks);
+        List<Book> missing = bookRepository.findAll(
+                allBooks.and(BookSpecifications.hasSortValue(BookSortKey.NEWEST, false)));
+        List<Book> older = bookRepository.findAll(datedBooks.and(BookSpecifications.beyond(
+                new BookCursor(BookSortKey.NEWEST, false, book1.getId(), book1.getPublicationDate()))));
+        List<Book> newer = bookRepository.findAll(datedBooks.and(BookSpecifications.beyond(
+                new BookCursor(BookSortKey.NEWEST, true, book1.getId(), book1.getPublicationDate()))));
+
+        assertThat(dated).hasSize(24);
+        assertThat(missing).extracting(Book::getName).containsExactly("Undated Book");
+        assertThat(older).allMatch(book -> book.getPublicationDate().isBefore(book1.getPublicationDate())
+                || book.getPublicationDate().isEqual(book1.getPublicationDate()) && book.getId() > book1.getId());
+        assertThat(newer).allMatch(book -> book.getPublicationDate().isAfter(book1.getPublicationDate())
+                || book.getPublicationDate().isEqual(book1.getPublicationDate()) && book.getId() < book1.getId());
+        assertThat(older.size() + newer.size()).isEqualTo(23);
+    }
+
+    @Test
+    void testFindSummaries_ShouldReadListingColumnsOnly() {
+        Book first = bookRepository.findByName("Test Book 1").orElseThrow();
+        Book second = bookRepository.findByName("Test Book 2").orElseThrow();
+
+        List<BookSummaryView> byIds = bookRepository.findSummariesByIdIn(List.of(first.getId(), second.getId()));
+        Page<BookSummaryView> newest = bookRepository.findSummariesBy(
+                PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "publicationDate")));
+
+        assertThat(byIds).extracting(BookSummaryView::getName)
+                .containsExactlyInAnyOrder("Test Book 1", "Test Book 2");
+        assertThat(byIds).extracting(BookSummaryView::getLanguage)
+                .containsExactlyInAnyOrder(Language.UKRAINIAN, Language.ENGLISH);
+        assertThat(newest.getTotalElements()).isEqualTo(24);
+        assertThat(newest.getContent()).hasSize(3);
+        assertThat(newest.getContent().get(0).getPublicationDate())
+                .isAfterOrEqualTo(newest.getContent().get(2).getPublicationDate());
+    }
 }
@@ -8,11 +8,15 @@ import com.epam.rd.autocode.spring.project.model.enums.AgeGroup;
 import com.epam.rd.autocode.spring.project.model.enums.Language;
 import com.epam.rd.autocode.spring.project.model.enums.Status;
 import com.epam.rd.autocode.spring.project.model.enums.Role;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -31,6 +35,9 @@ class OrderRepositoryTest {
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private BookItemRepository bookItemRepository;
+
     private User testUser;
     private Order testOrder1;
     private Order testOrder2;
@@ -45,6 +52,7 @@ class OrderRepositoryTest {
         testUser.setRole(Role.CUSTOMER);
         testUser.setBalance(new BigDecimal("500.00"));
         testUser.setIsBlocked(false);
+        testUser.setFailedLoginAttempts(0);
         entityManager.persist(testUser);
 
         testBook = new Book();
@@ -90,41 +98,56 @@ class OrderRepositoryTest {
     }
 
     @Test
-    void testFindOrdersWithAllDetailsByUserId_ShouldReturnOrdersWithBookItems() {
-        List<Order> orders = orderRepository.findOrdersWithAllDetailsByUserId(testUser.getId());
+    void testFindPageByUserId_ShouldPageOnlyTheUsersOrdersNewestFirst() {
+        User otherUser = new User();
+        otherUser.setName("Other User");
+        otherUser.setEmail("other@example.com");
+        otherUser.setPassword("password");
+        otherUser.setRole(Role.CUSTOMER);
+        otherUser.setIsBlocked(false);
+        otherUser.setFailedLoginAttempts(0);
+        entityManager.persist(otherUser);
+        Order otherOrder = new Order();
+        otherOrder.setUser(otherUser);
+        otherOrder.setOrderDate(LocalDateTime.now());
+        otherOrder.setStatus(Status.PENDING);
+        otherOrder.setPrice(new BigDecimal("29.99"));
+        entityManager.persist(otherOrder);
+        entityManager.flush();
+        entityManager.clear();
+        PageRequest newestFirst = PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "orderDate", "id"));
 
-        assertThat(orders).hasSize(2);
-        assertThat(orders.get(0).getOrderDate()).isAfter(orders.get(1).getOrderDate());
-        assertThat(orders).extracting(Order::getStatus)
-                .containsExactly(Status.DELIVERED, Status.PENDING);
+        Page<Order> first = orderRepository.findPageByUserId(testUser.getId(), newestFirst);
+        Page<Order> second = orderRepository.findPageByUserId(testUser.getId(), newestFirst.next());
+
+        assertThat(first.getTotalElements()).isEqualTo(2);
+        assertThat(first.getContent()).extracting(Order::getId).containsExactly(testOrder2.getId());
+        assertThat(second.getContent()).extracting(Order::getId).containsExactly(testOrder1.getId());
+        assertThat(Hibernate.isInitialized(first.getContent().get(0).getUser())).isTrue();
+        assertThat(Hibernate.isInitialized(first.getContent().get(0).getBookItems())).isFalse();
     }
 
     @Test
-    void testFindOrdersWithAllDetailsByUserId_ShouldLoadBookItems() {
-        entityManager.flush();
-        entityManager.clear();
-        
-        List<Order> orders = orderRepository.findOrdersWithAllDetailsByUserId(testUser.getId());
+    void testFindPageByUserId_WhenNoOrders_ShouldReturnEmptyPage() {
+        Page<Order> page = orderRepository.findPageByUserId(999L, PageRequest.of(0, 10));
 
-        assertThat(orders).isNotEmpty();
-        assertThat(orders.get(0).getBookItems()).isNotEmpty();
-        assertThat(orders.get(0).getBookItems().get(0).getBook()).isNotNull();
+        assertThat(page.getContent()).isEmpty();
+        assertThat(page.getTotalElements()).isZero();
     }
 
     @Test
-    void testFindOrdersWithAllDetailsByUserId_WhenNoOrders_ShouldReturnEmptyList() {
-        User newUser = new User();
-        newUser.setName("New User");
-        newUser.setEmail("newuser@example.com");
-        newUser.setPassword("password");
-        newUser.setRole(Role.CUSTOMER);
-        newUser.setIsBlocked(false);
-        entityManager.persist(newUser);
-        entityManager.flush();
+    void testFindWithBooksByOrderIds_ShouldLoadLinesOfTheGivenOrdersWithBooks() {
+        entityManager.clear();
 
-        List<Order> orders = orderRepository.findOrdersWithAllDetailsByUserId(newUser.getId());
+        List<BookItem> items = bookItemRepository.findWithBooksByOrderIds(
+                List.of(testOrder1.getId(), testOrder2.getId()));
+        List<BookItem> secondOnly = bookItemRepository.findWithBooksByOrderIds(List.of(testOrder2.getId()));
 
-        assertThat(orders).isEmpty();
+        assertThat(items).extracting(item -> item.getOrder().getId())
+                .containsExactly(testOrder1.getId(), testOrder2.getId());
+        assertThat(items).allMatch(item -> Hibernate.isInitialized(item.getBook()));
+        assertThat(items).extracting(item -> item.getBook().getName()).containsOnly("Test Book");
+        assertThat(secondOnly).extracting(BookItem::getQuantity).containsExactly(2);
     }
 
     @Test
@@ -226,14 +249,4 @@ class OrderRepositoryTest {
         Order foundOrder = orderRepository.findById(order.getId()).orElseThrow();
         assertThat(foundOrder.getBookItems()).hasSize(2);
     }
-
-    @Test
-    void testOrdersSortedByDateDescending() {
-        List<Order> orders = orderRepository.findOrdersWithAllDetailsByUserId(testUser.getId());
-
-        assertThat(orders).hasSize(2);
-        LocalDateTime firstOrderDate = orders.get(0).getOrderDate();
-        LocalDateTime secondOrderDate = orders.get(1).getOrderDate();
-        assertThat(firstOrderDate).isAfter(secondOrderDate);
-    }
 }
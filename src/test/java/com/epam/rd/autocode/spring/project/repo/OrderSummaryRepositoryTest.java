@@ -0,0 +1,184 @@
+package com.epam.rd.autocode.spring.project.repo;
+
+import com.epam.rd.autocode.spring.project.model.Book;
+import com.epam.rd.autocode.spring.project.model.BookItem;
+import com.epam.rd.autocode.spring.project.model.Order;
+import com.epam.rd.autocode.spring.project.model.OrderSummary;
+import com.epam.rd.autocode.spring.project.model.User;
+import com.epam.rd.autocode.spring.project.model.enums.AgeGroup;
+import com.epam.rd.autocode.spring.project.model.enums.Language;
+import com.epam.rd.autocode.spring.project.model.enums.Role;
+import com.epam.rd.autocode.spring.project.model.enums.Status;
+import com.epam.rd.autocode.spring.project.repo.projection.OrderSummaryView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class OrderSummaryRepositoryTest {
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 3, 1);
+    private static final LocalDate SECOND_DAY = FIRST_DAY.plusDays(1);
+    private static final Pageable BY_DATE = PageRequest.of(0, 10, Sort.by("orderDate"));
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OrderSummaryRepository orderSummaryRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private User customer;
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        customer = new User();
+        customer.setName("Summary Customer");
+        customer.setEmail("summary@example.com");
+        customer.setPassword("password123");
+        customer.setRole(Role.CUSTOMER);
+        customer.setBalance(new BigDecimal("500.00"));
+        customer.setIsBlocked(false);
+        customer.setFailedLoginAttempts(0);
+        entityManager.persist(customer);
+
+        book = new Book();
+        book.setName("Summary Book");
+        book.setIsbn("978-0-123456-47-2");
+        book.setAuthor("Summary Author");
+        book.setPrice(new BigDecimal("10.00"));
+        book.setLanguage(Language.ENGLISH);
+        book.setAgeGroup(AgeGroup.ADULT);
+        entityManager.persist(book);
+    }
+
+    @Test
+    void testInsertMissing_ShouldAddOneRowPerOrderWithItsTotals() {
+        Order twoLines = order(FIRST_DAY.atTime(10, 0), Status.PENDING, "40.00");
+        line(twoLines, 1);
+        line(twoLines, 3);
+        Order noLines = order(SECOND_DAY.atTime(9, 0), Status.DELIVERED, "0.00");
+        entityManager.flush();
+        entityManager.clear();
+
+        int inserted = orderSummaryRepository.insertMissing();
+        entityManager.clear();
+
+        assertThat(inserted).isEqualTo(orderRepository.count());
+        OrderSummary first = orderSummaryRepository.findById(twoLines.getId()).orElseThrow();
+        assertThat(first.getUserId()).isEqualTo(customer.getId());
+        assertThat(first.getCustomerEmail()).isEqualTo("summary@example.com");
+        assertThat(first.getOrderDate()).isEqualTo(FIRST_DAY.atTime(10, 0));
+        assertThat(first.getStatus()).isEqualTo(Status.PENDING);
+        assertThat(first.getPrice()).isEqualByComparingTo("40.00");
+        assertThat(first.getItemCount()).isEqualTo(2);
+        assertThat(first.getTotalQuantity()).isEqualTo(4);
+        OrderSummary second = orderSummaryRepository.findById(noLines.getId()).orElseThrow();
+        assertThat(second.getItemCount()).isZero();
+        assertThat(second.getTotalQuantity()).isZero();
+    }
+
+    @Test
+    void testInsertMissing_ShouldBeIdempotentAndKeepExistingRows() {
+        Order summarized = order(FIRST_DAY.atTime(10, 0), Status.PENDING, "10.00");
+        line(summarized, 1);
+        Order missing = order(SECOND_DAY.atTime(10, 0), Status.PENDING, "20.00");
+        line(missing, 2);
+        OrderSummary existing = summary(summarized.getId(), FIRST_DAY.atTime(10, 0), Status.DELIVERED);
+        entityManager.flush();
+
+        int first = orderSummaryRepository.insertMissing();
+        int second = orderSummaryRepository.insertMissing();
+        entityManager.clear();
+
+        assertThat(first).isEqualTo(orderRepository.count() - 1);
+        assertThat(second).isZero();
+        assertThat(orderSummaryRepository.count()).isEqualTo(orderRepository.count());
+        assertThat(orderSummaryRepository.findById(existing.getId()).orElseThrow().getStatus())
+                .isEqualTo(Status.DELIVERED);
+        assertThat(orderSummaryRepository.findById(missing.getId()).orElseThrow().getTotalQuantity()).isEqualTo(2);
+    }
+
+    @Test
+    void testFindPage_ShouldFilterByStatus() {
+        summary(1001L, FIRST_DAY.atTime(10, 0), Status.PENDING);
+        summary(1002L, FIRST_DAY.atTime(11, 0), Status.DELIVERED);
+        summary(1003L, SECOND_DAY.atTime(10, 0), Status.PENDING);
+        entityManager.flush();
+
+        Page<OrderSummaryView> pending = orderSummaryRepository.findPage(Status.PENDING, null, null, BY_DATE);
+        Page<OrderSummaryView> all = orderSummaryRepository.findPage(null, null, null, BY_DATE);
+
+        assertThat(pending.getTotalElements()).isEqualTo(2);
+        assertThat(pending.getContent()).extracting(OrderSummaryView::getId).containsExactly(1001L, 1003L);
+        assertThat(all.getTotalElements()).isEqualTo(3);
+    }
+
+    // The service turns an inclusive end day into the next midnight, so the last second of that day is in
+    // the page and the following midnight is not.
+    @Test
+    void testFindPage_ShouldKeepWholeEndDayAndExcludeNextMidnight() {
+        summary(1001L, FIRST_DAY.minusDays(1).atTime(23, 59, 59), Status.PENDING);
+        summary(1002L, FIRST_DAY.atStartOfDay(), Status.PENDING);
+        summary(1003L, SECOND_DAY.atTime(23, 59, 59), Status.DELIVERED);
+        summary(1004L, SECOND_DAY.plusDays(1).atStartOfDay(), Status.PENDING);
+        entityManager.flush();
+        LocalDateTime from = FIRST_DAY.atStartOfDay();
+        LocalDateTime to = SECOND_DAY.plusDays(1).atStartOfDay();
+
+        Page<OrderSummaryView> range = orderSummaryRepository.findPage(null, from, to, BY_DATE);
+        Page<OrderSummaryView> pendingInRange = orderSummaryRepository.findPage(Status.PENDING, from, to, BY_DATE);
+        Page<OrderSummaryView> onlyEndBound = orderSummaryRepository.findPage(null, null, to, BY_DATE);
+
+        assertThat(range.getContent()).extracting(OrderSummaryView::getId).containsExactly(1002L, 1003L);
+        assertThat(range.getTotalElements()).isEqualTo(2);
+        assertThat(pendingInRange.getContent()).extracting(OrderSummaryView::getId).containsExactly(1002L);
+        assertThat(onlyEndBound.getContent()).extracting(OrderSummaryView::getId)
+                .containsExactly(1001L, 1002L, 1003L);
+    }
+
+    private Order order(LocalDateTime orderDate, Status status, String price) {
+        Order order = new Order();
+        order.setUser(customer);
+        order.setOrderDate(orderDate);
+        order.setStatus(status);
+        order.setPrice(new BigDecimal(price));
+        return entityManager.persist(order);
+    }
+
+    private void line(Order order, int quantity) {
+        BookItem item = new BookItem();
+        item.setBook(book);
+        item.setOrder(order);
+        item.setQuantity(quantity);
+        item.setPricePerUnit(book.getPrice());
+        entityManager.persist(item);
+    }
+
+    private OrderSummary summary(Long id, LocalDateTime orderDate, Status status) {
+        OrderSummary summary = new OrderSummary();
+        summary.setId(id);
+        summary.setUserId(customer.getId());
+        summary.setCustomerEmail(customer.getEmail());
+        summary.setOrderDate(orderDate);
+        summary.setStatus(status);
+        summary.setPrice(new BigDecimal("10.00"));
+        summary.setItemCount(1);
+        summary.setTotalQuantity(1);
+        return entityManager.persist(summary);
+    }
+}
@@ -35,6 +35,7 @@ class UserRepositoryTest {
         testCustomer.setBalance(new BigDecimal("100.00"));
         testCustomer.setRole(Role.CUSTOMER);
         testCustomer.setIsBlocked(false);
+        testCustomer.setFailedLoginAttempts(0);
         entityManager.persist(testCustomer);
 
         User testEmployee = new User();
@@ -43,6 +44,7 @@ class UserRepositoryTest {
         testEmployee.setPassword("password456");
         testEmployee.setIsBlocked(false);
         testEmployee.setRole(Role.EMPLOYEE);
+        testEmployee.setFailedLoginAttempts(0);
         entityManager.persist(testEmployee);
 
         entityManager.flush();
@@ -94,6 +96,7 @@ class UserRepositoryTest {
         newUser.setRole(Role.CUSTOMER);
         newUser.setBalance(new BigDecimal("50.00"));
         newUser.setIsBlocked(false);
+        newUser.setFailedLoginAttempts(0);
 
         User saved = userRepository.save(newUser);
 
@@ -145,4 +148,19 @@ class UserRepositoryTest {
         assertThat(employees).hasSize(11);
         assertThat(employees.get(10).getEmail()).isEqualTo("employee@example.com");
     }
+
+    @Test
+    void testFlushFailedLoginAttempts_AfterReset_ShouldNotOverwriteIt() {
+        Long id = userRepository.findByEmail("customer@example.com").orElseThrow().getId();
+        long queuedAgainst = entityManager.find(User.class, id).getLoginStateVersion();
+
+        assertThat(userRepository.flushFailedLoginAttempts(id, 3, queuedAgainst)).isEqualTo(1);
+        assertThat(userRepository.updateFailedLoginAttempts(id, 0)).isEqualTo(1);
+        assertThat(userRepository.flushFailedLoginAttempts(id, 4, queuedAgainst)).isZero();
+        entityManager.clear();
+
+        User stored = userRepository.findById(id).orElseThrow();
+        assertThat(stored.getFailedLoginAttempts()).isZero();
+        assertThat(stored.getLoginStateVersion()).isEqualTo(queuedAgainst + 1);
+    }
 }
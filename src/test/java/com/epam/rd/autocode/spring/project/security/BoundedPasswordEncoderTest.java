@@ -0,0 +1,83 @@
+package com.epam.rd.autocode.spring.project.security;
+
+import com.epam.rd.autocode.spring.project.exception.PasswordHashingUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    private final BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(4, 1, 1);
+
+    @AfterEach
+    void tearDown() {
+        encoder.shutdown();
+    }
+
+    @Test
+    void testEncodeAndMatches_ShouldRunBCryptWithConfiguredStrength() {
+        String hash = encoder.encode("secret123");
+
+        assertThat(hash).startsWith("$2a$04$");
+        assertThat(encoder.matches("secret123", hash)).isTrue();
+        assertThat(encoder.matches("wrong", hash)).isFalse();
+        assertThat(encoder.metrics()).containsEntry("hashes", 1L).containsEntry("verifications", 2L)
+                .containsEntry("queueDepth", 0);
+    }
+
+    @Test
+    void testUpgradeEncoding_WhenStoredCostIsLower_ShouldRequestRehash() {
+        BoundedPasswordEncoder stronger = new BoundedPasswordEncoder(5, 1, 1);
+        try {
+            assertThat(stronger.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret123"))).isTrue();
+            assertThat(stronger.upgradeEncoding(stronger.encode("secret123"))).isFalse();
+            assertThat(stronger.metrics()).containsEntry("upgradesRequested", 1L);
+        } finally {
+            stronger.shutdown();
+        }
+    }
+
+    @Test
+    void testMatches_WhenPoolAndQueueAreFull_ShouldFailFast() throws Exception {
+        BoundedPasswordEncoder slow = new BoundedPasswordEncoder(14, 1, 1);
+        String hash = new BCryptPasswordEncoder(14).encode("secret123");
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(callers.submit(() -> slow.matches("secret123", hash)));
+            }
+            int refused = 0;
+            for (Future<Boolean> result : results) {
+                try {
+                    assertThat(result.get()).isTrue();
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(PasswordHashingUnavailableException.class);
+                    refused++;
+                }
+            }
+            assertThat(refused).isPositive();
+            assertThat(slow.metrics()).containsEntry("rejected", (long) refused);
+        } finally {
+            callers.shutdownNow();
+            slow.shutdown();
+        }
+    }
+
+    @Test
+    void testEncode_AfterShutdown_ShouldRefuse() {
+        encoder.shutdown();
+
+        assertThatThrownBy(() -> encoder.encode("secret123")).isInstanceOf(PasswordHashingUnavailableException.class);
+    }
+}
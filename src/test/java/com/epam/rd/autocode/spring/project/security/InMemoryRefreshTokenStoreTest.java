@@ -0,0 +1,81 @@
+package com.epam.rd.autocode.spring.project.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryRefreshTokenStoreTest {
+
+    private final InMemoryRefreshTokenStore store = new InMemoryRefreshTokenStore(Duration.ofDays(1), Duration.ofSeconds(10));
+    private final TokenPair next = new TokenPair("access-2", "refresh-2");
+
+    @Test
+    void testRotate_WhenTokenUnused_ShouldRotateAndRegisterSuccessor() {
+        store.register("t1", "f1");
+
+        RefreshRotation rotation = store.rotate("t1", "f1", "t2", next);
+
+        assertThat(rotation.outcome()).isEqualTo(RefreshRotation.Outcome.ROTATED);
+        assertThat(rotation.successor()).isEqualTo(next);
+        assertThat(store.rotate("t2", "f1", "t3", new TokenPair("a3", "r3")).outcome())
+                .isEqualTo(RefreshRotation.Outcome.ROTATED);
+    }
+
+    @Test
+    void testRotate_WhenPresentedAgainWithinGrace_ShouldReturnSameSuccessor() {
+        store.register("t1", "f1");
+        store.rotate("t1", "f1", "t2", next);
+
+        RefreshRotation again = store.rotate("t1", "f1", "t9", new TokenPair("other", "other"));
+
+        assertThat(again.outcome()).isEqualTo(RefreshRotation.Outcome.ALREADY_ROTATED);
+        assertThat(again.successor()).isEqualTo(next);
+    }
+
+    @Test
+    void testRotate_WhenReusedAfterGrace_ShouldRevokeFamily() {
+        InMemoryRefreshTokenStore noGrace = new InMemoryRefreshTokenStore(Duration.ofDays(1), Duration.ZERO);
+        noGrace.register("t1", "f1");
+        noGrace.rotate("t1", "f1", "t2", next);
+
+        RefreshRotation reuse = noGrace.rotate("t1", "f1", "t3", new TokenPair("a3", "r3"));
+
+        assertThat(reuse.outcome()).isEqualTo(RefreshRotation.Outcome.REUSED);
+        assertThat(reuse.successor()).isNull();
+        assertThat(noGrace.rotate("t2", "f1", "t4", new TokenPair("a4", "r4")).outcome())
+                .isEqualTo(RefreshRotation.Outcome.REVOKED);
+    }
+
+    @Test
+    void testRotate_WhenTokenUnknownOrFromOtherFamily_ShouldReject() {
+        store.register("t1", "f1");
+
+        assertThat(store.rotate("missing", "f1", "t2", next).outcome()).isEqualTo(RefreshRotation.Outcome.UNKNOWN);
+        assertThat(store.rotate("t1", "f2", "t2", next).outcome()).isEqualTo(RefreshRotation.Outcome.UNKNOWN);
+    }
+
+    @Test
+    void testRegister_WhenEntriesExpired_ShouldSweepThem() {
+        InMemoryRefreshTokenStore expiring = new InMemoryRefreshTokenStore(Duration.ZERO, Duration.ZERO);
+        expiring.register("t1", "f1");
+
+        expiring.register("t2", "f1");
+
+        assertThat(expiring.size()).isZero();
+        assertThat(expiring.rotate("t1", "f1", "t3", next).outcome()).isEqualTo(RefreshRotation.Outcome.UNKNOWN);
+    }
+
+    @Test
+    void testRotate_WhenEntriesExpired_ShouldSweepThem() throws InterruptedException {
+        InMemoryRefreshTokenStore expiring = new InMemoryRefreshTokenStore(Duration.ofMillis(50), Duration.ZERO);
+        expiring.register("t1", "f1");
+        expiring.register("t2", "f2");
+        Thread.sleep(60);
+
+        expiring.rotate("missing", "f1", "t3", next);
+
+        assertThat(expiring.size()).isZero();
+    }
+}
@@ -0,0 +1,66 @@
+package com.epam.rd.autocode.spring.project.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemorySlidingWindowCounterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final InMemorySlidingWindowCounter counter =
+            new InMemorySlidingWindowCounter(Duration.ofSeconds(10), clock::get);
+
+    @Test
+    void testIncrementAndCount_ShouldCountPerKey() {
+        counter.incrementAndCount("a");
+        counter.incrementAndCount("a");
+
+        assertThat(counter.incrementAndCount("a")).isEqualTo(3);
+        assertThat(counter.incrementAndCount("b")).isEqualTo(1);
+    }
+
+    @Test
+    void testIncrementAndCount_ShouldDropSlotsThatLeaveTheWindow() {
+        counter.incrementAndCount("a");
+        advanceSeconds(5);
+        counter.incrementAndCount("a");
+        advanceSeconds(5);
+
+        assertThat(counter.incrementAndCount("a")).isEqualTo(2);
+        advanceSeconds(5);
+        assertThat(counter.incrementAndCount("a")).isEqualTo(2);
+    }
+
+    @Test
+    void testIncrementAndCount_WhenKeysIdleForAWindow_ShouldSweepThem() {
+        counter.incrementAndCount("a");
+        counter.incrementAndCount("b");
+        advanceSeconds(20);
+
+        counter.incrementAndCount("c");
+
+        assertThat(counter.size()).isEqualTo(1);
+    }
+
+    @Test
+    void testIncrementAndCount_WhenConcurrent_ShouldNotLoseIncrements() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8_000; i++) {
+            executor.submit(() -> counter.incrementAndCount("a"));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(counter.incrementAndCount("a")).isEqualTo(8_001);
+    }
+
+    private void advanceSeconds(long seconds) {
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+}
@@ -0,0 +1,165 @@
+package com.epam.rd.autocode.spring.project.security;
+
+import io.jsonwebtoken.Jwts;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Date;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Run with: mvn test -Dtest=JwtRefreshFilterBenchmarkTest -Dbenchmark=true
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class JwtRefreshFilterBenchmarkTest {
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+    private static final int OPERATIONS_PER_ROUND = 200_000;
+    private static final String SECRET =
+            "testSecretKeyForJWTthatIsLongEnoughToBeSecuretestSecretKeyForJWTthatIsLongEnoughToBeSecure";
+
+    private static final List<MockHttpServletRequest> REQUESTS = List.of(
+            request("GET", "/css/main.css"), request("GET", "/books/42"), request("GET", "/cart/view"),
+            request("GET", "/profile"), request("GET", "/management/orders"), request("POST", "/orders/7/status"),
+            request("GET", "/login"), request("GET", "/admin/metrics"));
+
+    private final PublicRoutes publicRoutes = new PublicRoutes();
+
+    @Test
+    void benchmarkRouteClassification() {
+        double legacy = nanosPerOperation(request -> legacyIsPublicEndpoint(request.getRequestURI()) ? 1 : 0);
+        double trie = nanosPerOperation(request -> publicRoutes.matches(request) ? 1 : 0);
+
+        System.out.printf("Route classification: startsWith chain %.1f ns/op, route trie %.1f ns/op%n", legacy, trie);
+    }
+
+    @Test
+    void benchmarkCookieExtraction() {
+        Cookie[] cookies = {new Cookie("JSESSIONID", "abc"), new Cookie("lang", "uk"),
+                new Cookie("shoppingCart", "1:2"), new Cookie("JWT_TOKEN", "access"), new Cookie("REFRESH_TOKEN", "refresh")};
+        MockHttpServletRequest request = request("GET", "/profile");
+        request.setCookies(cookies);
+
+        double twoPass = nanosPerOperation(ignored -> {
+            String access = legacyExtract(request, "JWT_TOKEN");
+            String refresh = legacyExtract(request, "REFRESH_TOKEN");
+            return access.length() + refresh.length();
+        });
+        double onePass = nanosPerOperation(ignored -> {
+            String access = null;
+            String refresh = null;
+            for (Cookie cookie : request.getCookies()) {
+                String name = cookie.getName();
+                if ("JWT_TOKEN".equals(name)) {
+                    access = cookie.getValue();
+                } else if ("REFRESH_TOKEN".equals(name)) {
+                    refresh = cookie.getValue();
+                }
+            }
+            return access.length() + refresh.length();
+        });
+
+        System.out.printf("Cookie extraction: two passes %.1f ns/op, one pass %.1f ns/op%n", twoPass, onePass);
+    }
+
+    @Test
+    void benchmarkFilterPerRequestOverhead() {
+        JwtVerifier verifier = new JwtVerifier(SECRET, 100);
+        JwtRefreshFilter filter = new JwtRefreshFilter(verifier, null, publicRoutes);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+        };
+        MockHttpServletRequest publicRequest = request("GET", "/books/42");
+        MockHttpServletRequest authenticated = request("GET", "/profile");
+        authenticated.setCookies(new Cookie("JWT_TOKEN", accessToken(verifier)));
+
+        double publicNanos = nanosPerOperation(ignored -> doFilter(filter, publicRequest, response, chain));
+        double authenticatedNanos = nanosPerOperation(ignored -> doFilter(filter, authenticated, response, chain));
+
+        System.out.printf("JwtRefreshFilter: public route %.1f ns/op, authenticated route (cached token) %.1f ns/op%n",
+                publicNanos, authenticatedNanos);
+        assertThat(verifier.metrics()).containsEntry("verifications", 1L);
+    }
+
+    private static int doFilter(JwtRefreshFilter filter, HttpServletRequest request, MockHttpServletResponse response,
+                                FilterChain chain) {
+        try {
+            filter.doFilter(request, response, chain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return 1;
+    }
+
+    private static double nanosPerOperation(ToIntFunction<MockHttpServletRequest> operation) {
+        int sink = 0;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            for (int i = 0; i < OPERATIONS_PER_ROUND; i++) {
+                sink += operation.applyAsInt(REQUESTS.get(i & 7));
+            }
+        }
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < OPERATIONS_PER_ROUND; i++) {
+                sink += operation.applyAsInt(REQUESTS.get(i & 7));
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        assertThat(sink).isNotZero();
+        return (double) best / OPERATIONS_PER_ROUND;
+    }
+
+    // The checks JwtRefreshFilter used to run on every request.
+    private static boolean legacyIsPublicEndpoint(String uri) {
+        return uri.startsWith("/css/") ||
+               uri.startsWith("/js/") ||
+               uri.startsWith("/images/") ||
+               uri.startsWith("/img/") ||
+               uri.equals("/favicon.ico") ||
+               uri.equals("/error") ||
+               uri.startsWith("/h2-console/") ||
+               uri.equals("/register") ||
+               uri.equals("/login") ||
+               uri.equals("/") ||
+               uri.equals("/api/auth/refresh") ||
+               uri.startsWith("/categories") ||
+               uri.startsWith("/books") ||
+               uri.startsWith("/cart/");
+    }
+
+    private static String legacyExtract(HttpServletRequest request, String cookieName) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (cookieName.equals(cookie.getName())) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String accessToken(JwtVerifier verifier) {
+        Date now = new Date();
+        return Jwts.builder()
+                .subject("reader@example.com")
+                .id("1")
+                .claim("role", "CUSTOMER")
+                .claim("type", "access")
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + 3_600_000))
+                .signWith(verifier.key(), Jwts.SIG.HS256)
+                .compact();
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        return new MockHttpServletRequest(method, uri);
+    }
+}
@@ -0,0 +1,98 @@
+package com.epam.rd.autocode.spring.project.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtVerifierTest {
+    private static final String SECRET =
+            "testSecretKeyForJWTthatIsLongEnoughToBeSecuretestSecretKeyForJWTthatIsLongEnoughToBeSecure";
+
+    private final JwtVerifier verifier = new JwtVerifier(SECRET, 100);
+
+    @Test
+    void testVerify_WhenCalledTwice_ShouldVerifySignatureOnce() {
+        String token = token("access", 60_000);
+
+        Claims first = verifier.verify(token);
+        Claims second = verifier.verify(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(verifier.metrics()).containsEntry("verifications", 1L).containsEntry("cacheHits", 1L);
+    }
+
+    @Test
+    void testVerify_WhenSignatureTampered_ShouldRejectAndNotCache() {
+        String token = token("access", 60_000);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThatThrownBy(() -> verifier.verify(tampered)).isInstanceOf(SignatureException.class);
+        assertThat(verifier.metrics()).containsEntry("rejections", 1L).containsEntry("size", 0);
+    }
+
+    @Test
+    void testVerify_WhenCachedTokenExpires_ShouldRejectIt() throws InterruptedException {
+        String token = token("access", 1500);
+        verifier.verify(token);
+
+        Thread.sleep(2000);
+
+        assertThatThrownBy(() -> verifier.verify(token)).isInstanceOf(ExpiredJwtException.class);
+        assertThat(verifier.metrics()).containsEntry("size", 0);
+    }
+
+    @Test
+    void testVerify_WhenFull_ShouldEvictLeastRecentlyUsed() {
+        JwtVerifier small = new JwtVerifier(SECRET, 1);
+        String first = token("access", 60_000);
+        String second = token("refresh", 60_000);
+
+        small.verify(first);
+        small.verify(second);
+        small.verify(first);
+
+        assertThat(small.metrics()).containsEntry("size", 1).containsEntry("verifications", 3L);
+    }
+
+    @Test
+    void testDecode_ShouldReuseVerifiedClaimsAndApplyValidators() {
+        VerifiedJwtDecoder decoder = new VerifiedJwtDecoder(verifier,
+                new DelegatingOAuth2TokenValidator<>(JwtValidators.createDefault(), new CustomJwtValidator()));
+        String access = token("access", 60_000);
+        verifier.verify(access);
+
+        Jwt jwt = decoder.decode(access);
+
+        assertThat(jwt.getSubject()).isEqualTo("reader@example.com");
+        assertThat(jwt.getClaimAsString("role")).isEqualTo("CUSTOMER");
+        assertThat(jwt.getExpiresAt()).isNotNull();
+        assertThat(verifier.metrics()).containsEntry("verifications", 1L);
+        assertThatThrownBy(() -> decoder.decode(token("refresh", 60_000))).isInstanceOf(JwtValidationException.class);
+        assertThatThrownBy(() -> decoder.decode("not-a-token")).isInstanceOf(BadJwtException.class);
+    }
+
+    private String token(String type, long ttlMillis) {
+        Date now = new Date();
+        return Jwts.builder()
+                .subject("reader@example.com")
+                .id("1")
+                .claim("role", "CUSTOMER")
+                .claim("type", type)
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + ttlMillis))
+                .signWith(verifier.key(), Jwts.SIG.HS256)
+                .compact();
+    }
+}
@@ -0,0 +1,35 @@
+package com.epam.rd.autocode.spring.project.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginRateLimiterTest {
+
+    private final LoginRateLimiter limiter =
+            new LoginRateLimiter(new InMemorySlidingWindowCounter(Duration.ofMinutes(5)), 3, 5);
+
+    @Test
+    void testTryAcquire_WhenEmailOverLimit_ShouldRejectRegardlessOfCase() {
+        assertThat(limiter.tryAcquire("user@example.com", "10.0.0.1")).isTrue();
+        assertThat(limiter.tryAcquire("USER@example.com", "10.0.0.2")).isTrue();
+        assertThat(limiter.tryAcquire("user@example.com", "10.0.0.3")).isTrue();
+
+        assertThat(limiter.tryAcquire("user@example.com", "10.0.0.4")).isFalse();
+        assertThat(limiter.tryAcquire("other@example.com", "10.0.0.4")).isTrue();
+        assertThat(limiter.metrics()).containsEntry("rejectedByEmail", 1L).containsEntry("allowed", 4L);
+    }
+
+    @Test
+    void testTryAcquire_WhenIpOverLimit_ShouldRejectAnyEmail() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("user" + i + "@example.com", "10.0.0.1")).isTrue();
+        }
+
+        assertThat(limiter.tryAcquire("fresh@example.com", "10.0.0.1")).isFalse();
+        assertThat(limiter.tryAcquire("fresh@example.com", "10.0.0.2")).isTrue();
+        assertThat(limiter.metrics()).containsEntry("rejectedByIp", 1L).containsEntry("rejected", 1L);
+    }
+}
@@ -0,0 +1,40 @@
+package com.epam.rd.autocode.spring.project.security;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class RedisRefreshTokenStoreTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Captor
+    private ArgumentCaptor<RedisScript<Long>> script;
+
+    @Test
+    void testRegister_ShouldSetFamilyAndExpiryInOneScript() {
+        RedisRefreshTokenStore store = new RedisRefreshTokenStore(redisTemplate, Duration.ofDays(1),
+                Duration.ofSeconds(10));
+
+        store.register("t1", "f1");
+
+        verify(redisTemplate).execute(script.capture(), eq(List.of("refresh:token:t1")), eq("f1"), eq("86400000"));
+        assertThat(script.getValue().getScriptAsString()).contains("HSET").contains("PEXPIRE");
+        verifyNoMoreInteractions(redisTemplate);
+    }
+}
@@ -0,0 +1,149 @@
+package com.epam.rd.autocode.spring.project.security;
+
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RefreshTokenServiceTest {
+    private static final String SECRET =
+            "testSecretKeyForJWTthatIsLongEnoughToBeSecuretestSecretKeyForJWTthatIsLongEnoughToBeSecure";
+    private static final String EMAIL = "reader@example.com";
+
+    private final JwtVerifier verifier = new JwtVerifier(SECRET, 100);
+    private final AtomicInteger issuedTokens = new AtomicInteger();
+    private JwtTokenProvider tokenProvider;
+    private UserDetailsService userDetailsService;
+    private RefreshTokenService service;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = mock(JwtTokenProvider.class);
+        userDetailsService = mock(UserDetailsService.class);
+        when(tokenProvider.generateToken(any())).thenAnswer(invocation -> "access-" + issuedTokens.incrementAndGet());
+        when(tokenProvider.generateRefreshToken(any(), anyString(), anyString()))
+                .thenAnswer(invocation -> refreshToken(invocation.getArgument(1), invocation.getArgument(2)));
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(user(false));
+        service = new RefreshTokenService(tokenProvider, verifier,
+                new InMemoryRefreshTokenStore(Duration.ofDays(1), Duration.ZERO), userDetailsService);
+    }
+
+    @Test
+    void testRefresh_ShouldRotateOnceAndRejectReuse() {
+        TokenPair login = service.issue(authentication());
+
+        Optional<TokenPair> first = service.refresh(login.refreshToken());
+        Optional<TokenPair> reused = service.refresh(login.refreshToken());
+
+        assertThat(first).isPresent();
+        assertThat(reused).isEmpty();
+        assertThat(service.refresh(first.get().refreshToken())).isEmpty();
+        assertThat(service.metrics()).containsEntry("rotations", 1L).containsEntry("reuseDetected", 1L);
+    }
+
+    @Test
+    void testRefresh_WhenUserLocked_ShouldRejectAndRevokeFamily() {
+        TokenPair login = service.issue(authentication());
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(user(true));
+
+        assertThat(service.refresh(login.refreshToken())).isEmpty();
+
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(user(false));
+        assertThat(service.refresh(login.refreshToken())).isEmpty();
+    }
+
+    @Test
+    void testRefresh_WhenTokenIsNotARefreshToken_ShouldReject() {
+        assertThat(service.refresh("not-a-token")).isEmpty();
+        assertThat(service.metrics()).containsEntry("rejected", 1L);
+    }
+
+    @Test
+    void testRefresh_WhenConcurrent_ShouldRotateOnceAndShareResult() throws Exception {
+        TokenPair login = service.issue(authentication());
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return user(false);
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Optional<TokenPair>>> results = new ArrayList<>();
+            results.add(executor.submit(() -> service.refresh(login.refreshToken())));
+            loading.await(5, TimeUnit.SECONDS);
+            for (int i = 0; i < 7; i++) {
+                results.add(executor.submit(() -> service.refresh(login.refreshToken())));
+            }
+            awaitCoalesced(7);
+            release.countDown();
+
+            TokenPair expected = results.get(0).get(5, TimeUnit.SECONDS).orElseThrow();
+            for (Future<Optional<TokenPair>> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).contains(expected);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(userDetailsService, times(1)).loadUserByUsername(EMAIL);
+        assertThat(service.metrics()).containsEntry("rotations", 1L).containsEntry("coalesced", 7L);
+    }
+
+    private void awaitCoalesced(long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (service.metrics().get("coalesced").longValue() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private String refreshToken(String tokenId, String familyId) {
+        Date now = new Date();
+        return Jwts.builder()
+                .subject(EMAIL)
+                .id("1")
+                .claim("type", "refresh")
+                .claim(JwtTokenProvider.TOKEN_ID_CLAIM, tokenId)
+                .claim(JwtTokenProvider.FAMILY_ID_CLAIM, familyId)
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + 60_000))
+                .signWith(verifier.key(), Jwts.SIG.HS256)
+                .compact();
+    }
+
+    private static CustomUserDetails user(boolean blocked) {
+        return new CustomUserDetails(1L, EMAIL, "hash", Set.of(new SimpleGrantedAuthority("CUSTOMER")),
+                blocked ? LocalDateTime.now().plusMinutes(15) : null, blocked);
+    }
+
+    private static Authentication authentication() {
+        CustomUserDetails user = user(false);
+        return new UsernamePasswordAuthenticationToken(
+                user, null, user.getAuthorities());
+    }
+}
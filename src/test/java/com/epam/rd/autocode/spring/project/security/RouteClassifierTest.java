@@ -0,0 +1,67 @@
+package com.epam.rd.autocode.spring.project.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+
+import static com.epam.rd.autocode.spring.project.security.RouteClassifier.Route.any;
+import static com.epam.rd.autocode.spring.project.security.RouteClassifier.Route.get;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RouteClassifierTest {
+
+    private final RouteClassifier classifier = new RouteClassifier(List.of(
+            any("/"), any("/login"), any("/css/**"), get("/books/**"), get("/categories")));
+
+    @Test
+    void testMatches_ShouldMatchExactPathsOnly() {
+        assertThat(classifier.matches("POST", "/login", 0)).isTrue();
+        assertThat(classifier.matches("GET", "/", 0)).isTrue();
+        assertThat(classifier.matches("GET", "/login/", 0)).isFalse();
+        assertThat(classifier.matches("GET", "/logins", 0)).isFalse();
+        assertThat(classifier.matches("GET", "/categories/1", 0)).isFalse();
+    }
+
+    @Test
+    void testMatches_ShouldMatchPrefixPatternsAndTheirRoot() {
+        assertThat(classifier.matches("GET", "/css/site/main.css", 0)).isTrue();
+        assertThat(classifier.matches("GET", "/css", 0)).isTrue();
+        assertThat(classifier.matches("GET", "/cssx/main.css", 0)).isFalse();
+        assertThat(classifier.matches("GET", "/books", 0)).isTrue();
+        assertThat(classifier.matches("GET", "/books/12", 0)).isTrue();
+    }
+
+    @Test
+    void testMatches_ShouldRespectRouteMethod() {
+        assertThat(classifier.matches("POST", "/books/12", 0)).isFalse();
+        assertThat(classifier.matches("DELETE", "/categories", 0)).isFalse();
+        assertThat(classifier.matches("PATCH", "/css/main.css", 0)).isTrue();
+    }
+
+    @Test
+    void testMatches_ShouldSkipContextPath() {
+        assertThat(classifier.matches("GET", "/shop/books/12", "/shop".length())).isTrue();
+        assertThat(classifier.matches("GET", "/shop/admin", "/shop".length())).isFalse();
+    }
+
+    @Test
+    void testConstructor_WhenPatternUnsupported_ShouldFail() {
+        assertThatThrownBy(() -> new RouteClassifier(List.of(any("/books/*/edit"))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testPublicRoutes_ShouldMatchSecurityConfigPermitList() {
+        PublicRoutes publicRoutes = new PublicRoutes();
+
+        assertThat(publicRoutes.matches(new MockHttpServletRequest("GET", "/js/cart.js"))).isTrue();
+        assertThat(publicRoutes.matches(new MockHttpServletRequest("POST", "/api/auth/refresh"))).isTrue();
+        assertThat(publicRoutes.matches(new MockHttpServletRequest("POST", "/cart/add"))).isTrue();
+        assertThat(publicRoutes.matches(new MockHttpServletRequest("GET", "/books/5"))).isTrue();
+        assertThat(publicRoutes.matches(new MockHttpServletRequest("POST", "/books/5/delete"))).isFalse();
+        assertThat(publicRoutes.matches(new MockHttpServletRequest("GET", "/profile"))).isFalse();
+        assertThat(publicRoutes.matches(new MockHttpServletRequest("GET", "/admin/metrics"))).isFalse();
+    }
+}
@@ -0,0 +1,130 @@
+package com.epam.rd.autocode.spring.project.security;
+
+import com.epam.rd.autocode.spring.project.model.User;
+import com.epam.rd.autocode.spring.project.model.enums.Role;
+import com.epam.rd.autocode.spring.project.repo.UserRepository;
+import com.epam.rd.autocode.spring.project.security.UserSecurityStateCache.QueuedAttempts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserSecurityStateCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserSecurityStateCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserSecurityStateCache(userRepository, 100, Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testEvict_InsideTransaction_ShouldWaitForCommit() {
+        when(userRepository.findByEmail("user@example.com"))
+                .thenReturn(Optional.of(user(false)))
+                .thenReturn(Optional.of(user(true)));
+        cache.get("user@example.com");
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.evict("user@example.com");
+        assertThat(cache.get("user@example.com")).get().extracting(UserSecurityState::blocked).isEqualTo(false);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(cache.get("user@example.com")).get().extracting(UserSecurityState::blocked).isEqualTo(true);
+        verify(userRepository, times(2)).findByEmail("user@example.com");
+    }
+
+    @Test
+    void testGet_WhenEvictedWhileLoading_ShouldNotCacheTheLoadedRow() {
+        when(userRepository.findByEmail("user@example.com")).thenAnswer(invocation -> {
+            cache.evict("user@example.com");
+            return Optional.of(user(false));
+        });
+
+        cache.get("user@example.com");
+        cache.get("user@example.com");
+
+        verify(userRepository, times(2)).findByEmail("user@example.com");
+    }
+
+    @Test
+    void testMarkFlushed_ShouldKeepCountersQueuedUntilCommit() {
+        cache.queueFailedAttempts(state(3, 0));
+        Map<Long, QueuedAttempts> flushed = cache.queuedAttempts();
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.markFlushed(flushed);
+        assertThat(cache.queuedAttempts()).containsEntry(1L, new QueuedAttempts(3, 0));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(cache.queuedAttempts()).isEmpty();
+    }
+
+    @Test
+    void testMarkFlushed_WhenCounterChangedSinceRead_ShouldKeepTheNewValue() {
+        cache.queueFailedAttempts(state(3, 0));
+        Map<Long, QueuedAttempts> flushed = cache.queuedAttempts();
+        cache.queueFailedAttempts(state(4, 0));
+
+        cache.markFlushed(flushed);
+
+        assertThat(cache.queuedAttempts()).containsEntry(1L, new QueuedAttempts(4, 0));
+        assertThat(cache.metrics()).containsEntry("flushedCounters", 0L);
+    }
+
+    @Test
+    void testGet_WhenRowWasResetSinceCounterWasQueued_ShouldIgnoreTheCounter() {
+        User resetRow = user(false);
+        resetRow.setLoginStateVersion(1L);
+        when(userRepository.findByEmail("user@example.com"))
+                .thenReturn(Optional.of(user(false)))
+                .thenReturn(Optional.of(resetRow));
+        cache.queueFailedAttempts(state(3, 0));
+
+        assertThat(cache.get("user@example.com")).get().extracting(UserSecurityState::failedAttempts).isEqualTo(3);
+        cache.evict("user@example.com");
+        cache.queueFailedAttempts(state(3, 0));
+
+        assertThat(cache.get("user@example.com")).get().extracting(UserSecurityState::failedAttempts).isEqualTo(0);
+    }
+
+    private static UserSecurityState state(int failedAttempts, long version) {
+        return new UserSecurityState(1L, "user@example.com", "hash", Role.CUSTOMER, false, null,
+                failedAttempts, version);
+    }
+
+    private static User user(boolean blocked) {
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("user@example.com");
+        user.setPassword("hash");
+        user.setRole(Role.CUSTOMER);
+        user.setIsBlocked(blocked);
+        user.setFailedLoginAttempts(0);
+        return user;
+    }
+}
@@ -0,0 +1,197 @@
+package com.epam.rd.autocode.spring.project.service;
+
+import com.epam.rd.autocode.spring.project.exception.InsufficientFundsException;
+import com.epam.rd.autocode.spring.project.model.User;
+import com.epam.rd.autocode.spring.project.model.enums.Role;
+import com.epam.rd.autocode.spring.project.repo.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Hammers one account from many threads through the real service and database; every payment and refund
+// must be accounted for exactly once, also across snapshots, and the balance must never go negative.
+@SpringBootTest
+class BalanceConcurrencyTest {
+    private static final int THREADS = 32;
+    private static final BigDecimal ONE = new BigDecimal("1.00");
+    // Just over balance.snapshot.settle-time in the test properties.
+    private static final long SETTLE_MILLIS = 1100;
+
+    @Autowired
+    private BalanceService balanceService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long userId;
+    private long orderBase;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setEmail("balance-" + UUID.randomUUID() + "@example.com");
+        user.setName("Balance Stress");
+        user.setPassword("password");
+        user.setRole(Role.CUSTOMER);
+        user.setBalance(new BigDecimal("100.00"));
+        user.setIsBlocked(false);
+        user.setFailedLoginAttempts(0);
+        userId = userRepository.save(user).getId();
+        orderBase = ThreadLocalRandom.current().nextLong(1L << 40);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteById(userId);
+    }
+
+    @Test
+    void testConcurrentPayments_ShouldNeverOverdrawOrLoseUpdates() throws Exception {
+        AtomicInteger debited = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(400, i -> {
+            try {
+                balanceService.chargeOrder(userId, orderBase + i, ONE);
+                debited.incrementAndGet();
+            } catch (InsufficientFundsException e) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        assertThat(debited).hasValue(100);
+        assertThat(rejected).hasValue(300);
+        assertThat(balance()).isEqualByComparingTo("0.00");
+    }
+
+    @Test
+    void testConcurrentPaymentsRefundsAndSnapshots_ShouldKeepEveryChange() throws Exception {
+        AtomicInteger debited = new AtomicInteger();
+
+        runConcurrently(450, i -> {
+            if (i % 10 == 0) {
+                snapshot();
+            }
+            if (i % 3 == 0) {
+                balanceService.refundOrder(userId, orderBase + i, ONE);
+            } else {
+                try {
+                    balanceService.chargeOrder(userId, orderBase + i, ONE);
+                    debited.incrementAndGet();
+                } catch (InsufficientFundsException ignored) {
+                    // expected once the balance runs out
+                }
+            }
+        });
+
+        BigDecimal expected = new BigDecimal("100.00").add(BigDecimal.valueOf(150)).subtract(BigDecimal.valueOf(debited.get()));
+        assertThat(debited.get()).isGreaterThanOrEqualTo(100);
+        assertThat(balance()).isEqualByComparingTo(expected).isGreaterThanOrEqualTo(BigDecimal.ZERO);
+
+        Thread.sleep(SETTLE_MILLIS);
+        snapshot();
+        User snapshotted = userRepository.findById(userId).orElseThrow();
+        assertThat(snapshotted.getBalance()).isEqualByComparingTo(expected);
+        assertThat(balance()).isEqualByComparingTo(expected);
+    }
+
+    @Test
+    void testRefundOrder_WhenRepeated_ShouldCreditOnce() {
+        balanceService.chargeOrder(userId, orderBase, new BigDecimal("40.00"));
+
+        assertThat(balanceService.refundOrder(userId, orderBase, new BigDecimal("40.00"))).isTrue();
+        assertThat(balanceService.refundOrder(userId, orderBase, new BigDecimal("40.00"))).isFalse();
+        assertThat(balance()).isEqualByComparingTo("100.00");
+    }
+
+    @Test
+    void testSnapshot_WhenLowerIdCommitsAfterHigherId_ShouldStillCountIt() throws Exception {
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // The first refund takes the lower id but stays uncommitted while a later one commits.
+            Future<?> slowRefund = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                balanceService.refundOrder(userId, orderBase, new BigDecimal("10.00"));
+                inserted.countDown();
+                await(release);
+            }));
+            assertThat(inserted.await(10, TimeUnit.SECONDS)).isTrue();
+            balanceService.refundOrder(userId, orderBase + 1, new BigDecimal("20.00"));
+
+            snapshot();
+            release.countDown();
+            slowRefund.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(balance()).isEqualByComparingTo("130.00");
+        Thread.sleep(SETTLE_MILLIS);
+        snapshot();
+        assertThat(userRepository.findById(userId).orElseThrow().getBalance()).isEqualByComparingTo("130.00");
+        assertThat(balance()).isEqualByComparingTo("130.00");
+    }
+
+    private void snapshot() {
+        Long watermark = balanceService.findSnapshotWatermarks().get(userId);
+        if (watermark != null) {
+            balanceService.snapshot(userId, watermark);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private BigDecimal balance() {
+        return balanceService.getBalance(userId);
+    }
+
+    private static void runConcurrently(int operations, IntConsumer operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>(operations);
+        try {
+            for (int i = 0; i < operations; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    operation.accept(index);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.epam.rd.autocode.spring.project.service;
+
+import com.epam.rd.autocode.spring.project.exception.InsufficientFundsException;
+import com.epam.rd.autocode.spring.project.model.BalanceLedgerEntry;
+import com.epam.rd.autocode.spring.project.model.enums.LedgerEntryType;
+import com.epam.rd.autocode.spring.project.repo.BalanceLedgerRepository;
+import com.epam.rd.autocode.spring.project.repo.UserRepository;
+import com.epam.rd.autocode.spring.project.repo.projection.LedgerWatermarkView;
+import com.epam.rd.autocode.spring.project.repo.projection.UserBalanceView;
+import com.epam.rd.autocode.spring.project.service.impl.BalanceServiceImpl;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceServiceImplTest {
+
+    @Mock
+    private BalanceLedgerRepository ledgerRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private BalanceServiceImpl balanceService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(balanceService, "settleTime", Duration.ofMinutes(1));
+    }
+
+    @Test
+    void testChargeOrder_WhenDebitSucceeds_ShouldAppendPayment() {
+        when(userRepository.debitBalance(1L, new BigDecimal("70.00"))).thenReturn(1);
+
+        balanceService.chargeOrder(1L, 7L, new BigDecimal("70.00"));
+
+        ArgumentCaptor<BalanceLedgerEntry> entry = ArgumentCaptor.forClass(BalanceLedgerEntry.class);
+        verify(ledgerRepository).save(entry.capture());
+        assertThat(entry.getValue().getType()).isEqualTo(LedgerEntryType.PAYMENT);
+        assertThat(entry.getValue().getOrderId()).isEqualTo(7L);
+        assertThat(entry.getValue().getAmount()).isEqualByComparingTo("-70.00");
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void testChargeOrder_WhenDebitGuardFails_ShouldThrowInsufficientFunds() {
+        when(userRepository.debitBalance(1L, new BigDecimal("70.01"))).thenReturn(0);
+        when(userRepository.findCurrentBalances(List.of(1L))).thenReturn(List.of(balance(1L, "70.00")));
+
+        assertThatThrownBy(() -> balanceService.chargeOrder(1L, 7L, new BigDecimal("70.01")))
+                .isInstanceOf(InsufficientFundsException.class)
+                .hasMessageContaining("70.00");
+        verify(ledgerRepository, never()).save(any());
+    }
+
+    @Test
+    void testChargeOrder_WhenUserMissing_ShouldThrowNotFound() {
+        when(userRepository.debitBalance(1L, BigDecimal.ONE)).thenReturn(0);
+        when(userRepository.findCurrentBalances(List.of(1L))).thenReturn(List.of());
+
+        assertThatThrownBy(() -> balanceService.chargeOrder(1L, 7L, BigDecimal.ONE))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    void testRefundOrder_ShouldInsertWithoutTouchingTheUserRow() {
+        when(ledgerRepository.findByOrderIdAndType(7L, LedgerEntryType.PAYMENT)).thenReturn(Optional.of(
+                new BalanceLedgerEntry(1L, 7L, LedgerEntryType.PAYMENT, new BigDecimal("-40.00"))));
+
+        boolean refunded = balanceService.refundOrder(1L, 7L, new BigDecimal("99.00"));
+
+        ArgumentCaptor<BalanceLedgerEntry> entry = ArgumentCaptor.forClass(BalanceLedgerEntry.class);
+        verify(ledgerRepository).save(entry.capture());
+        assertThat(refunded).isTrue();
+        assertThat(entry.getValue().getType()).isEqualTo(LedgerEntryType.REFUND);
+        assertThat(entry.getValue().getAmount()).isEqualByComparingTo("40.00");
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void testRefundOrder_WhenOrderPaidBeforeLedger_ShouldCreditOrderPrice() {
+        when(ledgerRepository.findByOrderIdAndType(7L, LedgerEntryType.PAYMENT)).thenReturn(Optional.empty());
+
+        balanceService.refundOrder(1L, 7L, new BigDecimal("99.00"));
+
+        ArgumentCaptor<BalanceLedgerEntry> entry = ArgumentCaptor.forClass(BalanceLedgerEntry.class);
+        verify(ledgerRepository).save(entry.capture());
+        assertThat(entry.getValue().getAmount()).isEqualByComparingTo("99.00");
+    }
+
+    @Test
+    void testRefundOrder_WhenAlreadyRefunded_ShouldDoNothing() {
+        when(ledgerRepository.existsByOrderIdAndType(7L, LedgerEntryType.REFUND)).thenReturn(true);
+
+        boolean refunded = balanceService.refundOrder(1L, 7L, new BigDecimal("99.00"));
+
+        assertThat(refunded).isFalse();
+        verify(ledgerRepository, never()).save(any());
+    }
+
+    @Test
+    void testFindSnapshotWatermarks_ShouldOnlyConsiderSettledEntries() {
+        when(ledgerRepository.findSnapshotWatermarks(any())).thenReturn(List.of(watermark(1L, 12L)));
+        LocalDateTime before = LocalDateTime.now().minusMinutes(1);
+
+        assertThat(balanceService.findSnapshotWatermarks()).containsEntry(1L, 12L);
+
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(ledgerRepository).findSnapshotWatermarks(cutoff.capture());
+        assertThat(cutoff.getValue()).isAfterOrEqualTo(before).isBefore(LocalDateTime.now().minusSeconds(59));
+    }
+
+    @Test
+    void testSnapshot_ShouldFoldUpToTheWatermark() {
+        balanceService.snapshot(1L, 12L);
+
+        verify(userRepository).applySnapshot(1L, 12L);
+    }
+
+    private static UserBalanceView balance(Long id, String balance) {
+        return new UserBalanceView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public BigDecimal getBalance() {
+                return new BigDecimal(balance);
+            }
+        };
+    }
+
+    private static LedgerWatermarkView watermark(Long userId, Long watermark) {
+        return new LedgerWatermarkView() {
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+
+            @Override
+            public Long getWatermark() {
+                return watermark;
+            }
+        };
+    }
+}
@@ -0,0 +1,77 @@
+package com.epam.rd.autocode.spring.project.service;
+
+import com.epam.rd.autocode.spring.project.catalog.CatalogQuery;
+import com.epam.rd.autocode.spring.project.dto.BookSummaryDTO;
+import com.epam.rd.autocode.spring.project.dto.KeysetPageDTO;
+import com.epam.rd.autocode.spring.project.mapper.Mappers;
+import com.epam.rd.autocode.spring.project.model.Book;
+import com.epam.rd.autocode.spring.project.pagination.BookSortKey;
+import com.epam.rd.autocode.spring.project.repo.BookRepository;
+import com.epam.rd.autocode.spring.project.service.impl.BookServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class BookKeysetPagingTest {
+    private static final CatalogQuery NO_FILTERS = CatalogQuery.of(null, null, null, null, null);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    private BookService bookService;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 1; i <= 3; i++) {
+            Book undated = new Book();
+            undated.setName("Undated " + i);
+            undated.setAuthor("Author " + i);
+            undated.setPrice(new BigDecimal("5.00"));
+            entityManager.persist(undated);
+        }
+        entityManager.flush();
+        bookService = new BookServiceImpl(bookRepository, null, null, new Mappers(), null, null, null, null, null);
+    }
+
+    @Test
+    void testGetCatalogKeysetPage_ShouldVisitEveryBookOnceInBothDirections() {
+        List<Long> expected = bookRepository.findAll().stream()
+                .sorted(Comparator.comparing(Book::getPublicationDate,
+                                Comparator.nullsLast(Comparator.<LocalDate>reverseOrder()))
+                        .thenComparing(Book::getId))
+                .map(Book::getId)
+                .toList();
+
+        List<KeysetPageDTO<BookSummaryDTO>> pages = new ArrayList<>();
+        String cursor = null;
+        do {
+            KeysetPageDTO<BookSummaryDTO> page = bookService.getCatalogKeysetPage(
+                    NO_FILTERS, null, BookSortKey.NEWEST, cursor, 4);
+            pages.add(page);
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(pages).flatExtracting(KeysetPageDTO::getContent).extracting(BookSummaryDTO::getId)
+                .containsExactlyElementsOf(expected);
+        assertThat(pages.get(0).getPreviousCursor()).isNull();
+        for (int i = pages.size() - 1; i > 0; i--) {
+            KeysetPageDTO<BookSummaryDTO> previous = bookService.getCatalogKeysetPage(
+                    NO_FILTERS, null, BookSortKey.NEWEST, pages.get(i).getPreviousCursor(), 4);
+            assertThat(previous.getContent()).isEqualTo(pages.get(i - 1).getContent());
+        }
+    }
+}
@@ -1,14 +1,28 @@
 package com.epam.rd.autocode.spring.project.service;
 
+import com.epam.rd.autocode.spring.project.cache.BookCache;
+import com.epam.rd.autocode.spring.project.cache.InMemoryBookCacheStore;
+import com.epam.rd.autocode.spring.project.catalog.BookChangedEvent;
+import com.epam.rd.autocode.spring.project.catalog.BookSearchIndex;
+import com.epam.rd.autocode.spring.project.catalog.BookSuggestIndex;
+import com.epam.rd.autocode.spring.project.catalog.CatalogFacetIndex;
+import com.epam.rd.autocode.spring.project.catalog.CatalogQuery;
+import com.epam.rd.autocode.spring.project.catalog.CatalogSelection;
+import com.epam.rd.autocode.spring.project.catalog.CategoryMatch;
 import com.epam.rd.autocode.spring.project.dto.BookDTO;
+import com.epam.rd.autocode.spring.project.dto.BookFacetsDTO;
+import com.epam.rd.autocode.spring.project.dto.BookSummaryDTO;
+import com.epam.rd.autocode.spring.project.dto.CatalogPageDTO;
 import com.epam.rd.autocode.spring.project.dto.CategoryDTO;
 import com.epam.rd.autocode.spring.project.exception.AlreadyExistException;
+import com.epam.rd.autocode.spring.project.mapper.Mappers;
 import com.epam.rd.autocode.spring.project.model.Book;
 import com.epam.rd.autocode.spring.project.model.Category;
 import com.epam.rd.autocode.spring.project.model.enums.AgeGroup;
 import com.epam.rd.autocode.spring.project.model.enums.Language;
 import com.epam.rd.autocode.spring.project.repo.BookRepository;
 import com.epam.rd.autocode.spring.project.repo.CategoryRepository;
+import com.epam.rd.autocode.spring.project.repo.projection.BookSummaryView;
 import com.epam.rd.autocode.spring.project.service.impl.BookServiceImpl;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,11 +30,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.*;
 
@@ -44,6 +65,24 @@ class BookServiceImplTest {
     @Mock
     private ModelMapper modelMapper;
 
+    @Mock
+    private Mappers mappers;
+
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+
+    @Mock
+    private BookSuggestIndex bookSuggestIndex;
+
+    @Mock
+    private CatalogFacetIndex catalogFacetIndex;
+
+    @Spy
+    private BookCache bookCache = new BookCache(new InMemoryBookCacheStore(), 100, Duration.ofMinutes(10));
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private BookServiceImpl bookService;
 
@@ -79,7 +118,7 @@ class BookServiceImplTest {
     void testGetAllBooks_ShouldReturnAllBooks() {
         List<Book> books = Collections.singletonList(testBook);
         when(bookRepository.findAllWithCategories()).thenReturn(books);
-        when(modelMapper.map(any(Book.class), eq(BookDTO.class))).thenReturn(testBookDTO);
+        when(mappers.toBookDTO(any(Book.class))).thenReturn(testBookDTO);
 
         List<BookDTO> result = bookService.getAllBooks();
 
@@ -91,7 +130,7 @@ class BookServiceImplTest {
     @Test
     void testGetBookById_WhenBookExists_ShouldReturnBook() {
         when(bookRepository.findByIdWithCategories(1L)).thenReturn(Optional.of(testBook));
-        when(modelMapper.map(any(Book.class), eq(BookDTO.class))).thenReturn(testBookDTO);
+        when(mappers.toBookDTO(any(Book.class))).thenReturn(testBookDTO);
 
         BookDTO result = bookService.getBookById(1L);
 
@@ -112,7 +151,7 @@ class BookServiceImplTest {
     @Test
     void testGetBookByName_WhenBookExists_ShouldReturnBook() {
         when(bookRepository.findByNameWithCategories("Test Book")).thenReturn(Optional.of(testBook));
-        when(modelMapper.map(any(Book.class), eq(BookDTO.class))).thenReturn(testBookDTO);
+        when(mappers.toBookDTO(any(Book.class))).thenReturn(testBookDTO);
 
         BookDTO result = bookService.getBookByName("Test Book");
 
@@ -130,6 +169,7 @@ class BookServiceImplTest {
 
         verify(bookRepository, times(1)).existsByIsbn(testBookDTO.getIsbn());
         verify(bookRepository, times(1)).save(any(Book.class));
+        verify(eventPublisher, times(1)).publishEvent(any(BookChangedEvent.class));
     }
 
     @Test
@@ -152,6 +192,7 @@ class BookServiceImplTest {
         bookService.deleteBook(1L);
 
         verify(bookRepository, times(1)).deleteById(1L);
+        verify(eventPublisher, times(1)).publishEvent(BookChangedEvent.deleted(1L));
     }
 
     @Test
@@ -186,7 +227,7 @@ class BookServiceImplTest {
                 isNull(),
                 any(Sort.class)
         )).thenReturn(books);
-        when(modelMapper.map(any(Book.class), eq(BookDTO.class))).thenReturn(testBookDTO);
+        when(mappers.toBookDTO(any(Book.class))).thenReturn(testBookDTO);
 
         List<BookDTO> result = bookService.getFilteredAndSortedBooks(
                 null,
@@ -234,4 +275,109 @@ class BookServiceImplTest {
                 .isInstanceOf(EntityNotFoundException.class)
                 .hasMessage("Book not found with id: 1");
     }
+
+    @Test
+    void testGetFilteredAndSortedPage_WithSearchTerm_ShouldResolveRankedIdsFromIndex() {
+        BookSummaryView firstView = summaryView(1L);
+        BookSummaryView secondView = summaryView(2L);
+        CatalogQuery query = CatalogQuery.of(null, null, null, null, null);
+
+        when(bookSearchIndex.isReady()).thenReturn(true);
+        when(catalogFacetIndex.canServe(any(Sort.class))).thenReturn(true);
+        when(bookSearchIndex.search("test")).thenReturn(List.of(2L, 1L));
+        when(catalogFacetIndex.select(eq(query), eq(List.of(2L, 1L)), any(Sort.class)))
+                .thenReturn(new CatalogSelection(List.of(2L, 1L), new BookFacetsDTO()));
+        when(bookRepository.findSummariesByIdIn(List.of(2L, 1L))).thenReturn(List.of(firstView, secondView));
+        when(mappers.toBookSummaryDTO(firstView)).thenReturn(summary(1L));
+        when(mappers.toBookSummaryDTO(secondView)).thenReturn(summary(2L));
+
+        Page<BookSummaryDTO> result = bookService.getFilteredAndSortedPage(
+                null, null, null, null, null, "test", PageRequest.of(0, 10));
+
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        assertThat(result.getContent()).extracting(BookSummaryDTO::getId).containsExactly(2L, 1L);
+        verify(bookRepository, never()).findIdsByFiltersPaged(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testGetCatalogPage_WhenSnapshotReady_ShouldReturnFacetsAndLoadOnlyRequestedPage() {
+        BookFacetsDTO facets = new BookFacetsDTO();
+        BookSummaryView view = summaryView(1L);
+        CatalogQuery query = CatalogQuery.of(null, Language.UKRAINIAN, null, null, null);
+
+        when(catalogFacetIndex.canServe(any(Sort.class))).thenReturn(true);
+        when(catalogFacetIndex.select(eq(query), isNull(), any(Sort.class)))
+                .thenReturn(new CatalogSelection(List.of(3L, 2L, 1L), facets));
+        when(bookRepository.findSummariesByIdIn(List.of(1L))).thenReturn(List.of(view));
+        when(mappers.toBookSummaryDTO(view)).thenReturn(summary(1L));
+
+        CatalogPageDTO result = bookService.getCatalogPage(query, null, PageRequest.of(1, 2));
+
+        assertThat(result.getFacets()).isSameAs(facets);
+        assertThat(result.getBooks().getTotalElements()).isEqualTo(3);
+        assertThat(result.getBooks().getContent()).containsExactly(summary(1L));
+        verify(bookRepository, never()).findAllByIdWithCategories(anyList());
+    }
+
+    @Test
+    void testGetCatalogPage_WhenSnapshotNotReady_ShouldPageIdsThenReadSummaries() {
+        BookSummaryView firstView = summaryView(1L);
+        BookSummaryView secondView = summaryView(2L);
+        PageRequest pageable = PageRequest.of(0, 2, Sort.by("price"));
+        when(bookRepository.findIdsByFiltersPaged(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(2L, 1L), pageable, 5));
+        when(bookRepository.findSummariesByIdIn(List.of(2L, 1L))).thenReturn(List.of(firstView, secondView));
+        when(mappers.toBookSummaryDTO(firstView)).thenReturn(summary(1L));
+        when(mappers.toBookSummaryDTO(secondView)).thenReturn(summary(2L));
+
+        CatalogPageDTO result = bookService.getCatalogPage(
+                CatalogQuery.of(null, null, null, null, null), null, pageable);
+
+        assertThat(result.getFacets()).isNull();
+        assertThat(result.getBooks().getTotalElements()).isEqualTo(5);
+        assertThat(result.getBooks().getContent()).containsExactly(summary(2L), summary(1L));
+        verify(bookRepository, times(1)).findSummariesByIdIn(anyList());
+        verify(bookRepository, never()).findAllByIdWithCategories(anyList());
+    }
+
+    @Test
+    void testGetCatalogPage_WhenSnapshotNotReadyAndAllCategoriesRequired_ShouldRequireEveryCategory() {
+        BookSummaryView view = summaryView(1L);
+        CatalogQuery query = CatalogQuery.of(List.of(1L, 2L), CategoryMatch.ALL, null, null, null, null);
+        when(bookRepository.findIdsByCategoriesAndFiltersPaged(
+                eq(Set.of(1L, 2L)), eq(2L), isNull(), isNull(), isNull(), isNull(), isNull(), any()))
+                .thenReturn(new PageImpl<>(List.of(1L)));
+        when(bookRepository.findSummariesByIdIn(List.of(1L))).thenReturn(List.of(view));
+        when(mappers.toBookSummaryDTO(view)).thenReturn(summary(1L));
+
+        CatalogPageDTO result = bookService.getCatalogPage(query, null, PageRequest.of(0, 10));
+
+        assertThat(result.getBooks().getContent()).containsExactly(summary(1L));
+        verify(bookRepository, never()).findIdsByFiltersPaged(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testGetNewestBooksPaged_ShouldReadSummaryProjection() {
+        BookSummaryView view = mock(BookSummaryView.class);
+        PageRequest pageable = PageRequest.of(1, 5, Sort.by(Sort.Direction.DESC, "publicationDate"));
+        when(bookRepository.findSummariesBy(pageable)).thenReturn(new PageImpl<>(List.of(view), pageable, 6));
+        when(mappers.toBookSummaryDTO(view)).thenReturn(summary(1L));
+
+        Page<BookSummaryDTO> result = bookService.getNewestBooksPaged(1, 5);
+
+        assertThat(result.getContent()).containsExactly(summary(1L));
+        assertThat(result.getTotalElements()).isEqualTo(6);
+        verify(bookRepository, never()).findAll(any(Pageable.class));
+    }
+
+    private static BookSummaryView summaryView(Long id) {
+        BookSummaryView view = mock(BookSummaryView.class);
+        when(view.getId()).thenReturn(id);
+        return view;
+    }
+
+    private static BookSummaryDTO summary(Long id) {
+        return new BookSummaryDTO(id, "Book " + id, "Author", LocalDate.of(2020, 1, 1),
+                new BigDecimal("19.99"), Language.ENGLISH);
+    }
 }
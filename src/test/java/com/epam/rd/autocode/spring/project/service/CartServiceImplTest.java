@@ -1,10 +1,11 @@
 package com.epam.rd.autocode.spring.project.service;
 
+import com.epam.rd.autocode.spring.project.cart.CartStore;
 import com.epam.rd.autocode.spring.project.dto.BookDTO;
 import com.epam.rd.autocode.spring.project.dto.BookItemDTO;
 import com.epam.rd.autocode.spring.project.dto.Cart;
 import com.epam.rd.autocode.spring.project.service.impl.CartServiceImpl;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,6 +19,7 @@ import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
@@ -28,7 +30,7 @@ class CartServiceImplTest {
     private BookService bookService;
 
     @Mock
-    private ObjectMapper objectMapper;
+    private CartStore cartStore;
 
     @InjectMocks
     private CartServiceImpl cartService;
@@ -50,27 +52,26 @@ class CartServiceImplTest {
 
     @Test
     void testAddBookToCart_ShouldAddNewBook() {
-        when(bookService.getBookById(1L)).thenReturn(testBook);
-        when(bookService.getBooksByIds(anyList())).thenReturn(List.of(testBook));
+        when(bookService.getBooksByIds(List.of(1L))).thenReturn(List.of(testBook));
 
         cartService.addBookToCart(testCart, 1L, 2);
 
         assertThat(testCart.getItems()).containsKey(1L);
         assertThat(testCart.getItems().get(1L)).isEqualTo(2);
         assertThat(testCart.getTotalPrice()).isEqualByComparingTo(BigDecimal.valueOf(40.00));
-        verify(bookService, times(1)).getBookById(1L);
+        verify(bookService, times(1)).getBooksByIds(anyList());
+        verify(bookService, never()).getBookById(anyLong());
     }
 
     @Test
     void testAddBookToCart_ShouldIncreaseQuantity() {
         testCart.getItems().put(1L, 1);
-        when(bookService.getBookById(1L)).thenReturn(testBook);
         when(bookService.getBooksByIds(anyList())).thenReturn(List.of(testBook));
 
         cartService.addBookToCart(testCart, 1L, 2);
 
         assertThat(testCart.getItems().get(1L)).isEqualTo(3);
-        verify(bookService, times(1)).getBookById(1L);
+        verify(bookService, times(1)).getBooksByIds(anyList());
     }
 
     @Test
@@ -124,6 +125,9 @@ class CartServiceImplTest {
 
     @Test
     void testGetCartFromCookies_WithNullOrEmptyString_ShouldReturnEmptyCart() {
+        when(cartStore.load(null)).thenReturn(Map.of());
+        when(cartStore.load("")).thenReturn(Map.of());
+
         Cart result1 = cartService.getCartFromCookies(null);
         Cart result2 = cartService.getCartFromCookies("");
 
@@ -133,6 +137,53 @@ class CartServiceImplTest {
         assertThat(result2.getItems()).isEmpty();
     }
 
+    @Test
+    void testGetCartFromCookies_ShouldLoadItemsFromStoreAndRecalculate() {
+        when(cartStore.load("cart-id")).thenReturn(Map.of(1L, 3));
+        when(bookService.getBooksByIds(anyList())).thenReturn(List.of(testBook));
+
+        Cart result = cartService.getCartFromCookies("cart-id");
+
+        assertThat(result.getItems()).containsExactly(Map.entry(1L, 3));
+        assertThat(result.getTotalQuantity()).isEqualTo(3);
+        assertThat(result.getTotalPrice()).isEqualByComparingTo(BigDecimal.valueOf(60.00));
+    }
+
+    @Test
+    void testAddBookToCart_WhenBookDoesNotExist_ShouldThrowAndKeepCart() {
+        when(bookService.getBooksByIds(List.of(9L))).thenReturn(List.of());
+
+        assertThatThrownBy(() -> cartService.addBookToCart(testCart, 9L, 1))
+                .isInstanceOf(EntityNotFoundException.class);
+        assertThat(testCart.getItems()).isEmpty();
+    }
+
+    @Test
+    void testViewingCart_ShouldFetchCartBooksOnce() {
+        when(cartStore.load("cart-id")).thenReturn(Map.of(1L, 3));
+        when(bookService.getBooksByIds(anyList())).thenReturn(List.of(testBook));
+
+        Cart cart = cartService.getCartFromCookies("cart-id");
+        List<BookItemDTO> details = cartService.getDetailedCartItems(cart);
+        cartService.updateBookQuantity(cart, 1L, 1);
+
+        assertThat(details).extracting(BookItemDTO::getQuantity).containsExactly(3);
+        assertThat(cart.getTotalPrice()).isEqualByComparingTo(BigDecimal.valueOf(20.00));
+        verify(bookService, times(1)).getBooksByIds(anyList());
+    }
+
+    @Test
+    void testSaveCart_ShouldStoreOnlyItems() {
+        testCart.getItems().put(1L, 2);
+        testCart.setTotalPrice(BigDecimal.valueOf(40.00));
+        when(cartStore.save("cart-id", testCart.getItems())).thenReturn("cart-id");
+
+        String cookieValue = cartService.saveCart("cart-id", testCart);
+
+        assertThat(cookieValue).isEqualTo("cart-id");
+        verify(cartStore).save("cart-id", Map.of(1L, 2));
+    }
+
     @Test
     void testGetDetailedCartItems_ShouldReturnDetailedItems() {
         Map<Long, Integer> items = new HashMap<>();
@@ -1,19 +1,18 @@
 package com.epam.rd.autocode.spring.project.service;
 
+import com.epam.rd.autocode.spring.project.cache.CategoryCache;
 import com.epam.rd.autocode.spring.project.dto.CategoryDTO;
+import com.epam.rd.autocode.spring.project.mapper.Mappers;
 import com.epam.rd.autocode.spring.project.model.Category;
 import com.epam.rd.autocode.spring.project.repo.CategoryRepository;
 import com.epam.rd.autocode.spring.project.service.impl.CategoryServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
 import java.util.*;
 
@@ -29,9 +28,9 @@ class CategoryServiceImplTest {
     private CategoryRepository categoryRepository;
 
     @Mock
-    private ModelMapper modelMapper;
+    private Mappers mappers;
 
-    @InjectMocks
+    private CategoryCache categoryCache;
     private CategoryServiceImpl categoryService;
 
     private Category category1;
@@ -41,6 +40,9 @@ class CategoryServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        categoryCache = new CategoryCache(categoryRepository, mappers);
+        categoryService = new CategoryServiceImpl(categoryRepository, mappers, categoryCache);
+
         category1 = new Category();
         category1.setId(1L);
         category1.setName("Fiction");
@@ -62,29 +64,73 @@ class CategoryServiceImplTest {
     void testGetCategories_ShouldReturnListOfCategoryDTOs() {
         List<Category> categories = Arrays.asList(category1, category2);
         when(categoryRepository.findAll()).thenReturn(categories);
-        when(modelMapper.map(category1, CategoryDTO.class)).thenReturn(categoryDTO1);
-        when(modelMapper.map(category2, CategoryDTO.class)).thenReturn(categoryDTO2);
+        when(mappers.toCategoryDTO(category1)).thenReturn(categoryDTO1);
+        when(mappers.toCategoryDTO(category2)).thenReturn(categoryDTO2);
 
         List<CategoryDTO> result = categoryService.getCategories();
 
         assertThat(result).hasSize(2);
         assertThat(result).containsExactly(categoryDTO1, categoryDTO2);
         verify(categoryRepository, times(1)).findAll();
-        verify(modelMapper, times(2)).map(any(Category.class), eq(CategoryDTO.class));
+        verify(mappers, times(2)).toCategoryDTO(any(Category.class));
+    }
+
+    @Test
+    void testGetCategories_WhenCalledRepeatedly_ShouldQueryOnce() {
+        when(categoryRepository.findAll()).thenReturn(Arrays.asList(category1, category2));
+        when(mappers.toCategoryDTO(category1)).thenReturn(categoryDTO1);
+        when(mappers.toCategoryDTO(category2)).thenReturn(categoryDTO2);
+
+        categoryService.getCategories();
+        categoryService.getCategoriesPage(0, 4);
+        List<CategoryDTO> result = categoryService.getCategories();
+
+        assertThat(result).containsExactly(categoryDTO1, categoryDTO2);
+        verify(categoryRepository, times(1)).findAll();
+    }
+
+    @Test
+    void testGetCategories_AfterInvalidate_ShouldReload() {
+        when(categoryRepository.findAll()).thenReturn(List.of(category1)).thenReturn(List.of(category1, category2));
+        when(mappers.toCategoryDTO(category1)).thenReturn(categoryDTO1);
+        when(mappers.toCategoryDTO(category2)).thenReturn(categoryDTO2);
+
+        categoryService.getCategories();
+        categoryCache.invalidate();
+        List<CategoryDTO> result = categoryService.getCategories();
+
+        assertThat(result).containsExactly(categoryDTO1, categoryDTO2);
+        verify(categoryRepository, times(2)).findAll();
     }
 
     @Test
     void testGetCategoriesPage_ShouldReturnPageOfCategoryDTOs() {
-        Page<Category> categoryPage = new PageImpl<>(Arrays.asList(category1, category2));
-        when(categoryRepository.findAll(any(PageRequest.class))).thenReturn(categoryPage);
-        when(modelMapper.map(category1, CategoryDTO.class)).thenReturn(categoryDTO1);
-        when(modelMapper.map(category2, CategoryDTO.class)).thenReturn(categoryDTO2);
+        when(categoryRepository.findAll()).thenReturn(Arrays.asList(category2, category1));
+        when(mappers.toCategoryDTO(category1)).thenReturn(categoryDTO1);
+        when(mappers.toCategoryDTO(category2)).thenReturn(categoryDTO2);
 
         Page<CategoryDTO> result = categoryService.getCategoriesPage(0, 10);
 
         assertThat(result).hasSize(2);
         assertThat(result.getContent()).containsExactly(categoryDTO1, categoryDTO2);
-        verify(categoryRepository, times(1)).findAll(any(PageRequest.class));
+        assertThat(result.getSort()).isEqualTo(Sort.by(Sort.Direction.ASC, "name"));
+        verify(categoryRepository, times(1)).findAll();
+    }
+
+    @Test
+    void testGetCategoriesPage_ShouldSliceNameOrderedSnapshot() {
+        when(categoryRepository.findAll()).thenReturn(Arrays.asList(category2, category1));
+        when(mappers.toCategoryDTO(category1)).thenReturn(categoryDTO1);
+        when(mappers.toCategoryDTO(category2)).thenReturn(categoryDTO2);
+
+        Page<CategoryDTO> second = categoryService.getCategoriesPage(1, 1);
+        Page<CategoryDTO> beyond = categoryService.getCategoriesPage(5, 1);
+
+        assertThat(second.getContent()).containsExactly(categoryDTO2);
+        assertThat(second.getTotalElements()).isEqualTo(2);
+        assertThat(second.getTotalPages()).isEqualTo(2);
+        assertThat(beyond.getContent()).isEmpty();
+        assertThat(beyond.getTotalElements()).isEqualTo(2);
     }
 
     @Test
@@ -92,15 +138,13 @@ class CategoryServiceImplTest {
         Set<CategoryDTO> categoryDTOs = new HashSet<>(Arrays.asList(categoryDTO1, categoryDTO2));
         Set<Long> categoryIds = Set.of(1L, 2L);
 
-        when(categoryRepository.existsById(1L)).thenReturn(true);
-        when(categoryRepository.existsById(2L)).thenReturn(true);
         when(categoryRepository.findAllById(categoryIds)).thenReturn(Arrays.asList(category1, category2));
 
         Set<Category> result = categoryService.resolveCategoriesForInsert(categoryDTOs);
 
         assertThat(result).hasSize(2);
         assertThat(result).contains(category1, category2);
-        verify(categoryRepository, times(2)).existsById(anyLong());
+        verify(categoryRepository, never()).existsById(anyLong());
         verify(categoryRepository, times(1)).findAllById(anySet());
     }
 
@@ -128,15 +172,42 @@ class CategoryServiceImplTest {
     void testResolveCategoriesForUpdate_WithNonExistentCategories_ShouldFilterThem() {
         Set<CategoryDTO> categoryDTOs = new HashSet<>(Arrays.asList(categoryDTO1, categoryDTO2));
 
-        when(categoryRepository.existsById(1L)).thenReturn(true);
-        when(categoryRepository.existsById(2L)).thenReturn(false);
-        when(categoryRepository.findAllById(Set.of(1L))).thenReturn(Collections.singletonList(category1));
+        when(categoryRepository.findAllById(Set.of(1L, 2L))).thenReturn(Collections.singletonList(category1));
 
         Set<Category> result = categoryService.resolveCategoriesForInsert(categoryDTOs);
 
         assertThat(result).hasSize(1);
         assertThat(result).contains(category1);
-        verify(categoryRepository, times(2)).existsById(anyLong());
+        verify(categoryRepository, never()).existsById(anyLong());
         verify(categoryRepository, times(1)).findAllById(anySet());
     }
+
+    @Test
+    void testGetCategoriesByIds_WhenAllInSnapshot_ShouldNotQueryByIds() {
+        when(categoryRepository.findAll()).thenReturn(Arrays.asList(category1, category2));
+        when(mappers.toCategoryDTO(category1)).thenReturn(categoryDTO1);
+        when(mappers.toCategoryDTO(category2)).thenReturn(categoryDTO2);
+
+        List<CategoryDTO> result = categoryService.getCategoriesByIds(List.of(2L, 1L, 2L));
+
+        assertThat(result).containsExactly(categoryDTO2, categoryDTO1);
+        verify(categoryRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void testGetCategoriesByIds_WhenNotInSnapshot_ShouldLoadMissingInOneQuery() {
+        CategoryDTO categoryDTO3 = new CategoryDTO(3L, "History");
+        Category category3 = new Category();
+        category3.setId(3L);
+        category3.setName("History");
+        when(categoryRepository.findAll()).thenReturn(List.of(category1));
+        when(mappers.toCategoryDTO(category1)).thenReturn(categoryDTO1);
+        when(categoryRepository.findAllById(Set.of(3L, 4L))).thenReturn(List.of(category3));
+        when(mappers.toCategoryDTO(category3)).thenReturn(categoryDTO3);
+
+        List<CategoryDTO> result = categoryService.getCategoriesByIds(List.of(1L, 3L, 4L));
+
+        assertThat(result).containsExactly(categoryDTO1, categoryDTO3);
+        verify(categoryRepository, times(1)).findAllById(any());
+    }
 }
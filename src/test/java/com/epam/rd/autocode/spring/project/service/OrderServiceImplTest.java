@@ -1,31 +1,50 @@
 package com.epam.rd.autocode.spring.project.service;
 
+import com.epam.rd.autocode.spring.project.dto.Cart;
 import com.epam.rd.autocode.spring.project.dto.OrderDTO;
+import com.epam.rd.autocode.spring.project.dto.OrderSummaryDTO;
+import com.epam.rd.autocode.spring.project.exception.CartValidationException;
+import com.epam.rd.autocode.spring.project.mapper.Mappers;
+import com.epam.rd.autocode.spring.project.model.Book;
+import com.epam.rd.autocode.spring.project.model.BookItem;
 import com.epam.rd.autocode.spring.project.model.Order;
+import com.epam.rd.autocode.spring.project.model.OrderSummary;
 import com.epam.rd.autocode.spring.project.model.User;
 import com.epam.rd.autocode.spring.project.model.enums.Role;
 import com.epam.rd.autocode.spring.project.model.enums.Status;
+import com.epam.rd.autocode.spring.project.repo.BookItemRepository;
+import com.epam.rd.autocode.spring.project.repo.BookRepository;
 import com.epam.rd.autocode.spring.project.repo.OrderRepository;
+import com.epam.rd.autocode.spring.project.repo.OrderSummaryRepository;
+import com.epam.rd.autocode.spring.project.repo.UserRepository;
+import com.epam.rd.autocode.spring.project.repo.projection.OrderStatusCountView;
+import com.epam.rd.autocode.spring.project.repo.projection.OrderSummaryView;
 import com.epam.rd.autocode.spring.project.service.impl.OrderServiceImpl;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -36,7 +55,22 @@ class OrderServiceImplTest {
     private OrderRepository orderRepository;
 
     @Mock
-    private ModelMapper modelMapper;
+    private BookRepository bookRepository;
+
+    @Mock
+    private BookItemRepository bookItemRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private BalanceService balanceService;
+
+    @Mock
+    private OrderSummaryRepository orderSummaryRepository;
+
+    @Mock
+    private Mappers mappers;
 
     @InjectMocks
     private OrderServiceImpl orderService;
@@ -68,7 +102,7 @@ class OrderServiceImplTest {
     @Test
     void testGetOrderById_WhenOrderExists_ShouldReturnOrderDTO() {
         when(orderRepository.findByIdWithAllDetails(1L)).thenReturn(Optional.of(testOrder));
-        when(modelMapper.map(testOrder, OrderDTO.class)).thenReturn(testOrderDTO);
+        when(mappers.toOrderDTO(testOrder)).thenReturn(testOrderDTO);
 
         OrderDTO result = orderService.getOrderById(1L);
 
@@ -76,7 +110,7 @@ class OrderServiceImplTest {
         assertThat(result.getId()).isEqualTo(1L);
         assertThat(result.getStatus()).isEqualTo(Status.PENDING);
         verify(orderRepository, times(1)).findByIdWithAllDetails(1L);
-        verify(modelMapper, times(1)).map(testOrder, OrderDTO.class);
+        verify(mappers, times(1)).toOrderDTO(testOrder);
     }
 
     @Test
@@ -91,7 +125,7 @@ class OrderServiceImplTest {
     }
 
     @Test
-    void testGetOrdersByClientId_ShouldReturnListOfOrders() {
+    void testGetOrderHistory_ShouldLoadLinesOfThePageInOneQuery() {
         Order order1 = new Order();
         order1.setId(1L);
         order1.setStatus(Status.PENDING);
@@ -100,37 +134,140 @@ class OrderServiceImplTest {
         order2.setId(2L);
         order2.setStatus(Status.DELIVERED);
 
-        when(orderRepository.findOrdersWithAllDetailsByUserId(1L)).thenReturn(Arrays.asList(order1, order2));
-        when(modelMapper.map(any(Order.class), eq(OrderDTO.class))).thenReturn(new OrderDTO());
+        BookItem item = new BookItem();
+        item.setOrder(order1);
+        item.setBook(book(5L, "10.00"));
+        item.setQuantity(1);
+
+        when(orderRepository.findPageByUserId(eq(1L), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(order1, order2), PageRequest.of(0, 10), 2));
+        when(bookItemRepository.findWithBooksByOrderIds(List.of(1L, 2L))).thenReturn(List.of(item));
+        when(mappers.toOrderDTO(any(Order.class), anyList())).thenReturn(new OrderDTO());
 
-        List<OrderDTO> result = orderService.getOrdersByClientId(1L);
+        Page<OrderDTO> result = orderService.getOrderHistory(1L, 0, 10);
 
-        assertThat(result).hasSize(2);
-        verify(orderRepository, times(1)).findOrdersWithAllDetailsByUserId(1L);
-        verify(modelMapper, times(2)).map(any(Order.class), eq(OrderDTO.class));
+        assertThat(result.getContent()).hasSize(2);
+        verify(mappers).toOrderDTO(order1, List.of(item));
+        verify(mappers).toOrderDTO(order2, List.of());
+        verify(bookItemRepository, times(1)).findWithBooksByOrderIds(any());
     }
 
     @Test
     void testUpdateOrderStatus_ShouldUpdateStatus() {
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+        when(orderRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testOrder));
         when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
 
         orderService.updateOrderStatus(1L, Status.DELIVERED);
 
         assertThat(testOrder.getStatus()).isEqualTo(Status.DELIVERED);
-        verify(orderRepository, times(1)).findById(1L);
+        verify(orderRepository, times(1)).findByIdForUpdate(1L);
         verify(orderRepository, times(1)).save(testOrder);
+        verify(orderSummaryRepository).updateStatus(1L, Status.DELIVERED);
+    }
+
+    @Test
+    void testUpdateOrderStatus_WhenCancelled_ShouldRefundOrder() {
+        when(orderRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testOrder));
+
+        orderService.updateOrderStatus(1L, Status.CANCELLED);
+
+        assertThat(testOrder.getStatus()).isEqualTo(Status.CANCELLED);
+        verify(balanceService).refundOrder(1L, 1L, testOrder.getPrice());
+    }
+
+    @Test
+    void testUpdateOrderStatus_WhenAlreadyCancelled_ShouldNotRefundAgain() {
+        testOrder.setStatus(Status.CANCELLED);
+        when(orderRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testOrder));
+
+        orderService.updateOrderStatus(1L, Status.CANCELLED);
+
+        verify(balanceService, never()).refundOrder(any(), any(), any());
     }
 
     @Test
-    void testGetAllOrders_ShouldReturnAllOrders() {
-        when(orderRepository.findAll()).thenReturn(Collections.singletonList(testOrder));
-        when(modelMapper.map(any(Order.class), eq(OrderDTO.class))).thenReturn(testOrderDTO);
+    void testGetOrderSummaries_ShouldQueryOnePageWithInclusiveDayBounds() {
+        Pageable pageable = PageRequest.of(0, 20);
+        OrderSummaryView view = mock(OrderSummaryView.class);
+        OrderSummaryDTO summary = new OrderSummaryDTO(1L, "test@example.com", testOrder.getOrderDate(),
+                testOrder.getPrice(), Status.PENDING, 3);
+        when(orderSummaryRepository.findPage(Status.PENDING, LocalDateTime.of(2025, 1, 1, 0, 0),
+                LocalDateTime.of(2025, 2, 1, 0, 0), pageable)).thenReturn(new PageImpl<>(List.of(view), pageable, 1));
+        when(mappers.toOrderSummaryDTO(view)).thenReturn(summary);
 
-        List<OrderDTO> result = orderService.getAllOrders();
+        Page<OrderSummaryDTO> result = orderService.getOrderSummaries(Status.PENDING,
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31), pageable);
+
+        assertThat(result.getContent()).containsExactly(summary);
+        verify(orderRepository, never()).findAll();
+    }
+
+    @Test
+    void testGetOrderStatusCounts_ShouldReportEveryStatus() {
+        OrderStatusCountView pending = mock(OrderStatusCountView.class);
+        when(pending.getStatus()).thenReturn(Status.PENDING);
+        when(pending.getOrders()).thenReturn(4L);
+        when(orderSummaryRepository.countByStatus()).thenReturn(List.of(pending));
+
+        Map<Status, Long> counts = orderService.getOrderStatusCounts();
+
+        assertThat(counts).hasSize(Status.values().length)
+                .containsEntry(Status.PENDING, 4L)
+                .containsEntry(Status.DELIVERED, 0L);
+    }
+
+    @Test
+    void testCreateOrderFromCart_ShouldLoadBooksOnceAndChargeVerifiedTotal() {
+        Cart cart = new Cart(Map.of(1L, 2, 2L, 1), 3, new BigDecimal("25.00"));
+        when(bookRepository.findAllById(cart.getItems().keySet()))
+                .thenReturn(List.of(book(1L, "10.00"), book(2L, "5.00")));
+        when(userRepository.getReferenceById(1L)).thenReturn(testOrder.getUser());
+
+        orderService.createOrderFromCart(cart, 1L);
+
+        ArgumentCaptor<Order> saved = ArgumentCaptor.forClass(Order.class);
+        verify(orderRepository).save(saved.capture());
+        assertThat(saved.getValue().getPrice()).isEqualByComparingTo("25.00");
+        assertThat(saved.getValue().getBookItems())
+                .extracting(item -> item.getBook().getId(), BookItem::getQuantity, BookItem::getPricePerUnit)
+                .containsExactlyInAnyOrder(
+                        tuple(1L, 2, new BigDecimal("10.00")),
+                        tuple(2L, 1, new BigDecimal("5.00")));
+        verify(bookRepository, times(1)).findAllById(any());
+        verify(bookRepository, never()).findById(any());
+        verify(balanceService).chargeOrder(eq(1L), any(), eq(new BigDecimal("25.00")));
+        ArgumentCaptor<OrderSummary> summary = ArgumentCaptor.forClass(OrderSummary.class);
+        verify(orderSummaryRepository).save(summary.capture());
+        assertThat(summary.getValue().getCustomerEmail()).isEqualTo("test@example.com");
+        assertThat(summary.getValue().getItemCount()).isEqualTo(2);
+        assertThat(summary.getValue().getTotalQuantity()).isEqualTo(3);
+    }
+
+    @Test
+    void testCreateOrderFromCart_WhenPriceChanged_ShouldNotCharge() {
+        Cart cart = new Cart(Map.of(1L, 2), 2, new BigDecimal("20.00"));
+        when(bookRepository.findAllById(cart.getItems().keySet())).thenReturn(List.of(book(1L, "12.00")));
+
+        assertThatThrownBy(() -> orderService.createOrderFromCart(cart, 1L))
+                .isInstanceOf(CartValidationException.class);
+        verify(balanceService, never()).chargeOrder(any(), any(), any());
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void testCreateOrderFromCart_WhenBookMissing_ShouldThrow() {
+        Cart cart = new Cart(Map.of(1L, 1, 9L, 1), 2, new BigDecimal("20.00"));
+        when(bookRepository.findAllById(cart.getItems().keySet())).thenReturn(List.of(book(1L, "10.00")));
+
+        assertThatThrownBy(() -> orderService.createOrderFromCart(cart, 1L))
+                .isInstanceOf(EntityNotFoundException.class);
+        verify(balanceService, never()).chargeOrder(any(), any(), any());
+    }
 
-        assertThat(result).hasSize(1);
-        verify(orderRepository, times(1)).findAll();
-        verify(modelMapper, times(1)).map(any(Order.class), eq(OrderDTO.class));
+    private static Book book(Long id, String price) {
+        Book book = new Book();
+        book.setId(id);
+        book.setPrice(new BigDecimal(price));
+        return book;
     }
 }
@@ -2,9 +2,15 @@ package com.epam.rd.autocode.spring.project.service;
 
 import com.epam.rd.autocode.spring.project.dto.CustomerDTO;
 import com.epam.rd.autocode.spring.project.dto.UserRegistrationDTO;
+import com.epam.rd.autocode.spring.project.dto.UserUpdateDTO;
+import com.epam.rd.autocode.spring.project.mapper.Mappers;
 import com.epam.rd.autocode.spring.project.model.User;
 import com.epam.rd.autocode.spring.project.model.enums.Role;
+import com.epam.rd.autocode.spring.project.repo.OrderSummaryRepository;
 import com.epam.rd.autocode.spring.project.repo.UserRepository;
+import com.epam.rd.autocode.spring.project.security.UserSecurityState;
+import com.epam.rd.autocode.spring.project.security.UserSecurityStateCache;
+import com.epam.rd.autocode.spring.project.security.UserSecurityStateCache.QueuedAttempts;
 import com.epam.rd.autocode.spring.project.service.impl.AuthenticationServiceImpl;
 import com.epam.rd.autocode.spring.project.service.impl.UserServiceImpl;
 import jakarta.persistence.EntityNotFoundException;
@@ -16,16 +22,21 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.UnaryOperator;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -41,6 +52,18 @@ class UserServiceImplTest {
     @Mock
     private ModelMapper modelMapper;
 
+    @Mock
+    private Mappers mappers;
+
+    @Mock
+    private BalanceService balanceService;
+
+    @Mock
+    private OrderSummaryRepository orderSummaryRepository;
+
+    @Mock
+    private UserSecurityStateCache securityStateCache;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -91,15 +114,17 @@ class UserServiceImplTest {
     @Test
     void testFindUserById_WhenUserExists_ShouldReturnCustomerDTO() {
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(modelMapper.map(testUser, CustomerDTO.class)).thenReturn(testCustomerDTO);
+        when(mappers.toCustomerDTO(testUser)).thenReturn(testCustomerDTO);
+        when(balanceService.getBalance(1L)).thenReturn(new BigDecimal("75.00"));
 
         CustomerDTO result = userService.findUserById(1L);
 
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo(1L);
         assertThat(result.getEmail()).isEqualTo("test@example.com");
+        assertThat(result.getBalance()).isEqualByComparingTo("75.00");
         verify(userRepository, times(1)).findById(1L);
-        verify(modelMapper, times(1)).map(testUser, CustomerDTO.class);
+        verify(mappers, times(1)).toCustomerDTO(testUser);
     }
 
     @Test
@@ -145,58 +170,153 @@ class UserServiceImplTest {
         customer2.setRole(Role.CUSTOMER);
 
         when(userRepository.findByRole(Role.CUSTOMER)).thenReturn(Arrays.asList(customer1, customer2));
-        when(modelMapper.map(any(User.class), eq(CustomerDTO.class))).thenReturn(new CustomerDTO());
+        when(mappers.toCustomerDTO(any(User.class))).thenReturn(new CustomerDTO());
 
         List<CustomerDTO> result = userService.findAllCustomers();
 
         assertThat(result).hasSize(2);
         verify(userRepository, times(1)).findByRole(Role.CUSTOMER);
-        verify(modelMapper, times(2)).map(any(User.class), eq(CustomerDTO.class));
+        verify(mappers, times(2)).toCustomerDTO(any(User.class));
+    }
+
+    @Test
+    void testDeleteUser_WhenUserExists_ShouldDeleteUser() {
+        doNothing().when(userRepository).deleteById(1L);
+
+        userService.deleteUser(1L);
+
+        verify(userRepository, times(1)).deleteById(1L);
+        verify(orderSummaryRepository).deleteByUserId(1L);
+        verify(securityStateCache).evictById(1L);
     }
 
     @Test
-    void testAddUserBalance_ShouldIncreaseBalance() {
+    void testUpdateUserProfile_WhenEmailChanged_ShouldUpdateOrderSummaries() {
+        UserUpdateDTO dto = new UserUpdateDTO();
+        dto.setId(1L);
+        dto.setName("Renamed");
+        dto.setEmail("new@example.com");
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        String oldEmail = testUser.getEmail();
 
-        User result = userService.addUserBalance(1L, BigDecimal.valueOf(50.00));
+        userService.updateUserProfile(dto);
 
-        assertThat(result.getBalance()).isEqualTo(BigDecimal.valueOf(150.00));
-        verify(userRepository, times(1)).findById(1L);
-        verify(userRepository, times(1)).save(testUser);
+        assertThat(testUser.getEmail()).isEqualTo("new@example.com");
+        verify(securityStateCache).evict(oldEmail);
+        verify(orderSummaryRepository).updateCustomerEmail(1L, "new@example.com");
     }
 
     @Test
-    void testDeleteUser_WhenUserExists_ShouldDeleteUser() {
-        doNothing().when(userRepository).deleteById(1L);
+    void testUpdateUserProfile_WhenEmailUnchanged_ShouldNotTouchOrderSummaries() {
+        UserUpdateDTO dto = new UserUpdateDTO();
+        dto.setId(1L);
+        dto.setName("Renamed");
+        dto.setEmail(testUser.getEmail());
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
 
-        userService.deleteUser(1L);
+        userService.updateUserProfile(dto);
 
-        verify(userRepository, times(1)).deleteById(1L);
+        verify(orderSummaryRepository, never()).updateCustomerEmail(any(), any());
     }
 
     @Test
     void testBlockUser_ShouldDisableUser() {
+        testUser.setFailedLoginAttempts(2);
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
 
         authenticationService.blockUser(1L);
 
-        assertThat(testUser.getIsBlocked()).isTrue();
         verify(userRepository, times(1)).findById(1L);
-        verify(userRepository, times(1)).save(testUser);
+        verify(userRepository).updateLockState(1L, true, null, 2);
+        verify(userRepository, never()).save(any());
+        verify(securityStateCache).evict(testUser.getEmail());
     }
 
     @Test
     void testUnblockUser_ShouldEnableUser() {
         testUser.setIsBlocked(true);
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
 
         authenticationService.unblockUser(1L);
 
-        assertThat(testUser.getIsBlocked()).isFalse();
         verify(userRepository, times(1)).findById(1L);
-        verify(userRepository, times(1)).save(testUser);
+        verify(userRepository).updateLockState(1L, false, null, 0);
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void testResetFailedLoginAttempts_WhenNothingToReset_ShouldNotWrite() {
+        when(securityStateCache.get("test@example.com")).thenReturn(Optional.of(state(0, false, null)));
+
+        authenticationService.resetFailedLoginAttempts("test@example.com");
+
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void testResetFailedLoginAttempts_WhenAttemptsRecorded_ShouldWriteOnlyCounter() {
+        when(securityStateCache.get("test@example.com")).thenReturn(Optional.of(state(2, false, null)));
+
+        authenticationService.resetFailedLoginAttempts("test@example.com");
+
+        verify(userRepository).updateFailedLoginAttempts(1L, 0);
+        verify(securityStateCache).dropQueuedAttempts(1L);
+        verify(securityStateCache).put(argThat(state -> state.failedAttempts() == 0 && state.version() == 8));
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void testIncreaseFailedLoginAttempts_BelowThreshold_ShouldQueueCounter() {
+        ReflectionTestUtils.setField(authenticationService, "maxLoginAttempts", 5);
+        UserSecurityState state = state(1, false, null);
+        when(securityStateCache.get("test@example.com")).thenReturn(Optional.of(state));
+        when(securityStateCache.update(eq("test@example.com"), any()))
+                .thenAnswer(invocation -> Optional.of(invocation.<UnaryOperator<UserSecurityState>>getArgument(1).apply(state)));
+
+        authenticationService.increaseFailedLoginAttempts("test@example.com");
+
+        verify(securityStateCache).queueFailedAttempts(argThat(queued -> queued.failedAttempts() == 2
+                && queued.version() == 7));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void testIncreaseFailedLoginAttempts_AtThreshold_ShouldWriteLockThrough() {
+        ReflectionTestUtils.setField(authenticationService, "maxLoginAttempts", 5);
+        ReflectionTestUtils.setField(authenticationService, "accountLockDurationMinutes", 15);
+        UserSecurityState state = state(4, false, null);
+        when(securityStateCache.get("test@example.com")).thenReturn(Optional.of(state));
+        when(securityStateCache.update(eq("test@example.com"), any()))
+                .thenAnswer(invocation -> Optional.of(invocation.<UnaryOperator<UserSecurityState>>getArgument(1).apply(state)));
+
+        authenticationService.increaseFailedLoginAttempts("test@example.com");
+
+        verify(userRepository).updateLockState(eq(1L), eq(true), any(LocalDateTime.class), eq(5));
+        verify(securityStateCache, never()).queueFailedAttempts(any());
+    }
+
+    @Test
+    void testIsUserLocked_WhenTemporaryLockExpired_ShouldUnlock() {
+        when(securityStateCache.get("test@example.com"))
+                .thenReturn(Optional.of(state(5, true, LocalDateTime.now().minusMinutes(1))));
+
+        assertThat(authenticationService.isUserLocked("test@example.com")).isFalse();
+        verify(userRepository).updateLockState(1L, false, null, 0);
+    }
+
+    @Test
+    void testFlushFailedLoginAttempts_ShouldWriteQueuedCounters() {
+        Map<Long, QueuedAttempts> queued = Map.of(1L, new QueuedAttempts(3, 7), 2L, new QueuedAttempts(1, 0));
+        when(securityStateCache.queuedAttempts()).thenReturn(queued);
+
+        assertThat(authenticationService.flushFailedLoginAttempts()).isEqualTo(2);
+        verify(userRepository).flushFailedLoginAttempts(1L, 3, 7);
+        verify(userRepository).flushFailedLoginAttempts(2L, 1, 0);
+        verify(userRepository, never()).updateFailedLoginAttempts(any(), anyInt());
+        verify(securityStateCache).markFlushed(queued);
+    }
+
+    private static UserSecurityState state(int failedAttempts, boolean blocked, LocalDateTime lockTime) {
+        return new UserSecurityState(1L, "test@example.com", "hash", Role.CUSTOMER, blocked, lockTime, failedAttempts, 7);
     }
 }